@@ -228,7 +228,8 @@ CREATE TABLE `sys_file` (
   `create_time` datetime DEFAULT NULL COMMENT '上传时间',
   `update_time` datetime DEFAULT NULL COMMENT '更新时间',
   `del_flag` char(1)  DEFAULT '0' COMMENT '删除标志',
-  PRIMARY KEY (`id`) USING BTREE
+  PRIMARY KEY (`id`) USING BTREE,
+  KEY `idx_file_name` (`file_name`)
 ) ENGINE=InnoDB  COMMENT='文件管理表';
 
 -- ----------------------------
@@ -34,7 +34,6 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenRespon
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
-import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
@@ -60,10 +59,10 @@ import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.constant.CommonConstants;
 import com.pig4cloud.pig.common.core.constant.SecurityConstants;
 import com.pig4cloud.pig.common.core.util.R;
-import com.pig4cloud.pig.common.core.util.RedisUtils;
 import com.pig4cloud.pig.common.core.util.RetOps;
 import com.pig4cloud.pig.common.core.util.SpringContextHolder;
 import com.pig4cloud.pig.common.security.annotation.Inner;
+import com.pig4cloud.pig.common.security.service.PigRedisOAuth2AuthorizationService;
 import com.pig4cloud.pig.common.security.util.OAuth2EndpointUtils;
 import com.pig4cloud.pig.common.security.util.OAuth2ErrorCodesExpand;
 import com.pig4cloud.pig.common.security.util.OAuthClientException;
@@ -92,7 +91,7 @@ public class PigTokenEndpoint {
 
 	private final AuthenticationFailureHandler authenticationFailureHandler = new PigAuthenticationFailureEventHandler();
 
-	private final OAuth2AuthorizationService authorizationService;
+	private final PigRedisOAuth2AuthorizationService authorizationService;
 
 	private final RemoteClientDetailsService clientDetailsService;
 
@@ -214,44 +213,48 @@ public class PigTokenEndpoint {
 	}
 
 	/**
-	 * 分页查询令牌列表
-	 * @param params 请求参数，包含分页参数current和size
+	 * 删除用户的全部令牌，强制该用户所有会话下线
+	 * @param username 用户名
+	 * @return 删除的令牌数
+	 */
+	@Inner
+	@DeleteMapping("/token/remove/user/{username}")
+	public R<Integer> removeTokenByUsername(@PathVariable("username") String username) {
+		List<OAuth2Authorization> authorizations = authorizationService.removeByPrincipal(username);
+		if (authorizations.isEmpty()) {
+			return R.ok(0);
+		}
+
+		// 清空用户信息（立即删除）
+		cacheManager.getCache(CacheConstants.USER_DETAILS).evictIfPresent(username);
+		// 处理自定义退出事件，保存相关日志
+		authorizations.forEach(authorization -> SpringContextHolder.publishEvent(new LogoutSuccessEvent(
+				new PreAuthenticatedAuthenticationToken(username, authorization.getRegisteredClientId()))));
+		return R.ok(authorizations.size());
+	}
+
+	/**
+	 * 分页查询令牌列表，通过授权索引按范围查询
+	 * @param params 请求参数，包含分页参数current和size，可选用户名username（精确匹配）与客户端clientId
 	 * @return 分页结果，包含令牌信息列表
 	 */
 	@Inner
 	@PostMapping("/token/page")
 	public R<Page> tokenList(@RequestBody Map<String, Object> params) {
-		// 根据分页参数获取对应数据
 		String username = MapUtil.getStr(params, SecurityConstants.USERNAME);
-		String pattern = String.format("%s::*", CacheConstants.PROJECT_OAUTH_ACCESS);
+		String clientId = MapUtil.getStr(params, SecurityConstants.CLIENT_ID);
 		int current = MapUtil.getInt(params, CommonConstants.CURRENT);
 		int size = MapUtil.getInt(params, CommonConstants.SIZE);
 		Page result = new Page(current, size);
 
-		// 获取总数
-		List<String> allKeys = RedisUtils.scan(pattern);
-		result.setTotal(allKeys.size());
-
-		List<String> pageKeys = RedisUtils.findKeysForPage(pattern, current - 1, size);
-		List<OAuth2Authorization> pagedAuthorizations = RedisUtils.multiGet(pageKeys);
-
-		// 转换为TokenVo
-		List<TokenVo> tokenVoList = pagedAuthorizations.stream()
-			.filter(Objects::nonNull)
+		PigRedisOAuth2AuthorizationService.AuthorizationPage page = authorizationService.findPage(clientId, username,
+				current, size);
+		result.setTotal(page.total());
+		result.setRecords(page.records()
+			.stream()
+			.filter(authorization -> Objects.nonNull(authorization.getAccessToken()))
 			.map(this::convertToTokenVo)
-			.filter(tokenVo -> {
-				if (StrUtil.isBlank(username)) {
-					return true;
-				}
-				return StrUtil.startWithAnyIgnoreCase(tokenVo.getUsername(), username);
-			})
-			.toList();
-
-		if (StrUtil.isNotBlank(username)) {
-			result.setTotal(tokenVoList.size());
-		}
-
-		result.setRecords(tokenVoList);
+			.toList());
 		return R.ok(result);
 	}
 
@@ -4,9 +4,9 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import com.pig4cloud.pig.common.core.util.WebUtils;
 import com.pig4cloud.pig.common.security.service.PigUserDetailsService;
+import com.pig4cloud.pig.common.security.service.UserDetailsServiceResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.SneakyThrows;
-import org.springframework.core.Ordered;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,8 +23,6 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.web.authentication.www.BasicAuthenticationConverter;
 import org.springframework.util.Assert;
 
-import java.util.Comparator;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -59,8 +57,11 @@ public class PigDaoAuthenticationProvider extends AbstractUserDetailsAuthenticat
 
 	private UserDetailsPasswordService userDetailsPasswordService;
 
+	private final UserDetailsServiceResolver userDetailsServiceResolver;
+
 	public PigDaoAuthenticationProvider() {
 		setMessageSource(SpringUtil.getBean("securityMessageSource"));
+		this.userDetailsServiceResolver = SpringUtil.getBean(UserDetailsServiceResolver.class);
 		setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
 	}
 
@@ -117,14 +118,7 @@ public class PigDaoAuthenticationProvider extends AbstractUserDetailsAuthenticat
 			clientId = basicConvert.convert(request).getName();
 		}
 
-		Map<String, PigUserDetailsService> userDetailsServiceMap = SpringUtil
-			.getBeansOfType(PigUserDetailsService.class);
-
-		String finalClientId = clientId;
-		Optional<PigUserDetailsService> optional = userDetailsServiceMap.values()
-			.stream()
-			.filter(service -> service.support(finalClientId, grantType))
-			.max(Comparator.comparingInt(Ordered::getOrder));
+		Optional<PigUserDetailsService> optional = userDetailsServiceResolver.resolve(clientId, grantType);
 
 		if (optional.isEmpty()) {
 			throw new InternalAuthenticationServiceException("UserDetailsService error , not register");
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.core.cache;
+
+import com.pig4cloud.pig.common.core.constant.CacheConstants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存配置
+ * <p>
+ * 缓存名称含下划线、冒号时按 {@code pig.cache.caches.[user_details].local-ttl} 形式配置，保留原始名称
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Data
+@ConfigurationProperties(PigCacheProperties.PREFIX)
+public class PigCacheProperties {
+
+	public static final String PREFIX = "pig.cache";
+
+	/**
+	 * 是否启用二级缓存，关闭后使用 spring.cache 配置的缓存
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * 默认配置
+	 */
+	private Spec defaults = Spec.defaults();
+
+	/**
+	 * 按缓存名称覆盖的配置，未配置的项使用默认配置
+	 */
+	private Map<String, Spec> caches = initialCaches();
+
+	/**
+	 * 获取缓存的最终配置
+	 * @param name 缓存名称
+	 * @return 合并默认值后的配置
+	 */
+	public Spec resolve(String name) {
+		Spec spec = caches.get(name);
+		return spec == null ? defaults : spec.merge(defaults);
+	}
+
+	/**
+	 * 用户信息会被 Spring Security 擦除密码，本地层按值存储，每次读取得到新的对象
+	 */
+	private static Map<String, Spec> initialCaches() {
+		Map<String, Spec> caches = new HashMap<>();
+		Spec userDetails = new Spec();
+		userDetails.setStoreByValue(true);
+		caches.put(CacheConstants.USER_DETAILS, userDetails);
+		return caches;
+	}
+
+	/**
+	 * 单个缓存配置
+	 */
+	@Data
+	public static class Spec {
+
+		/**
+		 * 本地层最大条目数，为 0 时不使用本地层
+		 */
+		private Long localMaximumSize;
+
+		/**
+		 * 本地层写入后过期时间，也是失效通知丢失（如订阅连接断开重连期间）时本节点读到旧值的最长时间
+		 */
+		private Duration localTtl;
+
+		/**
+		 * 本地层是否按值存储，开启后保存序列化结果，读取时反序列化，调用方修改返回对象不影响缓存
+		 */
+		private Boolean storeByValue;
+
+		/**
+		 * Redis 层过期时间，未配置时使用 spring.cache.redis.time-to-live
+		 */
+		private Duration ttl;
+
+		/**
+		 * Redis 层值序列化方式，未配置时使用 JDK 序列化
+		 */
+		private Serializer serializer;
+
+		static Spec defaults() {
+			Spec spec = new Spec();
+			spec.setLocalMaximumSize(1000L);
+			spec.setLocalTtl(Duration.ofSeconds(30));
+			spec.setStoreByValue(false);
+			return spec;
+		}
+
+		Spec merge(Spec defaults) {
+			Spec spec = new Spec();
+			spec.setLocalMaximumSize(localMaximumSize != null ? localMaximumSize : defaults.getLocalMaximumSize());
+			spec.setLocalTtl(localTtl != null ? localTtl : defaults.getLocalTtl());
+			spec.setStoreByValue(storeByValue != null ? storeByValue : defaults.getStoreByValue());
+			spec.setTtl(ttl != null ? ttl : defaults.getTtl());
+			spec.setSerializer(serializer != null ? serializer : defaults.getSerializer());
+			return spec;
+		}
+
+	}
+
+	/**
+	 * Redis 层值序列化方式
+	 */
+	public enum Serializer {
+
+		/**
+		 * JDK 序列化，与原有缓存数据兼容
+		 */
+		JDK,
+
+		/**
+		 * JSON 序列化，写入类型信息
+		 */
+		JSON,
+
+		/**
+		 * 字符串，仅适用于值为字符串的缓存
+		 */
+		STRING
+
+	}
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 二级缓存
+ * <p>
+ * 读取时先查本地 Caffeine，未命中再查 Redis 并回填本地；写入和删除先作用于 Redis，再更新本节点本地层并通知其他节点清除本地层。
+ * 本地层以键的字符串形式为key，与通知消息中的键一致
+ * <p>
+ * 本地层每次清除都递增失效代数，回填前后比对读取 Redis 之前记录的代数，读取期间收到失效通知时放弃回填，
+ * 避免把通知之前读到的旧值写回本地层
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class PigTwoLevelCache extends AbstractValueAdaptingCache {
+
+	private final String name;
+
+	private final RedisCache remote;
+
+	@Nullable
+	private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+
+	private final boolean storeByValue;
+
+	private final PigTwoLevelCacheManager cacheManager;
+
+	/**
+	 * 本地层失效代数，每次清除本地层时递增
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	@Nullable
+	private final Counter localHits;
+
+	@Nullable
+	private final Counter localMisses;
+
+	@Nullable
+	private final Counter remoteHits;
+
+	@Nullable
+	private final Counter remoteMisses;
+
+	PigTwoLevelCache(String name, RedisCache remote,
+			@Nullable com.github.benmanes.caffeine.cache.Cache<String, Object> local, boolean storeByValue,
+			PigTwoLevelCacheManager cacheManager, @Nullable MeterRegistry meterRegistry) {
+		super(remote.isAllowNullValues());
+		this.name = name;
+		this.remote = remote;
+		this.local = local;
+		this.storeByValue = storeByValue;
+		this.cacheManager = cacheManager;
+
+		if (meterRegistry != null) {
+			this.localHits = counter(meterRegistry, "l1", "hit");
+			this.localMisses = counter(meterRegistry, "l1", "miss");
+			this.remoteHits = counter(meterRegistry, "l2", "hit");
+			this.remoteMisses = counter(meterRegistry, "l2", "miss");
+		}
+		else {
+			this.localHits = null;
+			this.localMisses = null;
+			this.remoteHits = null;
+			this.remoteMisses = null;
+		}
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return remote;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		if (local != null) {
+			Object value = local.getIfPresent(localKey(key));
+			if (value != null) {
+				count(localHits);
+				return fromLocal(value);
+			}
+			count(localMisses);
+		}
+
+		long expected = generation.get();
+		ValueWrapper wrapper = remote.get(key);
+		if (wrapper == null) {
+			count(remoteMisses);
+			return null;
+		}
+		count(remoteHits);
+
+		Object value = toStoreValue(wrapper.get());
+		putLocal(key, value, expected);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return (T) fromStoreValue(value);
+		}
+
+		long expected = generation.get();
+		T loaded = remote.get(key, valueLoader);
+		if (loaded != null || isAllowNullValues()) {
+			putLocal(key, toStoreValue(loaded), expected);
+		}
+		return loaded;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		long expected = generation.get();
+		remote.put(key, value);
+		putLocal(key, toStoreValue(value), expected);
+		cacheManager.publishEvict(name, localKey(key));
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = remote.putIfAbsent(key, value);
+		evictLocal(localKey(key));
+		// 写入成功时其他节点本地层可能缓存了空值，同样需要通知清除
+		if (existing == null) {
+			cacheManager.publishEvict(name, localKey(key));
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		remote.evict(key);
+		evictLocal(localKey(key));
+		cacheManager.publishEvict(name, localKey(key));
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = remote.evictIfPresent(key);
+		evictLocal(localKey(key));
+		cacheManager.publishEvict(name, localKey(key));
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		remote.clear();
+		clearLocal();
+		cacheManager.publishEvict(name, null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = remote.invalidate();
+		clearLocal();
+		cacheManager.publishEvict(name, null);
+		return invalidated;
+	}
+
+	/**
+	 * 清除本节点本地层中的指定key
+	 * @param localKey 键的字符串形式
+	 */
+	void evictLocal(String localKey) {
+		if (local != null) {
+			generation.incrementAndGet();
+			local.invalidate(localKey);
+		}
+	}
+
+	/**
+	 * 清空本节点本地层
+	 */
+	void clearLocal() {
+		if (local != null) {
+			generation.incrementAndGet();
+			local.invalidateAll();
+		}
+	}
+
+	/**
+	 * 回填本地层，自 expected 记录以来本地层被清除过时放弃
+	 * @param key 键
+	 * @param storeValue 存储值
+	 * @param expected 读取 Redis 之前的失效代数
+	 */
+	private void putLocal(Object key, Object storeValue, long expected) {
+		if (local == null || generation.get() != expected) {
+			return;
+		}
+		String localKey = localKey(key);
+		local.put(localKey, toLocal(storeValue));
+		// 写入与清除并发时以清除为准
+		if (generation.get() != expected) {
+			local.invalidate(localKey);
+		}
+	}
+
+	private Object toLocal(Object storeValue) {
+		if (!storeByValue || storeValue == NullValue.INSTANCE) {
+			return storeValue;
+		}
+		ByteBuffer buffer = valueSerializationPair().write(storeValue);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return new SerializedValue(bytes);
+	}
+
+	private Object fromLocal(Object value) {
+		if (value instanceof SerializedValue serialized) {
+			return valueSerializationPair().read(ByteBuffer.wrap(serialized.bytes()));
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializationContext.SerializationPair<Object> valueSerializationPair() {
+		return (RedisSerializationContext.SerializationPair<Object>) remote.getCacheConfiguration()
+			.getValueSerializationPair();
+	}
+
+	private String localKey(Object key) {
+		return ObjectUtils.nullSafeToString(key);
+	}
+
+	private Counter counter(MeterRegistry meterRegistry, String level, String result) {
+		return Counter.builder("pig.cache.gets")
+			.description("二级缓存各层命中次数")
+			.tag("cache", name)
+			.tag("level", level)
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	private void count(@Nullable Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+	/**
+	 * 本地层按值存储时保存的序列化结果
+	 *
+	 * @param bytes 序列化后的字节
+	 */
+	private record SerializedValue(byte[] bytes) {
+
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.core.cache;
+
+import cn.hutool.core.util.IdUtil;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存管理器
+ * <p>
+ * 本地 Caffeine 在前、Redis 在后，Redis 层由 {@link RedisCacheManager} 管理，键前缀和序列化方式与原有缓存一致。
+ * 写入、删除、清空通过 Redis 发布订阅通知其他节点清除本地层，通知丢失时本地层最迟在 localTtl 后过期
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class PigTwoLevelCacheManager implements CacheManager, MessageListener, InitializingBean {
+
+	/**
+	 * 本地层失效通知频道
+	 */
+	public static final String CHANNEL = "cache::local::evict";
+
+	private static final String OP_EVICT = "E";
+
+	private static final String OP_CLEAR = "C";
+
+	private final String nodeId = IdUtil.fastSimpleUUID();
+
+	private final RedisCacheManager redisCacheManager;
+
+	private final PigCacheProperties properties;
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	@Nullable
+	private final MeterRegistry meterRegistry;
+
+	private final ConcurrentMap<String, PigTwoLevelCache> caches = new ConcurrentHashMap<>();
+
+	public PigTwoLevelCacheManager(RedisCacheManager redisCacheManager, PigCacheProperties properties,
+			RedisConnectionFactory connectionFactory, RedisMessageListenerContainer listenerContainer,
+			@Nullable MeterRegistry meterRegistry) {
+		this.redisCacheManager = redisCacheManager;
+		this.properties = properties;
+		this.stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+		this.meterRegistry = meterRegistry;
+		listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+	}
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		PigTwoLevelCache cache = caches.get(name);
+		if (cache != null) {
+			return cache;
+		}
+		Cache remote = redisCacheManager.getCache(name);
+		if (!(remote instanceof RedisCache redisCache)) {
+			return remote;
+		}
+		return caches.computeIfAbsent(name, key -> createCache(key, redisCache));
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		Set<String> names = new LinkedHashSet<>(redisCacheManager.getCacheNames());
+		names.addAll(caches.keySet());
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * 通知其他节点清除本地层
+	 * @param name 缓存名称
+	 * @param localKey 键的字符串形式，为null时清空整个缓存
+	 */
+	void publishEvict(String name, @Nullable String localKey) {
+		String message = String.join("\n", nodeId, localKey == null ? OP_CLEAR : OP_EVICT, name,
+				localKey == null ? "" : localKey);
+		try {
+			stringRedisTemplate.convertAndSend(CHANNEL, message);
+		}
+		catch (Exception e) {
+			log.warn("发布缓存 {} 本地层失效通知失败 {}", name, e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * 接收其他节点的失效通知，清除本节点本地层
+	 * @param message 消息
+	 * @param pattern 频道
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = RedisSerializer.string().deserialize(message.getBody());
+		String[] parts = body == null ? new String[0] : body.split("\n", 4);
+		if (parts.length < 4 || nodeId.equals(parts[0])) {
+			return;
+		}
+
+		PigTwoLevelCache cache = caches.get(parts[2]);
+		if (cache == null) {
+			return;
+		}
+		if (OP_CLEAR.equals(parts[1])) {
+			cache.clearLocal();
+		}
+		else {
+			cache.evictLocal(parts[3]);
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		redisCacheManager.afterPropertiesSet();
+	}
+
+	private PigTwoLevelCache createCache(String name, RedisCache remote) {
+		PigCacheProperties.Spec spec = properties.resolve(name);
+		com.github.benmanes.caffeine.cache.Cache<String, Object> local = null;
+		if (spec.getLocalMaximumSize() > 0) {
+			local = Caffeine.newBuilder()
+				.maximumSize(spec.getLocalMaximumSize())
+				.expireAfterWrite(spec.getLocalTtl())
+				.build();
+			if (meterRegistry != null) {
+				Gauge.builder("pig.cache.local.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+					.description("二级缓存本地层条目数")
+					.tag("cache", name)
+					.register(meterRegistry);
+			}
+		}
+		return new PigTwoLevelCache(name, remote, local, spec.getStoreByValue(), this, meterRegistry);
+	}
+
+}
@@ -18,12 +18,14 @@ package com.pig4cloud.pig.common.core.config;
 
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
@@ -104,4 +106,17 @@ public class RedisTemplateConfiguration {
 		return redisTemplate.opsForZSet();
 	}
 
+	/**
+	 * 创建共享的Redis消息监听容器，各组件的发布订阅监听器注册到同一容器，共用一条订阅连接
+	 * @param factory Redis连接工厂
+	 * @return Redis消息监听容器
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(factory);
+		return container;
+	}
+
 }
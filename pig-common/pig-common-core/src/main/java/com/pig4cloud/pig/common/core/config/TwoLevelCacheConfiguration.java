@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.core.config;
+
+import com.pig4cloud.pig.common.core.cache.PigCacheProperties;
+import com.pig4cloud.pig.common.core.cache.PigTwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存配置类，替代 spring.cache.type=redis 创建的缓存管理器
+ * <p>
+ * Redis 层沿用 spring.cache.redis 的过期时间、键前缀、空值配置，已有缓存数据无需迁移
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@AutoConfiguration(after = RedisAutoConfiguration.class, before = CacheAutoConfiguration.class)
+@ConditionalOnBean(RedisConnectionFactory.class)
+@ConditionalOnMissingBean(CacheManager.class)
+@ConditionalOnProperty(prefix = PigCacheProperties.PREFIX, name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties({ PigCacheProperties.class, CacheProperties.class })
+public class TwoLevelCacheConfiguration {
+
+	/**
+	 * 创建二级缓存管理器
+	 * @param properties 二级缓存配置
+	 * @param cacheProperties spring.cache 配置
+	 * @param connectionFactory Redis连接工厂
+	 * @param listenerContainer 共享的Redis消息监听容器
+	 * @param redisCacheConfiguration 自定义的 Redis 缓存默认配置
+	 * @param meterRegistry 指标注册表
+	 * @param resourceLoader 资源加载器
+	 * @return 二级缓存管理器
+	 */
+	@Bean
+	public PigTwoLevelCacheManager cacheManager(PigCacheProperties properties, CacheProperties cacheProperties,
+			RedisConnectionFactory connectionFactory, RedisMessageListenerContainer listenerContainer,
+			ObjectProvider<RedisCacheConfiguration> redisCacheConfiguration, ObjectProvider<MeterRegistry> meterRegistry,
+			ResourceLoader resourceLoader) {
+		ClassLoader classLoader = resourceLoader.getClassLoader();
+		RedisCacheConfiguration defaults = redisCacheConfiguration
+			.getIfAvailable(() -> createConfiguration(cacheProperties, classLoader));
+
+		RedisCacheConfiguration cacheDefaults = customize(defaults, properties.getDefaults(), classLoader);
+		Map<String, RedisCacheConfiguration> initialConfigurations = new HashMap<>();
+		for (String name : cacheProperties.getCacheNames()) {
+			initialConfigurations.put(name, cacheDefaults);
+		}
+		for (String name : properties.getCaches().keySet()) {
+			initialConfigurations.put(name, customize(defaults, properties.resolve(name), classLoader));
+		}
+
+		RedisCacheManager redisCacheManager = RedisCacheManager
+			.builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory))
+			.cacheDefaults(cacheDefaults)
+			.withInitialCacheConfigurations(initialConfigurations)
+			.build();
+		return new PigTwoLevelCacheManager(redisCacheManager, properties, connectionFactory, listenerContainer,
+				meterRegistry.getIfAvailable());
+	}
+
+	/**
+	 * 按 spring.cache.redis 配置创建默认配置，与 Spring Boot 自动配置的 Redis 缓存一致
+	 */
+	private RedisCacheConfiguration createConfiguration(CacheProperties cacheProperties, ClassLoader classLoader) {
+		CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+		RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+			.serializeValuesWith(SerializationPair.fromSerializer(RedisSerializer.java(classLoader)));
+		if (redisProperties.getTimeToLive() != null) {
+			config = config.entryTtl(redisProperties.getTimeToLive());
+		}
+		if (redisProperties.getKeyPrefix() != null) {
+			config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+		}
+		if (!redisProperties.isCacheNullValues()) {
+			config = config.disableCachingNullValues();
+		}
+		if (!redisProperties.isUseKeyPrefix()) {
+			config = config.disableKeyPrefix();
+		}
+		return config;
+	}
+
+	/**
+	 * 应用单个缓存的过期时间和序列化方式
+	 */
+	private RedisCacheConfiguration customize(RedisCacheConfiguration config, PigCacheProperties.Spec spec,
+			ClassLoader classLoader) {
+		if (spec.getTtl() != null) {
+			config = config.entryTtl(spec.getTtl());
+		}
+		if (spec.getSerializer() != null) {
+			RedisSerializer<?> serializer = switch (spec.getSerializer()) {
+				case JDK -> RedisSerializer.java(classLoader);
+				case JSON -> RedisSerializer.json();
+				case STRING -> RedisSerializer.string();
+			};
+			config = config.serializeValuesWith(SerializationPair.fromSerializer(serializer));
+		}
+		return config;
+	}
+
+}
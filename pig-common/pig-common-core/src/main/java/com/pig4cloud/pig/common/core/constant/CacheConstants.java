@@ -39,6 +39,11 @@ public interface CacheConstants {
 	 */
 	String MENU_DETAILS = "menu_details";
 
+	/**
+	 * 用户菜单树缓存，key 为排序后的角色ID集合、菜单类型、父节点
+	 */
+	String MENU_TREE = "menu_tree";
+
 	/**
 	 * 用户信息缓存
 	 */
@@ -64,4 +69,19 @@ public interface CacheConstants {
 	 */
 	String PARAMS_DETAILS = "params_details";
 
+	/**
+	 * 部门树索引版本号
+	 */
+	String DEPT_TREE_VERSION = "dept_tree::version";
+
+	/**
+	 * 公共参数与字典数据版本号
+	 */
+	String PUBLIC_DATA_VERSION = "public_data::version";
+
+	/**
+	 * 文件引用计数锁
+	 */
+	String FILE_REF_LOCK = "sys_file::lock:";
+
 }
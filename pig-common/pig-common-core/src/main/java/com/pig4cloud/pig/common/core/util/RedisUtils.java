@@ -7,6 +7,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.*;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -255,6 +256,16 @@ public class RedisUtils {
 		return (T) redisTemplate.execute(callback);
 	}
 
+	/**
+	 * 以管道方式执行 Redis 命令回调，回调内的命令一次发送
+	 * @param callback Redis回调函数，返回值必须为null
+	 * @return 各命令的执行结果，值类型结果为原始字节不做反序列化
+	 */
+	public List<Object> executePipelined(RedisCallback<?> callback) {
+		RedisTemplate<String, Object> redisTemplate = SpringContextHolder.getBean(RedisTemplate.class);
+		return redisTemplate.executePipelined(callback, RedisSerializer.byteArray());
+	}
+
 	// ================================Map=================================
 
 	/**
@@ -1,11 +1,16 @@
 package com.pig4cloud.pig.common.excel;
 
+import cn.idev.excel.converters.Converter;
 import com.pig4cloud.pig.common.core.constant.SecurityConstants;
 import com.pig4cloud.pig.common.core.constant.ServiceNameConstants;
 import com.pig4cloud.pig.common.core.util.SpringContextHolder;
 import com.pig4cloud.pig.common.excel.provider.RemoteDictApiService;
 import com.pig4cloud.pig.common.excel.provider.RemoteDictDataProvider;
+import com.pig4cloud.pig.common.excel.stream.ExcelStreamSheetWriteHandler;
+import com.pig4cloud.plugin.excel.config.ExcelConfigProperties;
+import com.pig4cloud.plugin.excel.enhance.WriterBuilderEnhancer;
 import com.pig4cloud.plugin.excel.handler.DictDataProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +18,7 @@ import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -51,6 +57,20 @@ public class ExcelAutoConfiguration {
 		return new RemoteDictDataProvider(remoteDictApiService);
 	}
 
+	/**
+	 * 流式导出处理器，支持 {@code @ResponseExcel} 接口返回 ExcelStream
+	 * @param configProperties Excel 配置
+	 * @param converterProvider 自定义转换器
+	 * @param writerBuilderEnhancer 写出构建增强器
+	 * @return 流式导出处理器
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public ExcelStreamSheetWriteHandler excelStreamSheetWriteHandler(ExcelConfigProperties configProperties,
+			ObjectProvider<List<Converter<?>>> converterProvider, WriterBuilderEnhancer writerBuilderEnhancer) {
+		return new ExcelStreamSheetWriteHandler(configProperties, converterProvider, writerBuilderEnhancer);
+	}
+
 	/**
 	 * 获取基础URL
 	 * @return 根据当前架构模式组装的基础URL字符串
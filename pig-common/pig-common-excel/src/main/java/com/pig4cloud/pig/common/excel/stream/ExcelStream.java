@@ -0,0 +1,77 @@
+package com.pig4cloud.pig.common.excel.stream;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 流式导出数据源
+ * <p>
+ * 配合 {@code @ResponseExcel} 作为接口返回值，数据按批次拉取并逐批写入响应，导出过程中内存只保留当前批次
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public interface ExcelStream<T> {
+
+	/**
+	 * 表头类型
+	 * @return Excel 行对象类型
+	 */
+	Class<T> getHead();
+
+	/**
+	 * 按批次遍历数据
+	 * @param consumer 批次消费者
+	 */
+	void forEachBatch(Consumer<List<T>> consumer);
+
+	/**
+	 * 基于游标（上一批最后一行）分页的数据源，避免深分页 OFFSET 扫描
+	 * @param head 表头类型
+	 * @param batchSize 每批行数
+	 * @param fetcher 分页查询
+	 * @return 流式导出数据源
+	 */
+	static <T> ExcelStream<T> keyset(Class<T> head, int batchSize, KeysetFetcher<T> fetcher) {
+		return new ExcelStream<>() {
+			@Override
+			public Class<T> getHead() {
+				return head;
+			}
+
+			@Override
+			public void forEachBatch(Consumer<List<T>> consumer) {
+				T last = null;
+				List<T> batch;
+				do {
+					batch = fetcher.fetch(last, batchSize);
+					if (batch.isEmpty()) {
+						return;
+					}
+					consumer.accept(batch);
+					last = batch.get(batch.size() - 1);
+				}
+				while (batch.size() >= batchSize);
+			}
+		};
+	}
+
+	/**
+	 * 游标分页查询
+	 */
+	@FunctionalInterface
+	interface KeysetFetcher<T> {
+
+		/**
+		 * 查询下一批数据
+		 * @param last 上一批最后一行，首批为null
+		 * @param size 每批行数
+		 * @return 下一批数据，无数据返回空集合
+		 */
+		List<T> fetch(@Nullable T last, int size);
+
+	}
+
+}
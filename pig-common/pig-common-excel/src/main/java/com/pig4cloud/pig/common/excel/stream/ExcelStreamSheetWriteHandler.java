@@ -0,0 +1,59 @@
+package com.pig4cloud.pig.common.excel.stream;
+
+import cn.idev.excel.ExcelWriter;
+import cn.idev.excel.converters.Converter;
+import cn.idev.excel.write.metadata.WriteSheet;
+import com.pig4cloud.plugin.excel.annotation.ResponseExcel;
+import com.pig4cloud.plugin.excel.config.ExcelConfigProperties;
+import com.pig4cloud.plugin.excel.enhance.WriterBuilderEnhancer;
+import com.pig4cloud.plugin.excel.handler.AbstractSheetWriteHandler;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ExcelStream} 返回值写出处理器
+ * <p>
+ * 复用 {@code @ResponseExcel} 的文件名、字典转换、表头处理，数据逐批写入流式工作簿，内存占用与导出行数无关。
+ * 内置处理器遇到非 List 返回值会直接抛出异常，因此需排在最前
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class ExcelStreamSheetWriteHandler extends AbstractSheetWriteHandler implements Ordered {
+
+	public ExcelStreamSheetWriteHandler(ExcelConfigProperties configProperties,
+			ObjectProvider<List<Converter<?>>> converterProvider, WriterBuilderEnhancer excelWriterBuilderEnhance) {
+		super(configProperties, converterProvider, excelWriterBuilderEnhance);
+	}
+
+	@Override
+	public boolean support(Object obj) {
+		return obj instanceof ExcelStream;
+	}
+
+	@Override
+	public void write(Object obj, HttpServletResponse response, ResponseExcel responseExcel) {
+		ExcelStream<?> stream = (ExcelStream<?>) obj;
+		ExcelWriter excelWriter = getExcelWriter(response, responseExcel);
+		try {
+			WriteSheet sheet = sheet(responseExcel.sheets()[0], stream.getHead(), responseExcel.template(),
+					responseExcel.headGenerator());
+			// 先写表头，无数据时也能导出带表头的空表
+			excelWriter.write(Collections.emptyList(), sheet);
+			stream.forEachBatch(batch -> excelWriter.write(batch, sheet));
+		}
+		finally {
+			excelWriter.finish();
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+}
@@ -19,6 +19,7 @@ package com.pig4cloud.pig.common.feign;
 import com.alibaba.cloud.sentinel.feign.SentinelFeignAutoConfiguration;
 import com.pig4cloud.pig.common.feign.core.PigFeignInnerRequestInterceptor;
 import com.pig4cloud.pig.common.feign.core.PigFeignRequestCloseInterceptor;
+import com.pig4cloud.pig.common.feign.okhttp.PigFeignConnectionProperties;
 import com.pig4cloud.pig.common.feign.sentinel.ext.PigSentinelFeign;
 import feign.Feign;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -57,10 +58,11 @@ public class PigFeignAutoConfiguration {
 	}
 
 	/**
-	 * 创建并返回PigFeignRequestCloseInterceptor实例
+	 * 创建并返回PigFeignRequestCloseInterceptor实例，仅在连接模式为 close 时生效，默认复用长连接
 	 * @return PigFeignRequestCloseInterceptor实例
 	 */
 	@Bean
+	@ConditionalOnProperty(prefix = PigFeignConnectionProperties.PREFIX, name = "mode", havingValue = "close")
 	public PigFeignRequestCloseInterceptor pigFeignRequestCloseInterceptor() {
 		return new PigFeignRequestCloseInterceptor();
 	}
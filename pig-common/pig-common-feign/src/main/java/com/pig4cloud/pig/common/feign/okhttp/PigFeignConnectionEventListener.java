@@ -0,0 +1,99 @@
+package com.pig4cloud.pig.common.feign.okhttp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feign 连接事件监听
+ * <p>
+ * 统计新建、复用和建立失败的连接数，新建数与获取数之比即为连接流失率；同时记录持有过连接的目标实例，供下线实例检查使用
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class PigFeignConnectionEventListener extends EventListener {
+
+	private final Set<String> targets = ConcurrentHashMap.newKeySet();
+
+	@Nullable
+	private final Counter acquiredCounter;
+
+	@Nullable
+	private final Counter openedCounter;
+
+	@Nullable
+	private final Counter failedCounter;
+
+	public PigFeignConnectionEventListener(@Nullable MeterRegistry meterRegistry) {
+		if (meterRegistry != null) {
+			this.acquiredCounter = Counter.builder("pig.feign.connection.acquired")
+				.description("Feign 请求获取连接次数，包含新建和复用")
+				.register(meterRegistry);
+			this.openedCounter = Counter.builder("pig.feign.connection.opened")
+				.description("Feign 新建连接次数")
+				.register(meterRegistry);
+			this.failedCounter = Counter.builder("pig.feign.connection.failed")
+				.description("Feign 建立连接失败次数")
+				.register(meterRegistry);
+		}
+		else {
+			this.acquiredCounter = null;
+			this.openedCounter = null;
+			this.failedCounter = null;
+		}
+	}
+
+	@Override
+	public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol) {
+		count(openedCounter);
+	}
+
+	@Override
+	public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+			@Nullable Protocol protocol, IOException ioe) {
+		count(failedCounter);
+	}
+
+	@Override
+	public void connectionAcquired(Call call, Connection connection) {
+		count(acquiredCounter);
+		HttpUrl url = call.request().url();
+		targets.add(url.host() + ":" + url.port());
+	}
+
+	/**
+	 * 获取持有过连接的目标实例
+	 * @return host:port 集合
+	 */
+	public Set<String> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * 移除已下线的目标实例
+	 * @param stale 已下线的 host:port
+	 */
+	public void forget(Collection<String> stale) {
+		targets.removeAll(stale);
+	}
+
+	private void count(@Nullable Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+}
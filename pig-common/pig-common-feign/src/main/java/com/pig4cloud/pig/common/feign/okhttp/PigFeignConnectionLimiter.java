@@ -0,0 +1,131 @@
+package com.pig4cloud.pig.common.feign.okhttp;
+
+import io.micrometer.core.instrument.Counter;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单实例并发限制拦截器
+ * <p>
+ * OkHttp 连接池不限制单个目标的连接数，同步调用也不受 Dispatcher 限制。 按 host:port 维护信号量，请求开始时获取，
+ * 响应体关闭（连接归还连接池）时释放，超时未获取到时请求失败
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class PigFeignConnectionLimiter implements Interceptor {
+
+	private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+	private final int maxConnectionsPerHost;
+
+	private final long acquireTimeoutNanos;
+
+	@Nullable
+	private final Counter rejectedCounter;
+
+	public PigFeignConnectionLimiter(int maxConnectionsPerHost, Duration acquireTimeout,
+			@Nullable Counter rejectedCounter) {
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+		this.rejectedCounter = rejectedCounter;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		HttpUrl url = chain.request().url();
+		String target = url.host() + ":" + url.port();
+		Semaphore semaphore = semaphores.computeIfAbsent(target, k -> new Semaphore(maxConnectionsPerHost));
+
+		try {
+			if (!semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+				if (rejectedCounter != null) {
+					rejectedCounter.increment();
+				}
+				throw new IOException("服务实例 " + target + " 并发请求数已达上限 " + maxConnectionsPerHost);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("等待服务实例 " + target + " 连接时被中断");
+		}
+
+		Response response;
+		try {
+			response = chain.proceed(chain.request());
+		}
+		catch (IOException | RuntimeException e) {
+			semaphore.release();
+			throw e;
+		}
+
+		ResponseBody body = response.body();
+		if (body == null) {
+			semaphore.release();
+			return response;
+		}
+		return response.newBuilder().body(new ReleasingResponseBody(body, semaphore)).build();
+	}
+
+	/**
+	 * 关闭时释放信号量的响应体，Feign 读取完响应后关闭响应体，连接随之归还连接池
+	 */
+	private static final class ReleasingResponseBody extends ResponseBody {
+
+		private final ResponseBody delegate;
+
+		private final BufferedSource source;
+
+		ReleasingResponseBody(ResponseBody delegate, Semaphore semaphore) {
+			this.delegate = delegate;
+			AtomicBoolean released = new AtomicBoolean();
+			this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						if (released.compareAndSet(false, true)) {
+							semaphore.release();
+						}
+					}
+				}
+			});
+		}
+
+		@Nullable
+		@Override
+		public MediaType contentType() {
+			return delegate.contentType();
+		}
+
+		@Override
+		public long contentLength() {
+			return delegate.contentLength();
+		}
+
+		@Override
+		public BufferedSource source() {
+			return source;
+		}
+
+	}
+
+}
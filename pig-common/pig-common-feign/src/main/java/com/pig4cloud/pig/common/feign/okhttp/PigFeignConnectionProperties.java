@@ -0,0 +1,72 @@
+package com.pig4cloud.pig.common.feign.okhttp;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Feign 服务间调用连接管理配置
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Data
+@ConfigurationProperties(PigFeignConnectionProperties.PREFIX)
+public class PigFeignConnectionProperties {
+
+	public static final String PREFIX = "pig.feign.connection";
+
+	/**
+	 * 连接模式，默认长连接复用
+	 */
+	private Mode mode = Mode.KEEP_ALIVE;
+
+	/**
+	 * 连接池最大空闲连接数
+	 */
+	private int maxIdleConnections = 200;
+
+	/**
+	 * 空闲连接保持时间，超过后回收，应小于服务端 keep-alive 超时，避免复用已被对端关闭的连接
+	 */
+	private Duration keepAlive = Duration.ofSeconds(30);
+
+	/**
+	 * 单个目标实例（host:port）最大并发请求数，为 0 时不限制
+	 */
+	private int maxConnectionsPerHost = 64;
+
+	/**
+	 * 达到单实例并发上限时等待的最长时间
+	 */
+	private Duration acquireTimeout = Duration.ofSeconds(3);
+
+	/**
+	 * 是否使用 HTTP/2 明文直连（h2c prior knowledge），需要被调用方同时开启 h2c
+	 */
+	private boolean h2c = false;
+
+	/**
+	 * 检查已下线实例的周期，发现注册中心移除实例后回收空闲连接，为 0 时不检查
+	 */
+	private Duration staleCheckInterval = Duration.ofSeconds(15);
+
+	/**
+	 * 连接模式
+	 */
+	public enum Mode {
+
+		/**
+		 * 每次请求携带 Connection: close，不复用连接
+		 */
+		CLOSE,
+
+		/**
+		 * 长连接复用
+		 */
+		KEEP_ALIVE
+
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.pig4cloud.pig.common.feign.okhttp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign OkHttp 连接池自动配置
+ * <p>
+ * 先于 openfeign 提供连接池和 {@link OkHttpClient.Builder}，openfeign 在此基础上设置超时和协议后创建客户端。
+ * 连接池按空闲时间回收连接，Builder 中加入单实例并发限制和连接事件统计
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(OkHttpClient.class)
+@ConditionalOnProperty("spring.cloud.openfeign.okhttp.enabled")
+@AutoConfigureBefore(FeignAutoConfiguration.class)
+@EnableConfigurationProperties(PigFeignConnectionProperties.class)
+public class PigFeignOkHttpAutoConfiguration {
+
+	/**
+	 * 连接事件监听
+	 * @param meterRegistry 指标注册表
+	 * @return 连接事件监听
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public PigFeignConnectionEventListener pigFeignConnectionEventListener(
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new PigFeignConnectionEventListener(meterRegistry.getIfAvailable());
+	}
+
+	/**
+	 * Feign 连接池
+	 * @param properties 连接管理配置
+	 * @param meterRegistry 指标注册表
+	 * @return 连接池
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public ConnectionPool pigFeignConnectionPool(PigFeignConnectionProperties properties,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		ConnectionPool connectionPool = new ConnectionPool(properties.getMaxIdleConnections(),
+				properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+		meterRegistry.ifAvailable(registry -> {
+			Gauge.builder("pig.feign.pool.connections", connectionPool, ConnectionPool::connectionCount)
+				.description("Feign 连接池中的连接数")
+				.register(registry);
+			Gauge.builder("pig.feign.pool.idle", connectionPool, ConnectionPool::idleConnectionCount)
+				.description("Feign 连接池中的空闲连接数")
+				.register(registry);
+		});
+		return connectionPool;
+	}
+
+	/**
+	 * OkHttpClient 构建器，连接失败时换用新连接重试，并按配置限制单实例并发
+	 * @param properties 连接管理配置
+	 * @param httpClientProperties openfeign 客户端配置
+	 * @param eventListener 连接事件监听
+	 * @param meterRegistry 指标注册表
+	 * @return OkHttpClient 构建器
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public OkHttpClient.Builder pigFeignOkHttpClientBuilder(PigFeignConnectionProperties properties,
+			FeignHttpClientProperties httpClientProperties, PigFeignConnectionEventListener eventListener,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		OkHttpClient.Builder builder = new OkHttpClient.Builder().retryOnConnectionFailure(true)
+			.eventListener(eventListener);
+
+		if (properties.getMaxConnectionsPerHost() > 0) {
+			MeterRegistry registry = meterRegistry.getIfAvailable();
+			Counter rejectedCounter = registry == null ? null
+					: Counter.builder("pig.feign.connection.rejected")
+						.description("Feign 单实例并发达到上限被拒绝的请求数")
+						.register(registry);
+			builder.addInterceptor(new PigFeignConnectionLimiter(properties.getMaxConnectionsPerHost(),
+					properties.getAcquireTimeout(), rejectedCounter));
+		}
+
+		// openfeign 创建客户端时以协议配置覆盖 Builder，h2c 需写入该配置
+		if (properties.isH2c()) {
+			httpClientProperties.getOkHttp().setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE.name()));
+		}
+		return builder;
+	}
+
+	/**
+	 * 下线实例连接回收
+	 * @param properties 连接管理配置
+	 * @param discoveryClient 服务发现客户端
+	 * @param connectionPool 连接池
+	 * @param eventListener 连接事件监听
+	 * @param meterRegistry 指标注册表
+	 * @return 下线实例连接回收
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public PigFeignStaleConnectionEvictor pigFeignStaleConnectionEvictor(PigFeignConnectionProperties properties,
+			ObjectProvider<DiscoveryClient> discoveryClient, ConnectionPool connectionPool,
+			PigFeignConnectionEventListener eventListener, ObjectProvider<MeterRegistry> meterRegistry) {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		Counter evictedCounter = registry == null ? null
+				: Counter.builder("pig.feign.connection.evicted")
+					.description("Feign 因实例下线回收的空闲连接数")
+					.register(registry);
+		return new PigFeignStaleConnectionEvictor(discoveryClient, connectionPool, eventListener,
+				properties.getStaleCheckInterval(), evictedCounter);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.pig4cloud.pig.common.feign.okhttp;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 下线实例连接回收
+ * <p>
+ * 定时对比注册中心中的实例列表，上一周期存在、本周期已被移除且本节点持有过连接的实例视为下线，此时回收连接池中的空闲连接，
+ * 避免复用指向已停止实例的连接。 OkHttp 连接池不支持按目标回收，下线事件很少发生，回收全部空闲连接的代价可以接受；
+ * 使用中的连接不受影响，请求结束后由连接池按空闲时间清理
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class PigFeignStaleConnectionEvictor implements InitializingBean, DisposableBean {
+
+	private final ObjectProvider<DiscoveryClient> discoveryClient;
+
+	private final ConnectionPool connectionPool;
+
+	private final PigFeignConnectionEventListener eventListener;
+
+	private final Duration interval;
+
+	@Nullable
+	private final Counter evictedCounter;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "pig-feign-stale-evictor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * 上一周期注册中心中的实例，只有曾经注册过的实例才会被判定为下线，直连地址不受影响
+	 */
+	private Set<String> registered = Set.of();
+
+	public PigFeignStaleConnectionEvictor(ObjectProvider<DiscoveryClient> discoveryClient, ConnectionPool connectionPool,
+			PigFeignConnectionEventListener eventListener, Duration interval, @Nullable Counter evictedCounter) {
+		this.discoveryClient = discoveryClient;
+		this.connectionPool = connectionPool;
+		this.eventListener = eventListener;
+		this.interval = interval;
+		this.evictedCounter = evictedCounter;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		long period = interval.toMillis();
+		if (period <= 0) {
+			return;
+		}
+		scheduler.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * 检查下线实例并回收空闲连接
+	 */
+	private void check() {
+		DiscoveryClient client = discoveryClient.getIfAvailable();
+		if (client == null) {
+			return;
+		}
+
+		try {
+			Set<String> current = new HashSet<>();
+			for (String serviceId : client.getServices()) {
+				for (ServiceInstance instance : client.getInstances(serviceId)) {
+					current.add(instance.getHost() + ":" + instance.getPort());
+				}
+			}
+
+			Set<String> stale = new HashSet<>(registered);
+			stale.removeAll(current);
+			stale.retainAll(eventListener.getTargets());
+			registered = current;
+
+			if (stale.isEmpty()) {
+				return;
+			}
+
+			int idle = connectionPool.idleConnectionCount();
+			connectionPool.evictAll();
+			eventListener.forget(stale);
+			if (evictedCounter != null) {
+				evictedCounter.increment(idle);
+			}
+			log.info("[feign] 服务实例 {} 已下线，回收 {} 个空闲连接", stale, idle);
+		}
+		catch (Exception e) {
+			log.warn("[feign] 检查下线服务实例失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+}
@@ -20,6 +20,8 @@ import com.pig4cloud.pig.admin.api.feign.RemoteLogService;
 import com.pig4cloud.pig.common.log.aspect.SysLogAspect;
 import com.pig4cloud.pig.common.log.config.PigLogProperties;
 import com.pig4cloud.pig.common.log.event.SysLogListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -42,11 +44,13 @@ public class LogAutoConfiguration {
 	 * 创建并返回SysLogListener的Bean实例
 	 * @param logProperties 日志属性配置
 	 * @param remoteLogService 远程日志服务
+	 * @param meterRegistry 监控指标注册中心
 	 * @return SysLogListener实例
 	 */
 	@Bean
-	public SysLogListener sysLogListener(PigLogProperties logProperties, RemoteLogService remoteLogService) {
-		return new SysLogListener(remoteLogService, logProperties);
+	public SysLogListener sysLogListener(PigLogProperties logProperties, RemoteLogService remoteLogService,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new SysLogListener(remoteLogService, logProperties, meterRegistry);
 	}
 
 	/**
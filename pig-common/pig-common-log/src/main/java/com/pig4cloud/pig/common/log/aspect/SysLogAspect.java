@@ -52,9 +52,9 @@ public class SysLogAspect {
 	@Around("@annotation(sysLog)")
 	@SneakyThrows
 	public Object around(ProceedingJoinPoint point, com.pig4cloud.pig.common.log.annotation.SysLog sysLog) {
-		String strClassName = point.getTarget().getClass().getName();
-		String strMethodName = point.getSignature().getName();
-		log.debug("[类名]:{},[方法]:{}", strClassName, strMethodName);
+		if (log.isDebugEnabled()) {
+			log.debug("[类名]:{},[方法]:{}", point.getTarget().getClass().getName(), point.getSignature().getName());
+		}
 
 		String value = sysLog.value();
 		String expression = sysLog.expression();
@@ -64,7 +64,7 @@ public class SysLogAspect {
 			MethodSignature signature = (MethodSignature) point.getSignature();
 			EvaluationContext context = SysLogUtils.getContext(point.getArgs(), signature.getMethod());
 			try {
-				value = SysLogUtils.getValue(context, expression, String.class);
+				value = SysLogUtils.getValue(signature.getMethod(), context, expression, String.class);
 			}
 			catch (Exception e) {
 				// SPEL 表达式异常，获取 value 的值
@@ -21,6 +21,7 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -52,4 +53,57 @@ public class PigLogProperties {
 	 */
 	private Integer maxLength = 2000;
 
+	/**
+	 * 日志缓冲队列容量，向上取整为2的幂
+	 */
+	private int bufferSize = 8192;
+
+	/**
+	 * 单次批量提交的最大条数
+	 */
+	private int batchSize = 200;
+
+	/**
+	 * 最长刷写间隔，未攒满一批时到期也会提交
+	 */
+	private Duration flushInterval = Duration.ofSeconds(1);
+
+	/**
+	 * 缓冲队列满时的处理策略
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+	/**
+	 * SPILL 策略的落盘文件，远程服务恢复后自动补发
+	 */
+	@Value("${security.log.spill-file:logs/${spring.application.name:pig}/sys-log.spill}")
+	private String spillFile;
+
+	/**
+	 * 落盘文件大小上限（字节），超过后丢弃最早的日志，默认：64MB
+	 */
+	private long spillMaxBytes = 64L * 1024 * 1024;
+
+	/**
+	 * 缓冲队列溢出策略
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * 丢弃最早的日志
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * 阻塞直到队列有空位
+		 */
+		BLOCK,
+
+		/**
+		 * 写入本地文件，稍后补发
+		 */
+		SPILL
+
+	}
+
 }
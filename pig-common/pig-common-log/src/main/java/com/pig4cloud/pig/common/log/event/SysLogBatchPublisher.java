@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.log.event;
+
+import cn.hutool.core.io.FileUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pig4cloud.pig.admin.api.entity.SysLog;
+import com.pig4cloud.pig.admin.api.feign.RemoteLogService;
+import com.pig4cloud.pig.common.core.jackson.PigJavaTimeModule;
+import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.core.util.RetOps;
+import com.pig4cloud.pig.common.log.config.PigLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * 系统日志批量提交器
+ * <p>
+ * 日志事件先进入有界环形队列，由单个后台线程按条数或时间攒批，通过 /log/saveBatch 一次提交。 队列满时按
+ * {@link PigLogProperties.OverflowPolicy} 处理
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class SysLogBatchPublisher implements Runnable {
+
+	private static final ObjectMapper SPILL_MAPPER = new ObjectMapper().registerModule(new PigJavaTimeModule());
+
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final RemoteLogService remoteLogService;
+
+	private final PigLogProperties logProperties;
+
+	private final Function<SysLogEventSource, SysLog> converter;
+
+	private final SysLogRingBuffer<SysLogEventSource> buffer;
+
+	private final File spillFile;
+
+	/**
+	 * 补发中的落盘文件，补发开始时由落盘文件改名而来，补发期间新落盘的日志写入新文件
+	 */
+	private final File replayFile;
+
+	private final LongAdder dropped = new LongAdder();
+
+	@Nullable
+	private final Counter droppedCounter;
+
+	@Nullable
+	private final Counter spilledCounter;
+
+	@Nullable
+	private final Timer flushTimer;
+
+	private volatile boolean running = true;
+
+	private final Thread worker;
+
+	public SysLogBatchPublisher(RemoteLogService remoteLogService, PigLogProperties logProperties,
+			Function<SysLogEventSource, SysLog> converter, @Nullable MeterRegistry meterRegistry) {
+		this.remoteLogService = remoteLogService;
+		this.logProperties = logProperties;
+		this.converter = converter;
+		this.buffer = new SysLogRingBuffer<>(logProperties.getBufferSize());
+		this.spillFile = FileUtil.file(logProperties.getSpillFile());
+		this.replayFile = FileUtil.file(logProperties.getSpillFile() + ".replay");
+
+		if (meterRegistry != null) {
+			Gauge.builder("pig.log.queue.depth", buffer, SysLogRingBuffer::size)
+				.description("系统日志缓冲队列长度")
+				.register(meterRegistry);
+			this.droppedCounter = Counter.builder("pig.log.dropped")
+				.description("系统日志丢弃条数")
+				.register(meterRegistry);
+			this.spilledCounter = Counter.builder("pig.log.spilled")
+				.description("系统日志落盘条数")
+				.register(meterRegistry);
+			this.flushTimer = Timer.builder("pig.log.flush").description("系统日志批量提交耗时").register(meterRegistry);
+		}
+		else {
+			this.droppedCounter = null;
+			this.spilledCounter = null;
+			this.flushTimer = null;
+		}
+
+		this.worker = new Thread(this, "pig-syslog-flusher");
+		this.worker.setDaemon(true);
+	}
+
+	/**
+	 * 启动后台提交线程
+	 */
+	public void start() {
+		worker.start();
+	}
+
+	/**
+	 * 发布日志事件
+	 * @param source 日志事件源
+	 */
+	public void publish(SysLogEventSource source) {
+		if (!buffer.offer(source)) {
+			handleOverflow(source);
+		}
+		if (buffer.size() >= logProperties.getBatchSize()) {
+			LockSupport.unpark(worker);
+		}
+	}
+
+	/**
+	 * 已丢弃的日志条数
+	 * @return 丢弃条数
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * 停止后台线程并提交剩余日志
+	 */
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(worker);
+		try {
+			worker.join(logProperties.getFlushInterval().toMillis() * 2);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void run() {
+		int batchSize = logProperties.getBatchSize();
+		long intervalNanos = logProperties.getFlushInterval().toNanos();
+		List<SysLogEventSource> batch = new ArrayList<>(batchSize);
+		long lastFlush = System.nanoTime();
+
+		while (running) {
+			buffer.drainTo(batch, batchSize - batch.size());
+			long now = System.nanoTime();
+			if (batch.size() >= batchSize || (!batch.isEmpty() && now - lastFlush >= intervalNanos)) {
+				flush(batch);
+				lastFlush = now;
+				continue;
+			}
+
+			if (batch.isEmpty() && now - lastFlush >= intervalNanos) {
+				replaySpill();
+				lastFlush = now;
+			}
+			LockSupport.parkNanos(this, Math.max(BLOCK_PARK_NANOS, intervalNanos - (now - lastFlush)));
+		}
+
+		// 停机前提交剩余日志
+		do {
+			buffer.drainTo(batch, batchSize - batch.size());
+			flush(batch);
+		}
+		while (buffer.size() > 0);
+	}
+
+	private void handleOverflow(SysLogEventSource source) {
+		switch (logProperties.getOverflowPolicy()) {
+			case BLOCK -> {
+				while (!buffer.offer(source)) {
+					if (!running) {
+						drop(1);
+						return;
+					}
+					LockSupport.unpark(worker);
+					LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+				}
+			}
+			case SPILL -> spill(List.of(converter.apply(source)));
+			default -> {
+				while (!buffer.offer(source)) {
+					if (buffer.poll() != null) {
+						drop(1);
+					}
+				}
+			}
+		}
+	}
+
+	private void flush(List<SysLogEventSource> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		List<SysLog> logs = new ArrayList<>(batch.size());
+		for (SysLogEventSource source : batch) {
+			try {
+				logs.add(converter.apply(source));
+			}
+			catch (Exception e) {
+				log.warn("系统日志转换失败 {}", e.getLocalizedMessage());
+				drop(1);
+			}
+		}
+		batch.clear();
+
+		if (!send(logs)) {
+			if (logProperties.getOverflowPolicy() == PigLogProperties.OverflowPolicy.SPILL) {
+				spill(logs);
+			}
+			else {
+				drop(logs.size());
+			}
+		}
+	}
+
+	private boolean send(List<SysLog> logs) {
+		if (logs.isEmpty()) {
+			return true;
+		}
+
+		long start = System.nanoTime();
+		try {
+			R<Boolean> result = remoteLogService.saveLogBatch(logs);
+			return result != null && RetOps.CODE_SUCCESS.test(result);
+		}
+		catch (Exception e) {
+			log.warn("系统日志批量提交失败 size={} {}", logs.size(), e.getLocalizedMessage());
+			return false;
+		}
+		finally {
+			if (flushTimer != null) {
+				flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private synchronized void spill(List<SysLog> logs) {
+		try {
+			List<String> lines = new ArrayList<>(logs.size());
+			for (SysLog sysLog : logs) {
+				lines.add(SPILL_MAPPER.writeValueAsString(sysLog));
+			}
+			FileUtil.appendLines(lines, spillFile, StandardCharsets.UTF_8);
+			if (spilledCounter != null) {
+				spilledCounter.increment(logs.size());
+			}
+			trimSpill();
+		}
+		catch (Exception e) {
+			log.error("系统日志落盘失败 {}", e.getLocalizedMessage());
+			drop(logs.size());
+		}
+	}
+
+	/**
+	 * 落盘文件超过上限时丢弃最早的日志，一次裁剪到上限的四分之三，持续落盘时不必每次追加都重写文件
+	 */
+	private void trimSpill() throws IOException {
+		long maxBytes = logProperties.getSpillMaxBytes();
+		long length = spillFile.length();
+		if (length <= maxBytes) {
+			return;
+		}
+
+		long skipBytes = length - maxBytes / 4 * 3;
+		File trimmed = FileUtil.file(spillFile.getPath() + ".tmp");
+		long skipped = 0;
+		int droppedLines = 0;
+		try (BufferedReader reader = Files.newBufferedReader(spillFile.toPath(), StandardCharsets.UTF_8);
+				BufferedWriter writer = Files.newBufferedWriter(trimmed.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (skipped < skipBytes) {
+					skipped += line.getBytes(StandardCharsets.UTF_8).length + 1;
+					droppedLines++;
+					continue;
+				}
+				writer.write(line);
+				writer.newLine();
+			}
+		}
+		Files.move(trimmed.toPath(), spillFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		drop(droppedLines);
+		log.warn("系统日志落盘文件超过 {} 字节，丢弃最早的 {} 条", maxBytes, droppedLines);
+	}
+
+	/**
+	 * 队列空闲时补发落盘日志，逐行读取按批提交，补发失败保留未提交的部分等待下次
+	 */
+	private void replaySpill() {
+		synchronized (this) {
+			if (!replayFile.exists()) {
+				if (!spillFile.exists()) {
+					return;
+				}
+				try {
+					Files.move(spillFile.toPath(), replayFile.toPath());
+				}
+				catch (IOException e) {
+					log.error("读取系统日志落盘文件失败 {}", e.getLocalizedMessage());
+					return;
+				}
+			}
+		}
+
+		int batchSize = logProperties.getBatchSize();
+		File remaining = FileUtil.file(replayFile.getPath() + ".tmp");
+		FileUtil.del(remaining);
+		boolean sent = false;
+		try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+			List<String> lines = new ArrayList<>(batchSize);
+			String line = reader.readLine();
+			while (line != null || !lines.isEmpty()) {
+				if (line != null) {
+					lines.add(line);
+					line = reader.readLine();
+					if (line != null && lines.size() < batchSize) {
+						continue;
+					}
+				}
+				if (!send(parse(lines))) {
+					// 一批都未提交时文件保持不变，否则只保留未提交的部分
+					if (!sent) {
+						return;
+					}
+					try (BufferedWriter writer = Files.newBufferedWriter(remaining.toPath(), StandardCharsets.UTF_8)) {
+						for (String unsent : lines) {
+							writer.write(unsent);
+							writer.newLine();
+						}
+						for (; line != null; line = reader.readLine()) {
+							writer.write(line);
+							writer.newLine();
+						}
+					}
+					break;
+				}
+				sent = true;
+				lines.clear();
+			}
+		}
+		catch (IOException e) {
+			log.error("读取系统日志落盘文件失败 {}", e.getLocalizedMessage());
+			return;
+		}
+
+		try {
+			if (remaining.exists()) {
+				Files.move(remaining.toPath(), replayFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			else {
+				Files.delete(replayFile.toPath());
+			}
+		}
+		catch (IOException e) {
+			log.error("更新系统日志落盘文件失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * 解析落盘日志，无法解析的行丢弃
+	 * @param lines 落盘文件中的行
+	 * @return 系统日志
+	 */
+	private List<SysLog> parse(List<String> lines) {
+		List<SysLog> logs = new ArrayList<>(lines.size());
+		for (String line : lines) {
+			try {
+				logs.add(SPILL_MAPPER.readValue(line, SysLog.class));
+			}
+			catch (Exception e) {
+				log.warn("系统日志落盘记录解析失败 {}", e.getLocalizedMessage());
+				drop(1);
+			}
+		}
+		return logs;
+	}
+
+	private void drop(int count) {
+		dropped.add(count);
+		if (droppedCounter != null) {
+			droppedCounter.increment(count);
+		}
+	}
+
+}
@@ -19,10 +19,11 @@ package com.pig4cloud.pig.common.log.event;
 import java.util.Objects;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
-import org.springframework.scheduling.annotation.Async;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,17 +36,18 @@ import com.pig4cloud.pig.common.core.jackson.PigJavaTimeModule;
 import com.pig4cloud.pig.common.log.config.PigLogProperties;
 
 import cn.hutool.core.util.StrUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
 /**
- * 系统日志监听器：异步处理系统日志事件
+ * 系统日志监听器：日志事件进入缓冲队列，由 {@link SysLogBatchPublisher} 异步批量提交
  *
  * @author lengleng
  * @date 2025/05/31
  */
 @RequiredArgsConstructor
-public class SysLogListener implements InitializingBean {
+public class SysLogListener implements InitializingBean, DisposableBean {
 
 	// new 一个 避免日志脱敏策略影响全局ObjectMapper
 	private final static ObjectMapper objectMapper = new ObjectMapper();
@@ -54,16 +56,27 @@ public class SysLogListener implements InitializingBean {
 
 	private final PigLogProperties logProperties;
 
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	private SysLogBatchPublisher publisher;
+
 	/**
-	 * 异步保存系统日志
+	 * 保存系统日志，仅入队不阻塞业务线程
 	 * @param event 系统日志事件
 	 */
-	@SneakyThrows
-	@Async
 	@Order
 	@EventListener(SysLogEvent.class)
 	public void saveSysLog(SysLogEvent event) {
-		SysLogEventSource source = (SysLogEventSource) event.getSource();
+		publisher.publish((SysLogEventSource) event.getSource());
+	}
+
+	/**
+	 * 日志事件源转换为日志实体，在提交线程中执行
+	 * @param source 日志事件源
+	 * @return 日志实体
+	 */
+	@SneakyThrows
+	private SysLog convert(SysLogEventSource source) {
 		SysLog sysLog = new SysLog();
 		BeanUtils.copyProperties(source, sysLog);
 
@@ -72,8 +85,7 @@ public class SysLogListener implements InitializingBean {
 			String params = objectMapper.writeValueAsString(source.getBody());
 			sysLog.setParams(StrUtil.subPre(params, logProperties.getMaxLength()));
 		}
-
-		remoteLogService.saveLog(sysLog);
+		return sysLog;
 	}
 
 	@Override
@@ -85,6 +97,15 @@ public class SysLogListener implements InitializingBean {
 				SimpleBeanPropertyFilter.serializeAllExcept(ignorableFieldNames));
 		objectMapper.setFilterProvider(filters);
 		objectMapper.registerModule(new PigJavaTimeModule());
+
+		publisher = new SysLogBatchPublisher(remoteLogService, logProperties, this::convert,
+				meterRegistry.getIfAvailable());
+		publisher.start();
+	}
+
+	@Override
+	public void destroy() {
+		publisher.shutdown();
 	}
 
 	/**
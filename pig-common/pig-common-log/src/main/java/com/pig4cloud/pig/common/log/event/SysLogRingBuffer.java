@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.log.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形队列
+ * <p>
+ * 每个槽位带序号，生产者、消费者均通过 CAS 推进游标，支持多生产者多消费者（DROP_OLDEST 策略下生产者也会出队）
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+class SysLogRingBuffer<E> {
+
+	private final int mask;
+
+	private final AtomicReferenceArray<E> elements;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong tail = new AtomicLong();
+
+	SysLogRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.mask = size - 1;
+		this.elements = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * 入队
+	 * @param element 元素
+	 * @return 队列已满返回false
+	 */
+	boolean offer(E element) {
+		while (true) {
+			long position = tail.get();
+			int index = (int) (position & mask);
+			long diff = sequences.get(index) - position;
+			if (diff == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					elements.set(index, element);
+					sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if (diff < 0) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * 出队
+	 * @return 队列为空返回null
+	 */
+	E poll() {
+		while (true) {
+			long position = head.get();
+			int index = (int) (position & mask);
+			long diff = sequences.get(index) - (position + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(position, position + 1)) {
+					E element = elements.getAndSet(index, null);
+					sequences.set(index, position + mask + 1);
+					return element;
+				}
+			}
+			else if (diff < 0) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * 批量出队
+	 * @param target 目标集合
+	 * @param max 最大条数
+	 * @return 实际出队条数
+	 */
+	int drainTo(List<E> target, int max) {
+		int count = 0;
+		E element;
+		while (count < max && (element = poll()) != null) {
+			target.add(element);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 当前队列长度（近似值）
+	 * @return 队列长度
+	 */
+	int size() {
+		return (int) Math.max(0, Math.min(tail.get() - head.get(), mask + 1L));
+	}
+
+}
@@ -18,6 +18,7 @@ package com.pig4cloud.pig.common.log.util;
 
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.URLUtil;
 import cn.hutool.extra.servlet.JakartaServletUtil;
 import cn.hutool.extra.spring.SpringUtil;
@@ -27,9 +28,12 @@ import com.pig4cloud.pig.common.log.config.PigLogProperties;
 import com.pig4cloud.pig.common.log.event.SysLogEventSource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.experimental.UtilityClass;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.StandardReflectionParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.http.HttpHeaders;
@@ -39,9 +43,11 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 系统日志工具类
@@ -52,6 +58,26 @@ import java.util.Objects;
 @UtilityClass
 public class SysLogUtils {
 
+	/**
+	 * SpEL 解析器，MIXED 模式下表达式多次解释执行后编译为字节码，无法编译时回退解释执行
+	 */
+	private final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+			new SpelParserConfiguration(SpelCompilerMode.MIXED, SysLogUtils.class.getClassLoader()));
+
+	private final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new StandardReflectionParameterNameDiscoverer();
+
+	/**
+	 * 已解析的表达式，key 为方法 + 表达式
+	 */
+	private final Map<MethodExpressionKey, Expression> EXPRESSION_CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * 方法参数名缓存
+	 */
+	private final Map<Method, String[]> PARAMETER_NAMES_CACHE = new ConcurrentHashMap<>();
+
+	private final String[] NO_PARAMETER_NAMES = new String[0];
+
 	/**
 	 * 获取系统日志事件源
 	 * @return 系统日志事件源对象
@@ -66,6 +92,8 @@ public class SysLogUtils {
 		sysLog.setRemoteAddr(JakartaServletUtil.getClientIP(request));
 		sysLog.setUserAgent(request.getHeader(HttpHeaders.USER_AGENT));
 		sysLog.setCreateBy(getUsername());
+		// 记录请求发生的时间，批量发送或落盘重放后写入时仍保持原始时间
+		sysLog.setCreateTime(LocalDateTime.now());
 		sysLog.setServiceId(SpringUtil.getProperty("spring.application.name"));
 
 		// get 参数脱敏
@@ -89,16 +117,17 @@ public class SysLogUtils {
 	}
 
 	/**
-	 * 获取spel 定义的参数值
+	 * 获取spel 定义的参数值，表达式按方法缓存，只解析一次
+	 * @param method 被执行的方法体
 	 * @param context 参数容器
 	 * @param key key
 	 * @param clazz 需要返回的类型
 	 * @param <T> 返回泛型
 	 * @return 参数值
 	 */
-	public <T> T getValue(EvaluationContext context, String key, Class<T> clazz) {
-		SpelExpressionParser spelExpressionParser = new SpelExpressionParser();
-		Expression expression = spelExpressionParser.parseExpression(key);
+	public <T> T getValue(Method method, EvaluationContext context, String key, Class<T> clazz) {
+		Expression expression = EXPRESSION_CACHE.computeIfAbsent(new MethodExpressionKey(method, key),
+				k -> EXPRESSION_PARSER.parseExpression(k.expression()));
 		return expression.getValue(context, clazz);
 	}
 
@@ -109,15 +138,24 @@ public class SysLogUtils {
 	 * @return 装载参数的容器
 	 */
 	public EvaluationContext getContext(Object[] arguments, Method signatureMethod) {
-		String[] parameterNames = new StandardReflectionParameterNameDiscoverer().getParameterNames(signatureMethod);
+		String[] parameterNames = PARAMETER_NAMES_CACHE.computeIfAbsent(signatureMethod,
+				method -> ObjectUtil.defaultIfNull(PARAMETER_NAME_DISCOVERER.getParameterNames(method),
+						NO_PARAMETER_NAMES));
 		EvaluationContext context = new StandardEvaluationContext();
-		if (parameterNames == null) {
-			return context;
-		}
-		for (int i = 0; i < arguments.length; i++) {
+		for (int i = 0; i < Math.min(arguments.length, parameterNames.length); i++) {
 			context.setVariable(parameterNames[i], arguments[i]);
 		}
 		return context;
 	}
 
+	/**
+	 * 表达式缓存 key
+	 *
+	 * @param method 方法
+	 * @param expression 表达式
+	 */
+	private record MethodExpressionKey(Method method, String expression) {
+
+	}
+
 }
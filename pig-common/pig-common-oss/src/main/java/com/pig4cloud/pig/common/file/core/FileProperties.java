@@ -23,6 +23,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 文件 配置信息
  *
@@ -39,6 +42,16 @@ public class FileProperties {
 	 */
 	private String bucketName = "local";
 
+	/**
+	 * 是否按内容摘要存储，开启后相同内容的文件只存一份，由文件记录引用计数
+	 */
+	private boolean contentAddressed = false;
+
+	/**
+	 * 图片缩略图允许的宽度，其他宽度的请求直接拒绝，避免匿名请求任意宽度生成大量缩略图
+	 */
+	private List<Integer> renditionWidths = new ArrayList<>(List.of(64, 128, 256, 512, 1024));
+
 	/**
 	 * 本地文件配置信息
 	 */
@@ -0,0 +1,14 @@
+package com.pig4cloud.pig.common.file.core;
+
+/**
+ * 文件元数据
+ *
+ * @param size 文件大小（字节）
+ * @param lastModified 最后修改时间（毫秒时间戳）
+ * @param etag 强校验 ETag，带双引号
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public record FileStat(long size, long lastModified, String etag) {
+
+}
@@ -3,6 +3,7 @@ package com.pig4cloud.pig.common.file.core;
 import org.springframework.beans.factory.InitializingBean;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -63,6 +64,27 @@ public interface FileTemplate extends InitializingBean {
 
 	void removeObject(String bucketName, String objectName) throws Exception;
 
+	/**
+	 * 获取文件元数据
+	 * @param bucketName bucket名称
+	 * @param objectName 文件名称
+	 * @return 文件元数据
+	 * @throws Exception 文件不存在或读取失败
+	 */
+	FileStat statObject(String bucketName, String objectName) throws Exception;
+
+	/**
+	 * 将文件指定区间写入输出流
+	 * @param bucketName bucket名称
+	 * @param objectName 文件名称
+	 * @param offset 起始位置
+	 * @param length 写入长度
+	 * @param out 输出流
+	 * @throws Exception 读取或写入失败
+	 */
+	void writeObject(String bucketName, String objectName, long offset, long length, OutputStream out)
+			throws Exception;
+
 	/**
 	 * @throws Exception
 	 */
@@ -81,4 +103,13 @@ public interface FileTemplate extends InitializingBean {
 	 */
 	List<? extends Object> getAllObjectsByPrefix(String bucketName, String prefix, boolean recursive);
 
+	/**
+	 * 根据文件前缀查询文件名称
+	 * @param bucketName bucket名称
+	 * @param prefix 前缀
+	 * @param recursive 是否递归查询
+	 * @return 文件名称列表
+	 */
+	List<String> getObjectNamesByPrefix(String bucketName, String prefix, boolean recursive);
+
 }
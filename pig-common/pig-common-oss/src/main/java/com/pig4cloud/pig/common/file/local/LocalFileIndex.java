@@ -0,0 +1,185 @@
+package com.pig4cloud.pig.common.file.local;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * 本地存储桶文件名索引
+ * <p>
+ * 文件名保存在有序集合中，按前缀查询只遍历命中的区间，与目录内文件总数无关。 磁盘上为一个按文件名排序的快照加追加日志（每行
+ * {@code +name} 或 {@code -name}），打开时回放日志并重写快照；索引文件不存在时扫描存储桶目录重建
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+class LocalFileIndex implements Closeable {
+
+	/**
+	 * 索引文件名，以点开头，不会与上传的文件重名
+	 */
+	static final String INDEX_FILE = ".index";
+
+	private final Path file;
+
+	private final boolean fsync;
+
+	private final NavigableSet<String> names = new ConcurrentSkipListSet<>();
+
+	private FileChannel journal;
+
+	private LocalFileIndex(Path file, boolean fsync) {
+		this.file = file;
+		this.fsync = fsync;
+	}
+
+	/**
+	 * 打开存储桶索引
+	 * @param bucketDir 存储桶目录
+	 * @param fsync 写入后是否刷盘
+	 * @param scanner 索引不存在时用于重建的文件名来源
+	 * @return 索引
+	 * @throws IOException 读写索引文件失败
+	 */
+	static LocalFileIndex open(Path bucketDir, boolean fsync, Scanner scanner) throws IOException {
+		LocalFileIndex index = new LocalFileIndex(bucketDir.resolve(INDEX_FILE), fsync);
+		if (Files.exists(index.file)) {
+			try (BufferedReader reader = Files.newBufferedReader(index.file, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					index.replay(line);
+				}
+			}
+		}
+		else {
+			try (Stream<String> scanned = scanner.scan()) {
+				scanned.forEach(index.names::add);
+			}
+			log.info("重建本地存储桶索引 {} 共 {} 个文件", bucketDir, index.names.size());
+		}
+
+		index.compact();
+		return index;
+	}
+
+	/**
+	 * 按前缀查询文件名
+	 * @param prefix 前缀
+	 * @return 有序的文件名列表
+	 */
+	List<String> list(String prefix) {
+		if (prefix == null || prefix.isEmpty()) {
+			return List.copyOf(names);
+		}
+		return List.copyOf(names.subSet(prefix, true, prefix + Character.MAX_VALUE, false));
+	}
+
+	/**
+	 * 记录新增文件
+	 * @param name 文件名
+	 * @throws IOException 写入日志失败
+	 */
+	synchronized void add(String name) throws IOException {
+		if (names.add(name)) {
+			append('+', name);
+		}
+	}
+
+	/**
+	 * 记录删除文件
+	 * @param name 文件名
+	 * @throws IOException 写入日志失败
+	 */
+	synchronized void remove(String name) throws IOException {
+		if (names.remove(name)) {
+			append('-', name);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (journal != null) {
+			journal.close();
+			journal = null;
+		}
+	}
+
+	private void replay(String line) {
+		if (line.length() < 2) {
+			return;
+		}
+		String name = line.substring(1);
+		if (line.charAt(0) == '+') {
+			names.add(name);
+		}
+		else if (line.charAt(0) == '-') {
+			names.remove(name);
+		}
+	}
+
+	/**
+	 * 将当前文件名按序写成快照并原子替换索引文件，之后的变更追加在快照之后
+	 */
+	private synchronized void compact() throws IOException {
+		close();
+		Path tmp = file.resolveSibling(INDEX_FILE + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			for (String name : names) {
+				writer.write('+');
+				writer.write(name);
+				writer.write('\n');
+			}
+		}
+		if (fsync) {
+			try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+				channel.force(true);
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		journal = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	private void append(char op, String name) throws IOException {
+		if (name.indexOf('\n') >= 0) {
+			throw new IllegalArgumentException("文件名不能包含换行符");
+		}
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(op + name + '\n');
+		while (buffer.hasRemaining()) {
+			journal.write(buffer);
+		}
+		if (fsync) {
+			journal.force(false);
+		}
+	}
+
+	/**
+	 * 重建索引时的文件名来源
+	 */
+	@FunctionalInterface
+	interface Scanner {
+
+		/**
+		 * 扫描存储桶内全部文件名
+		 * @return 文件名流，使用后关闭
+		 * @throws IOException 扫描失败
+		 */
+		Stream<String> scan() throws IOException;
+
+	}
+
+}
@@ -39,4 +39,14 @@ public class LocalFileProperties {
 	 */
 	private String basePath;
 
+	/**
+	 * 是否按文件名哈希分两级子目录存放，开启后启动时在后台迁移已有文件
+	 */
+	private boolean sharding = false;
+
+	/**
+	 * 写入文件和索引后是否强制刷盘
+	 */
+	private boolean fsync = false;
+
 }
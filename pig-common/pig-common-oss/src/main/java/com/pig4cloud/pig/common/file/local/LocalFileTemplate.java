@@ -1,27 +1,53 @@
 package com.pig4cloud.pig.common.file.local;
 
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.lang.hash.MurmurHash;
 import com.pig4cloud.pig.common.file.core.FileProperties;
+import com.pig4cloud.pig.common.file.core.FileStat;
 import com.pig4cloud.pig.common.file.core.FileTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 
-import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * 本地文件读取模式
+ * <p>
+ * 开启分片目录后文件按文件名哈希存放在 {@code bucket/ab/cd/objectName} 两级子目录中，避免单目录文件过多；
+ * 未迁移的平铺文件仍可读取，启动时在后台迁移。 文件名另有按存储桶维护的有序索引，按前缀查询不再遍历目录
  *
  * @author lengleng
  * @date 2022/4/19
  */
+@Slf4j
 @RequiredArgsConstructor
-public class LocalFileTemplate implements FileTemplate {
+public class LocalFileTemplate implements FileTemplate, DisposableBean {
+
+	private static final String TMP_SUFFIX = ".uploading";
 
 	private final FileProperties properties;
 
+	private final Map<String, LocalFileIndex> indexes = new ConcurrentHashMap<>();
+
 	/**
 	 * 简单的 Bucket 数据对象
 	 */
@@ -64,28 +90,46 @@ public class LocalFileTemplate implements FileTemplate {
 	 * @see <a href= Documentation</a>
 	 */
 	@Override
+	@SneakyThrows
 	public void removeBucket(String bucketName) {
+		LocalFileIndex index = indexes.remove(bucketName);
+		if (index != null) {
+			index.close();
+		}
 		FileUtil.del(properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName);
 	}
 
 	/**
 	 * 上传文件
+	 * <p>
+	 * 先写入同目录下名称唯一的临时文件再原子重命名，读取方不会看到写了一半的文件，同名并发上传也不会互相覆盖临时文件
 	 * @param bucketName bucket名称
 	 * @param objectName 文件名称
 	 * @param stream 文件流
 	 * @param contextType 文件类型
 	 */
 	@Override
+	@SneakyThrows
 	public void putObject(String bucketName, String objectName, InputStream stream, String contextType) {
-		// 当 Bucket 不存在时创建
-		String dir = properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName;
-		if (!FileUtil.isDirectory(properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName)) {
-			createBucket(bucketName);
+		Path target = getWritePath(bucketName, objectName);
+		Files.createDirectories(target.getParent());
+
+		// 不使用 Files.createTempFile，其创建的文件权限为 600，重命名后会改变上传文件的访问权限
+		Path tmp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + TMP_SUFFIX);
+		try {
+			Files.copy(stream, tmp, StandardCopyOption.REPLACE_EXISTING);
+			if (properties.getLocal().isFsync()) {
+				try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+					channel.force(true);
+				}
+			}
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(tmp);
 		}
 
-		// 写入文件
-		File file = FileUtil.file(dir + FileUtil.FILE_SEPARATOR + objectName);
-		FileUtil.writeFromStream(stream, file);
+		getIndex(bucketName).add(objectName);
 	}
 
 	/**
@@ -97,8 +141,7 @@ public class LocalFileTemplate implements FileTemplate {
 	@Override
 	@SneakyThrows
 	public InputStream getObject(String bucketName, String objectName) {
-		String dir = properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName;
-		return FileUtil.getInputStream(dir + FileUtil.FILE_SEPARATOR + objectName);
+		return Files.newInputStream(getPath(bucketName, objectName));
 	}
 
 	/**
@@ -109,8 +152,55 @@ public class LocalFileTemplate implements FileTemplate {
 	 */
 	@Override
 	public void removeObject(String bucketName, String objectName) throws Exception {
-		String dir = properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName;
-		FileUtil.del(dir + FileUtil.FILE_SEPARATOR + objectName);
+		getIndex(bucketName).remove(objectName);
+		Files.deleteIfExists(getShardedPath(bucketName, objectName));
+		Files.deleteIfExists(getFlatPath(bucketName, objectName));
+	}
+
+	/**
+	 * 获取文件元数据，文件上传后不再修改，以大小和修改时间作为 ETag
+	 * @param bucketName bucket名称
+	 * @param objectName 文件名称
+	 * @return 文件元数据
+	 * @throws Exception 文件不存在
+	 */
+	@Override
+	public FileStat statObject(String bucketName, String objectName) throws Exception {
+		BasicFileAttributes attributes = Files.readAttributes(getPath(bucketName, objectName),
+				BasicFileAttributes.class);
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+		return new FileStat(size, lastModified, etag);
+	}
+
+	/**
+	 * 通过 {@link FileChannel#transferTo} 将文件指定区间写入输出流，只读取请求的区间
+	 * <p>
+	 * 目标是 Servlet 输出流包装的通道而非 Socket 通道，无法使用 sendfile，数据仍会经过用户态缓冲复制
+	 * @param bucketName bucket名称
+	 * @param objectName 文件名称
+	 * @param offset 起始位置
+	 * @param length 写入长度
+	 * @param out 输出流
+	 * @throws Exception 读取或写入失败
+	 */
+	@Override
+	public void writeObject(String bucketName, String objectName, long offset, long length, OutputStream out)
+			throws Exception {
+		try (FileChannel channel = FileChannel.open(getPath(bucketName, objectName), StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(out);
+			long position = offset;
+			long remaining = length;
+			while (remaining > 0) {
+				long transferred = channel.transferTo(position, remaining, target);
+				if (transferred <= 0) {
+					break;
+				}
+				position += transferred;
+				remaining -= transferred;
+			}
+		}
 	}
 
 	/**
@@ -126,7 +216,7 @@ public class LocalFileTemplate implements FileTemplate {
 	}
 
 	/**
-	 * 根据文件前置查询文件
+	 * 根据文件前置查询文件，通过存储桶索引查询，耗时只与命中数量有关
 	 * @param bucketName bucket名称
 	 * @param prefix 前缀
 	 * @param recursive 是否递归查询
@@ -136,12 +226,139 @@ public class LocalFileTemplate implements FileTemplate {
 	 */
 	@Override
 	public List<SimpleObjectSummary> getAllObjectsByPrefix(String bucketName, String prefix, boolean recursive) {
-		String dir = properties.getLocal().getBasePath() + FileUtil.FILE_SEPARATOR + bucketName;
+		return getObjectNamesByPrefix(bucketName, prefix, recursive).stream().map(SimpleObjectSummary::new).toList();
+	}
 
-		return Arrays.stream(FileUtil.ls(dir))
-			.filter(file -> file.getName().startsWith(prefix))
-			.map(file -> new SimpleObjectSummary(file.getName()))
-			.toList();
+	/**
+	 * 根据文件前缀查询文件名称，通过存储桶索引查询
+	 * @param bucketName bucket名称
+	 * @param prefix 前缀
+	 * @param recursive 是否递归查询
+	 * @return 文件名称列表
+	 */
+	@Override
+	@SneakyThrows
+	public List<String> getObjectNamesByPrefix(String bucketName, String prefix, boolean recursive) {
+		if (!Files.isDirectory(getBucketPath(bucketName))) {
+			return List.of();
+		}
+		return getIndex(bucketName).list(prefix);
+	}
+
+	/**
+	 * 将存储桶中平铺存放的文件迁移到分片目录，可重复执行，迁移期间读写不受影响
+	 * @param bucketName bucket名称
+	 * @return 迁移的文件数
+	 * @throws IOException 迁移失败
+	 */
+	public int migrate(String bucketName) throws IOException {
+		int migrated = 0;
+		try (Stream<Path> files = Files.list(getBucketPath(bucketName))) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				String name = file.getFileName().toString();
+				if (!Files.isRegularFile(file) || isInternal(name)) {
+					continue;
+				}
+				Path target = getShardedPath(bucketName, name);
+				Files.createDirectories(target.getParent());
+				Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				migrated++;
+			}
+		}
+		return migrated;
+	}
+
+	/**
+	 * 开启分片目录时在后台迁移已有的平铺文件
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		LocalFileProperties local = properties.getLocal();
+		if (local == null || !local.isSharding() || local.getBasePath() == null
+				|| !Files.isDirectory(Paths.get(local.getBasePath()))) {
+			return;
+		}
+
+		Thread thread = new Thread(() -> {
+			for (SimpleBucket bucket : getAllBuckets()) {
+				try {
+					int migrated = migrate(bucket.name());
+					if (migrated > 0) {
+						log.info("存储桶 {} 迁移 {} 个文件到分片目录", bucket.name(), migrated);
+					}
+				}
+				catch (Exception e) {
+					log.error("存储桶 {} 迁移到分片目录失败", bucket.name(), e);
+				}
+			}
+		}, "pig-local-file-migrate");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (LocalFileIndex index : indexes.values()) {
+			index.close();
+		}
+		indexes.clear();
+	}
+
+	private LocalFileIndex getIndex(String bucketName) {
+		return indexes.computeIfAbsent(bucketName, this::openIndex);
+	}
+
+	@SneakyThrows
+	private LocalFileIndex openIndex(String bucketName) {
+		Path bucketDir = getBucketPath(bucketName);
+		Files.createDirectories(bucketDir);
+		return LocalFileIndex.open(bucketDir, properties.getLocal().isFsync(), () -> scan(bucketDir));
+	}
+
+	/**
+	 * 扫描存储桶目录，包含平铺文件和两级分片目录中的文件
+	 */
+	private Stream<String> scan(Path bucketDir) throws IOException {
+		return Files.find(bucketDir, 3, (path, attributes) -> attributes.isRegularFile())
+			.map(path -> path.getFileName().toString())
+			.filter(name -> !isInternal(name));
+	}
+
+	private boolean isInternal(String name) {
+		return name.startsWith(LocalFileIndex.INDEX_FILE) || name.endsWith(TMP_SUFFIX);
+	}
+
+	/**
+	 * 读取路径：优先当前布局，不存在时回退到另一种布局，兼容迁移中和切换布局前写入的文件
+	 */
+	private Path getPath(String bucketName, String objectName) {
+		Path preferred = getWritePath(bucketName, objectName);
+		if (Files.exists(preferred)) {
+			return preferred;
+		}
+		Path fallback = properties.getLocal().isSharding() ? getFlatPath(bucketName, objectName)
+				: getShardedPath(bucketName, objectName);
+		return Files.exists(fallback) ? fallback : preferred;
+	}
+
+	private Path getWritePath(String bucketName, String objectName) {
+		return properties.getLocal().isSharding() ? getShardedPath(bucketName, objectName)
+				: getFlatPath(bucketName, objectName);
+	}
+
+	private Path getShardedPath(String bucketName, String objectName) {
+		int hash = MurmurHash.hash32(objectName);
+		String first = String.format("%02x", hash & 0xFF);
+		String second = String.format("%02x", (hash >>> 8) & 0xFF);
+		return getBucketPath(bucketName).resolve(first).resolve(second).resolve(objectName);
+	}
+
+	private Path getFlatPath(String bucketName, String objectName) {
+		return getBucketPath(bucketName).resolve(objectName);
+	}
+
+	private Path getBucketPath(String bucketName) {
+		return Paths.get(properties.getLocal().getBasePath(), bucketName);
 	}
 
 }
@@ -75,4 +75,19 @@ public class OssProperties {
 	 */
 	private Integer maxConnections = 100;
 
+	/**
+	 * 分片上传的分片大小（字节），不小于 5MB，默认：8MB。 文件不超过一个分片时直接上传
+	 */
+	private Integer partSize = 8 * 1024 * 1024;
+
+	/**
+	 * 分片上传并行数，默认：4
+	 */
+	private Integer uploadParallelism = 4;
+
+	/**
+	 * 等待单个分片上传完成的超时时间（秒），超时即中止整个上传，默认：300
+	 */
+	private Integer partUploadTimeout = 300;
+
 }
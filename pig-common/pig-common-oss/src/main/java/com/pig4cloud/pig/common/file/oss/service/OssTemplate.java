@@ -18,12 +18,16 @@
 package com.pig4cloud.pig.common.file.oss.service;
 
 import com.pig4cloud.pig.common.file.core.FileProperties;
+import com.pig4cloud.pig.common.file.core.FileStat;
 import com.pig4cloud.pig.common.file.core.FileTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -33,10 +37,24 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AWS S3通用存储操作模板类
@@ -53,8 +71,19 @@ import java.util.Optional;
  * @date 2025/05/31
  * @since 1.0
  */
+@Slf4j
 @RequiredArgsConstructor
-public class OssTemplate implements InitializingBean, FileTemplate {
+public class OssTemplate implements InitializingBean, DisposableBean, FileTemplate {
+
+	/**
+	 * S3 要求除最后一个分片外，分片不小于 5MB
+	 */
+	private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+	/**
+	 * S3 单次分片上传的分片数量上限
+	 */
+	private static final int MAX_PARTS = 10000;
 
 	/**
 	 * 文件存储配置属性
@@ -71,6 +100,17 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 	 */
 	private S3Presigner s3Presigner;
 
+	/**
+	 * 分片上传线程池
+	 */
+	private ThreadPoolExecutor uploadExecutor;
+
+	private int partSize;
+
+	private int uploadParallelism;
+
+	private int partUploadTimeout;
+
 	/**
 	 * 创建存储桶
 	 * @param bucketName 存储桶名称，必须全局唯一且符合DNS命名规范
@@ -170,6 +210,18 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 		return response.contents();
 	}
 
+	/**
+	 * 根据前缀查询文件名称
+	 * @param bucketName 存储桶名称
+	 * @param prefix 文件名前缀，可为null或空字符串
+	 * @param recursive 是否递归查询子目录
+	 * @return 文件名称列表
+	 */
+	@Override
+	public List<String> getObjectNamesByPrefix(String bucketName, String prefix, boolean recursive) {
+		return getAllObjectsByPrefix(bucketName, prefix, recursive).stream().map(S3Object::key).toList();
+	}
+
 	/**
 	 * 生成文件的预签名访问URL
 	 * @param bucketName 存储桶名称
@@ -226,13 +278,127 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 	 */
 	public void putObject(String bucketName, String objectName, InputStream stream, String contextType)
 			throws Exception {
-		PutObjectRequest request = PutObjectRequest.builder()
+		// 先读取一个分片，流在此之前结束说明是小文件，直接上传
+		byte[] first = stream.readNBytes(partSize);
+		if (first.length < partSize) {
+			PutObjectRequest request = PutObjectRequest.builder()
+				.bucket(bucketName)
+				.key(objectName)
+				.contentType(contextType)
+				.contentMD5(md5(first))
+				.build();
+			s3Client.putObject(request, RequestBody.fromBytes(first));
+			return;
+		}
+
+		multipartUpload(bucketName, objectName, first, stream, contextType);
+	}
+
+	/**
+	 * 分片上传
+	 *
+	 * <p>
+	 * 按分片顺序读取输入流，交给上传线程池并行上传，同一文件最多同时缓冲 uploadParallelism 个分片。
+	 * 每个分片携带 Content-MD5 由服务端校验，任一分片失败、超时或线程池已关闭即中止整个上传，不留下未完成的分片
+	 * </p>
+	 * @param bucketName 存储桶名称
+	 * @param objectName 文件对象名称
+	 * @param first 已读取的第一个分片
+	 * @param stream 剩余的文件输入流
+	 * @param contextType 文件MIME类型
+	 * @throws Exception 上传失败时抛出异常
+	 * @see <a href=
+	 * "http://docs.aws.amazon.com/goto/WebAPI/s3-2006-03-01/CreateMultipartUpload">AWS API
+	 * Documentation</a>
+	 */
+	private void multipartUpload(String bucketName, String objectName, byte[] first, InputStream stream,
+			String contextType) throws Exception {
+		CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
 			.bucket(bucketName)
 			.key(objectName)
 			.contentType(contextType)
 			.build();
+		String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+
+		List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+		Semaphore permits = new Semaphore(uploadParallelism);
+		try {
+			byte[] part = first;
+			for (int partNumber = 1; part.length > 0; partNumber++) {
+				if (partNumber > MAX_PARTS) {
+					throw new IllegalStateException("文件超过分片数量上限，请调大 file.oss.part-size");
+				}
+				permits.acquire();
+				futures.add(uploadPart(bucketName, objectName, uploadId, partNumber, part, permits));
+				// 已有分片失败时不再继续读取
+				if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+					break;
+				}
+				part = stream.readNBytes(partSize);
+			}
+
+			List<CompletedPart> parts = new ArrayList<>(futures.size());
+			for (CompletableFuture<CompletedPart> future : futures) {
+				parts.add(future.get(partUploadTimeout, TimeUnit.SECONDS));
+			}
+
+			CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+				.bucket(bucketName)
+				.key(objectName)
+				.uploadId(uploadId)
+				.multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+				.build();
+			s3Client.completeMultipartUpload(completeRequest);
+		}
+		catch (Exception e) {
+			futures.forEach(future -> future.cancel(true));
+			abortMultipartUpload(bucketName, objectName, uploadId);
+			throw (e instanceof ExecutionException || e instanceof CompletionException)
+					&& e.getCause() instanceof Exception cause ? cause : e;
+		}
+	}
+
+	private CompletableFuture<CompletedPart> uploadPart(String bucketName, String objectName, String uploadId,
+			int partNumber, byte[] part, Semaphore permits) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				UploadPartRequest request = UploadPartRequest.builder()
+					.bucket(bucketName)
+					.key(objectName)
+					.uploadId(uploadId)
+					.partNumber(partNumber)
+					.contentLength((long) part.length)
+					.contentMD5(md5(part))
+					.build();
+				String eTag = s3Client.uploadPart(request, RequestBody.fromBytes(part)).eTag();
+				return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+			}
+			finally {
+				permits.release();
+			}
+		}, uploadExecutor);
+	}
 
-		s3Client.putObject(request, RequestBody.fromInputStream(stream, stream.available()));
+	private void abortMultipartUpload(String bucketName, String objectName, String uploadId) {
+		try {
+			s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+				.bucket(bucketName)
+				.key(objectName)
+				.uploadId(uploadId)
+				.build());
+		}
+		catch (Exception e) {
+			log.warn("中止分片上传失败 {}/{} uploadId={} {}", bucketName, objectName, uploadId, e.getLocalizedMessage());
+		}
+	}
+
+	private static String md5(byte[] bytes) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(bytes));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	/**
@@ -273,6 +439,45 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 		return s3Client.headObject(request);
 	}
 
+	/**
+	 * 获取文件元数据，ETag 取自对象存储
+	 * @param bucketName 存储桶名称
+	 * @param objectName 文件对象名称
+	 * @return 文件元数据
+	 * @throws Exception 文件不存在或获取失败
+	 */
+	public FileStat statObject(String bucketName, String objectName) throws Exception {
+		HeadObjectResponse response = getObjectInfo(bucketName, objectName);
+		return new FileStat(response.contentLength(), response.lastModified().toEpochMilli(), response.eTag());
+	}
+
+	/**
+	 * 按区间获取文件写入输出流，只传输请求的字节
+	 * @param bucketName 存储桶名称
+	 * @param objectName 文件对象名称
+	 * @param offset 起始位置
+	 * @param length 写入长度
+	 * @param out 输出流
+	 * @throws Exception 获取或写入失败
+	 * @see <a href="http://docs.aws.amazon.com/goto/WebAPI/s3-2006-03-01/GetObject">AWS
+	 * API Documentation</a>
+	 */
+	public void writeObject(String bucketName, String objectName, long offset, long length, OutputStream out)
+			throws Exception {
+		if (length <= 0) {
+			return;
+		}
+
+		GetObjectRequest request = GetObjectRequest.builder()
+			.bucket(bucketName)
+			.key(objectName)
+			.range("bytes=" + offset + "-" + (offset + length - 1))
+			.build();
+		try (ResponseInputStream<GetObjectResponse> inputStream = s3Client.getObject(request)) {
+			inputStream.transferTo(out);
+		}
+	}
+
 	/**
 	 * 删除文件对象
 	 *
@@ -317,6 +522,23 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 			.serviceConfiguration(s3ConfigBuilder.build())
 			.build();
 
+		// 创建分片上传线程池，队列满时由调用线程上传；线程池关闭后拒绝提交，由调用方中止上传，避免分片永远不完成
+		this.partSize = Math.max(MIN_PART_SIZE, properties.getOss().getPartSize());
+		this.uploadParallelism = Math.max(1, properties.getOss().getUploadParallelism());
+		this.partUploadTimeout = Math.max(1, properties.getOss().getPartUploadTimeout());
+		AtomicInteger threadIndex = new AtomicInteger();
+		this.uploadExecutor = new ThreadPoolExecutor(uploadParallelism, uploadParallelism, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(uploadParallelism * 4), runnable -> {
+					Thread thread = new Thread(runnable, "pig-oss-upload-" + threadIndex.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, (runnable, executor) -> {
+					if (executor.isShutdown()) {
+						throw new RejectedExecutionException("分片上传线程池已关闭");
+					}
+					runnable.run();
+				});
+
 		// 创建S3预签名器
 		this.s3Presigner = S3Presigner.builder()
 			.endpointOverride(URI.create(properties.getOss().getEndpoint()))
@@ -326,4 +548,20 @@ public class OssTemplate implements InitializingBean, FileTemplate {
 			.build();
 	}
 
+	/**
+	 * 关闭分片上传线程池和S3客户端
+	 */
+	@Override
+	public void destroy() {
+		if (uploadExecutor != null) {
+			uploadExecutor.shutdown();
+		}
+		if (s3Presigner != null) {
+			s3Presigner.close();
+		}
+		if (s3Client != null) {
+			s3Client.close();
+		}
+	}
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 二进制读缓冲区，直接在存储字节上读取，不做额外拷贝
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+final class CodecInput {
+
+	private final byte[] buffer;
+
+	private int position;
+
+	private final List<String> stringTable = new ArrayList<>();
+
+	CodecInput(byte[] buffer, int offset) {
+		this.buffer = buffer;
+		this.position = offset;
+	}
+
+	int readByte() {
+		if (position >= buffer.length) {
+			throw new IllegalStateException("authorization payload truncated");
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	byte[] readBytes() {
+		int length = readVarInt();
+		if (position + length > buffer.length) {
+			throw new IllegalStateException("authorization payload truncated");
+		}
+		byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+		position += length;
+		return bytes;
+	}
+
+	boolean readBoolean() {
+		return readByte() != 0;
+	}
+
+	int readVarInt() {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IllegalStateException("malformed varint");
+	}
+
+	long readVarLong() {
+		long zigzag = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			zigzag |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+		}
+		throw new IllegalStateException("malformed varlong");
+	}
+
+	String readString() {
+		if (!readBoolean()) {
+			return null;
+		}
+		int header = readVarInt();
+		if ((header & 1) == 1) {
+			return stringTable.get(header >>> 1);
+		}
+		int length = header >>> 1;
+		if (position + length > buffer.length) {
+			throw new IllegalStateException("authorization payload truncated");
+		}
+		String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+		position += length;
+		stringTable.add(value);
+		return value;
+	}
+
+	Instant readInstant() {
+		if (!readBoolean()) {
+			return null;
+		}
+		long seconds = readVarLong();
+		int nanos = readVarInt();
+		return Instant.ofEpochSecond(seconds, nanos);
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 可复用的二进制写缓冲区，线程内复用避免每次编码重新分配
+ * <p>
+ * 字符串写入时维护回引用表，同一次编码中重复出现的字符串（用户名、权限、令牌值）只写一次
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+final class CodecOutput {
+
+	/**
+	 * 超过该大小的缓冲区不再线程内保留，避免个别大对象长期占用内存
+	 */
+	static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private byte[] buffer;
+
+	private int position;
+
+	private final Map<String, Integer> stringTable = new HashMap<>();
+
+	CodecOutput(int initialCapacity) {
+		this.buffer = new byte[initialCapacity];
+	}
+
+	/**
+	 * 重置缓冲区以便下一次编码复用
+	 */
+	void reset() {
+		this.position = 0;
+		this.stringTable.clear();
+	}
+
+	/**
+	 * 当前缓冲区是否适合继续在线程内保留
+	 * @return true 可保留
+	 */
+	boolean retainable() {
+		return buffer.length <= MAX_RETAINED_CAPACITY;
+	}
+
+	/**
+	 * 拷贝出已写入的字节
+	 * @return 编码结果
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(buffer, position);
+	}
+
+	void writeByte(int value) {
+		ensureCapacity(1);
+		buffer[position++] = (byte) value;
+	}
+
+	void writeBytes(byte[] bytes) {
+		writeVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * 写入无符号变长整数
+	 * @param value 非负整数
+	 */
+	void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+	}
+
+	/**
+	 * 写入 zigzag 编码的变长 long，负数同样紧凑
+	 * @param value 任意 long
+	 */
+	void writeVarLong(long value) {
+		long zigzag = (value << 1) ^ (value >> 63);
+		ensureCapacity(10);
+		while ((zigzag & ~0x7FL) != 0) {
+			buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+			zigzag >>>= 7;
+		}
+		buffer[position++] = (byte) zigzag;
+	}
+
+	/**
+	 * 写入字符串，格式为 (len << 1) + UTF-8 字节 或 (index << 1 | 1) 回引用
+	 * @param value 字符串，可为null
+	 */
+	void writeString(String value) {
+		if (value == null) {
+			writeBoolean(false);
+			return;
+		}
+		writeBoolean(true);
+		Integer index = stringTable.get(value);
+		if (index != null) {
+			writeVarInt((index << 1) | 1);
+			return;
+		}
+		stringTable.put(value, stringTable.size());
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length << 1);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	/**
+	 * 写入可空时间戳，秒 + 纳秒
+	 * @param instant 时间戳，可为null
+	 */
+	void writeInstant(Instant instant) {
+		if (instant == null) {
+			writeBoolean(false);
+			return;
+		}
+		writeBoolean(true);
+		writeVarLong(instant.getEpochSecond());
+		writeVarInt(instant.getNano());
+	}
+
+	private void ensureCapacity(int extra) {
+		if (position + extra > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + extra));
+		}
+	}
+
+}
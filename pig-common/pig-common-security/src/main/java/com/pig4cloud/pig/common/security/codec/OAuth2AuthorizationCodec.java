@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.codec;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+
+/**
+ * OAuth2Authorization 编解码器，负责授权信息在 Redis 中的存储格式
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public interface OAuth2AuthorizationCodec {
+
+	/**
+	 * 将授权信息编码为字节数组
+	 * @param authorization 授权信息，不能为null
+	 * @return 编码后的字节数组
+	 */
+	byte[] encode(OAuth2Authorization authorization);
+
+	/**
+	 * 将字节数组解码为授权信息，需兼容历史存储格式
+	 * @param bytes 存储的字节数组
+	 * @return 授权信息，bytes 为空时返回null
+	 */
+	@Nullable
+	OAuth2Authorization decode(@Nullable byte[] bytes);
+
+}
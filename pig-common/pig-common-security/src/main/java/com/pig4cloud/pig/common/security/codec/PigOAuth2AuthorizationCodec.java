@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.codec;
+
+import com.pig4cloud.pig.common.security.service.PigUser;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2DeviceCode;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2UserCode;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 默认的 OAuth2Authorization 编解码器
+ * <p>
+ * 二进制格式：'P' 'G' + 版本号 + 按固定顺序写入的授权字段，常见类型（字符串、数字、时间、集合、PigUser、
+ * UsernamePasswordAuthenticationToken）按标签紧凑编码，其他类型退回 JDK 序列化。读取时根据头部自动识别，
+ * 因此可以直接读取升级前 JDK 序列化写入的数据，升级无需让用户重新登录。
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class PigOAuth2AuthorizationCodec implements OAuth2AuthorizationCodec {
+
+	/**
+	 * 当前二进制格式版本
+	 */
+	static final int VERSION = 1;
+
+	private static final int MAGIC_0 = 'P';
+
+	private static final int MAGIC_1 = 'G';
+
+	private static final int TOKEN_ACCESS = 1;
+
+	private static final int TOKEN_REFRESH = 2;
+
+	private static final int TOKEN_CODE = 3;
+
+	private static final int TYPE_NULL = 0;
+
+	private static final int TYPE_STRING = 1;
+
+	private static final int TYPE_LONG = 2;
+
+	private static final int TYPE_INTEGER = 3;
+
+	private static final int TYPE_BOOLEAN = 4;
+
+	private static final int TYPE_INSTANT = 5;
+
+	private static final int TYPE_LIST = 6;
+
+	private static final int TYPE_SET = 7;
+
+	private static final int TYPE_MAP = 8;
+
+	private static final int TYPE_PIG_USER = 9;
+
+	private static final int TYPE_USERNAME_PASSWORD = 10;
+
+	private static final int TYPE_JAVA = 127;
+
+	/**
+	 * 线程内复用的写缓冲区
+	 */
+	private static final ThreadLocal<CodecOutput> OUTPUT = ThreadLocal.withInitial(() -> new CodecOutput(1024));
+
+	private final RedisSerializer<Object> jdkSerializer = RedisSerializer.java();
+
+	private final Format writeFormat;
+
+	public PigOAuth2AuthorizationCodec() {
+		this(Format.BINARY);
+	}
+
+	public PigOAuth2AuthorizationCodec(Format writeFormat) {
+		Assert.notNull(writeFormat, "writeFormat cannot be null");
+		this.writeFormat = writeFormat;
+	}
+
+	/**
+	 * 编码授权信息，不支持二进制编码的授权（OIDC、设备码等）自动使用 JDK 序列化
+	 * @param authorization 授权信息，不能为null
+	 * @return 编码后的字节数组
+	 */
+	@Override
+	public byte[] encode(OAuth2Authorization authorization) {
+		Assert.notNull(authorization, "authorization cannot be null");
+		if (Format.JDK.equals(writeFormat) || !supportsBinary(authorization)) {
+			return jdkSerializer.serialize(authorization);
+		}
+
+		CodecOutput out = OUTPUT.get();
+		out.reset();
+		try {
+			out.writeByte(MAGIC_0);
+			out.writeByte(MAGIC_1);
+			out.writeByte(VERSION);
+			writeAuthorization(out, authorization);
+			return out.toByteArray();
+		}
+		finally {
+			if (!out.retainable()) {
+				OUTPUT.remove();
+			}
+		}
+	}
+
+	/**
+	 * 解码授权信息，根据头部识别二进制格式或历史 JDK 序列化格式
+	 * @param bytes 存储的字节数组
+	 * @return 授权信息，bytes 为空时返回null
+	 */
+	@Override
+	@Nullable
+	public OAuth2Authorization decode(@Nullable byte[] bytes) {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+
+		if (!isBinary(bytes)) {
+			return (OAuth2Authorization) jdkSerializer.deserialize(bytes);
+		}
+
+		int version = bytes[2] & 0xFF;
+		if (version != VERSION) {
+			throw new IllegalStateException("unsupported authorization codec version: " + version);
+		}
+		return readAuthorization(new CodecInput(bytes, 3));
+	}
+
+	/**
+	 * 判断字节数组是否为二进制格式
+	 * @param bytes 存储的字节数组
+	 * @return true 二进制格式
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		return bytes.length >= 3 && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+	}
+
+	private boolean supportsBinary(OAuth2Authorization authorization) {
+		if (Objects.nonNull(authorization.getToken(OidcIdToken.class))
+				|| Objects.nonNull(authorization.getToken(OAuth2DeviceCode.class))
+				|| Objects.nonNull(authorization.getToken(OAuth2UserCode.class))) {
+			return false;
+		}
+		OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+		return accessToken == null
+				|| OAuth2AccessToken.TokenType.BEARER.equals(accessToken.getToken().getTokenType());
+	}
+
+	private void writeAuthorization(CodecOutput out, OAuth2Authorization authorization) {
+		out.writeString(authorization.getId());
+		out.writeString(authorization.getRegisteredClientId());
+		out.writeString(authorization.getPrincipalName());
+		out.writeString(authorization.getAuthorizationGrantType().getValue());
+		writeStrings(out, authorization.getAuthorizedScopes());
+
+		List<OAuth2Authorization.Token<?>> tokens = new ArrayList<>(3);
+		List<Integer> kinds = new ArrayList<>(3);
+		if (authorization.getAccessToken() != null) {
+			tokens.add(authorization.getAccessToken());
+			kinds.add(TOKEN_ACCESS);
+		}
+		if (authorization.getRefreshToken() != null) {
+			tokens.add(authorization.getRefreshToken());
+			kinds.add(TOKEN_REFRESH);
+		}
+		OAuth2Authorization.Token<OAuth2AuthorizationCode> code = authorization
+			.getToken(OAuth2AuthorizationCode.class);
+		if (code != null) {
+			tokens.add(code);
+			kinds.add(TOKEN_CODE);
+		}
+
+		out.writeVarInt(tokens.size());
+		for (int i = 0; i < tokens.size(); i++) {
+			OAuth2Authorization.Token<?> token = tokens.get(i);
+			OAuth2Token value = token.getToken();
+			out.writeByte(kinds.get(i));
+			out.writeString(value.getTokenValue());
+			out.writeInstant(value.getIssuedAt());
+			out.writeInstant(value.getExpiresAt());
+			if (value instanceof OAuth2AccessToken accessToken) {
+				writeStrings(out, accessToken.getScopes());
+			}
+			writeMap(out, token.getMetadata());
+		}
+
+		writeMap(out, authorization.getAttributes());
+	}
+
+	private OAuth2Authorization readAuthorization(CodecInput in) {
+		String id = in.readString();
+		String registeredClientId = in.readString();
+		String principalName = in.readString();
+		String grantType = in.readString();
+		Set<String> authorizedScopes = readStrings(in, new LinkedHashSet<>());
+
+		OAuth2Authorization.Builder builder = new AuthorizationBuilder(registeredClientId).id(id)
+			.principalName(principalName)
+			.authorizationGrantType(new AuthorizationGrantType(grantType))
+			.authorizedScopes(authorizedScopes);
+
+		int tokenCount = in.readVarInt();
+		for (int i = 0; i < tokenCount; i++) {
+			int kind = in.readByte();
+			String tokenValue = in.readString();
+			Instant issuedAt = in.readInstant();
+			Instant expiresAt = in.readInstant();
+			OAuth2Token token = switch (kind) {
+				case TOKEN_ACCESS -> new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, tokenValue, issuedAt,
+						expiresAt, readStrings(in, new LinkedHashSet<>()));
+				case TOKEN_REFRESH -> new OAuth2RefreshToken(tokenValue, issuedAt, expiresAt);
+				case TOKEN_CODE -> new OAuth2AuthorizationCode(tokenValue, issuedAt, expiresAt);
+				default -> throw new IllegalStateException("unknown token kind: " + kind);
+			};
+			Map<String, Object> metadata = readMap(in);
+			builder.token(token, md -> md.putAll(metadata));
+		}
+
+		Map<String, Object> attributes = readMap(in);
+		return builder.attributes(attrs -> attrs.putAll(attributes)).build();
+	}
+
+	private void writeValue(CodecOutput out, Object value) {
+		if (value == null) {
+			out.writeByte(TYPE_NULL);
+		}
+		else if (value instanceof String string) {
+			out.writeByte(TYPE_STRING);
+			out.writeString(string);
+		}
+		else if (value instanceof Long number) {
+			out.writeByte(TYPE_LONG);
+			out.writeVarLong(number);
+		}
+		else if (value instanceof Integer number) {
+			out.writeByte(TYPE_INTEGER);
+			out.writeVarLong(number);
+		}
+		else if (value instanceof Boolean bool) {
+			out.writeByte(TYPE_BOOLEAN);
+			out.writeBoolean(bool);
+		}
+		else if (value instanceof Instant instant) {
+			out.writeByte(TYPE_INSTANT);
+			out.writeInstant(instant);
+		}
+		else if (value instanceof List<?> list) {
+			out.writeByte(TYPE_LIST);
+			writeValues(out, list);
+		}
+		else if (value instanceof Set<?> set) {
+			out.writeByte(TYPE_SET);
+			writeValues(out, set);
+		}
+		else if (value instanceof Map<?, ?> map && hasStringKeys(map)) {
+			out.writeByte(TYPE_MAP);
+			writeMap(out, map);
+		}
+		else if (value.getClass() == PigUser.class && isSimple(((PigUser) value).getAuthorities())) {
+			out.writeByte(TYPE_PIG_USER);
+			writePigUser(out, (PigUser) value);
+		}
+		else if (value.getClass() == UsernamePasswordAuthenticationToken.class
+				&& isSimple(((UsernamePasswordAuthenticationToken) value).getAuthorities())) {
+			out.writeByte(TYPE_USERNAME_PASSWORD);
+			writeAuthentication(out, (UsernamePasswordAuthenticationToken) value);
+		}
+		else if (value instanceof Serializable) {
+			out.writeByte(TYPE_JAVA);
+			out.writeBytes(jdkSerializer.serialize(value));
+		}
+		else {
+			throw new IllegalArgumentException("value is not serializable: " + value.getClass().getName());
+		}
+	}
+
+	private Object readValue(CodecInput in) {
+		int type = in.readByte();
+		return switch (type) {
+			case TYPE_NULL -> null;
+			case TYPE_STRING -> in.readString();
+			case TYPE_LONG -> in.readVarLong();
+			case TYPE_INTEGER -> (int) in.readVarLong();
+			case TYPE_BOOLEAN -> in.readBoolean();
+			case TYPE_INSTANT -> in.readInstant();
+			case TYPE_LIST -> readValues(in, new ArrayList<>());
+			case TYPE_SET -> readValues(in, new LinkedHashSet<>());
+			case TYPE_MAP -> readMap(in);
+			case TYPE_PIG_USER -> readPigUser(in);
+			case TYPE_USERNAME_PASSWORD -> readAuthentication(in);
+			case TYPE_JAVA -> jdkSerializer.deserialize(in.readBytes());
+			default -> throw new IllegalStateException("unknown value type: " + type);
+		};
+	}
+
+	private void writePigUser(CodecOutput out, PigUser user) {
+		writeNullableLong(out, user.getId());
+		writeNullableLong(out, user.getDeptId());
+		out.writeString(user.getUsername());
+		out.writeString(user.getPassword());
+		out.writeString(user.getPhone());
+		out.writeBoolean(user.isEnabled());
+		out.writeBoolean(user.isAccountNonExpired());
+		out.writeBoolean(user.isCredentialsNonExpired());
+		out.writeBoolean(user.isAccountNonLocked());
+		writeAuthorities(out, user.getAuthorities());
+		writeMap(out, user.getAttributes());
+	}
+
+	private PigUser readPigUser(CodecInput in) {
+		Long id = readNullableLong(in);
+		Long deptId = readNullableLong(in);
+		String username = in.readString();
+		String password = in.readString();
+		String phone = in.readString();
+		boolean enabled = in.readBoolean();
+		boolean accountNonExpired = in.readBoolean();
+		boolean credentialsNonExpired = in.readBoolean();
+		boolean accountNonLocked = in.readBoolean();
+		List<GrantedAuthority> authorities = readAuthorities(in);
+		Map<String, Object> attributes = readMap(in);
+
+		// User 构造要求密码非空，认证完成后密码已被擦除，这里还原擦除状态
+		PigUser user = new PigUser(id, deptId, username, Objects.requireNonNullElse(password, ""), phone, enabled,
+				accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+		if (password == null) {
+			user.eraseCredentials();
+		}
+		user.getAttributes().putAll(attributes);
+		return user;
+	}
+
+	private void writeAuthentication(CodecOutput out, UsernamePasswordAuthenticationToken authentication) {
+		out.writeBoolean(authentication.isAuthenticated());
+		writeValue(out, authentication.getPrincipal());
+		writeValue(out, authentication.getCredentials());
+		writeAuthorities(out, authentication.getAuthorities());
+		writeValue(out, authentication.getDetails());
+	}
+
+	private UsernamePasswordAuthenticationToken readAuthentication(CodecInput in) {
+		boolean authenticated = in.readBoolean();
+		Object principal = readValue(in);
+		Object credentials = readValue(in);
+		List<GrantedAuthority> authorities = readAuthorities(in);
+		Object details = readValue(in);
+
+		UsernamePasswordAuthenticationToken authentication = authenticated
+				? UsernamePasswordAuthenticationToken.authenticated(principal, credentials, authorities)
+				: UsernamePasswordAuthenticationToken.unauthenticated(principal, credentials);
+		authentication.setDetails(details);
+		return authentication;
+	}
+
+	private void writeAuthorities(CodecOutput out, Collection<? extends GrantedAuthority> authorities) {
+		out.writeVarInt(authorities.size());
+		for (GrantedAuthority authority : authorities) {
+			out.writeString(authority.getAuthority());
+		}
+	}
+
+	private List<GrantedAuthority> readAuthorities(CodecInput in) {
+		int size = in.readVarInt();
+		List<GrantedAuthority> authorities = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			authorities.add(new SimpleGrantedAuthority(in.readString()));
+		}
+		return authorities;
+	}
+
+	private void writeMap(CodecOutput out, Map<?, ?> map) {
+		out.writeVarInt(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			out.writeString(String.valueOf(entry.getKey()));
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private Map<String, Object> readMap(CodecInput in) {
+		int size = in.readVarInt();
+		Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 4 / 3 + 1));
+		for (int i = 0; i < size; i++) {
+			String key = in.readString();
+			map.put(key, readValue(in));
+		}
+		return map;
+	}
+
+	private void writeValues(CodecOutput out, Collection<?> values) {
+		out.writeVarInt(values.size());
+		for (Object value : values) {
+			writeValue(out, value);
+		}
+	}
+
+	private <C extends Collection<Object>> C readValues(CodecInput in, C target) {
+		int size = in.readVarInt();
+		for (int i = 0; i < size; i++) {
+			target.add(readValue(in));
+		}
+		return target;
+	}
+
+	private void writeStrings(CodecOutput out, Collection<String> values) {
+		out.writeVarInt(values.size());
+		for (String value : values) {
+			out.writeString(value);
+		}
+	}
+
+	private <C extends Collection<String>> C readStrings(CodecInput in, C target) {
+		int size = in.readVarInt();
+		for (int i = 0; i < size; i++) {
+			target.add(in.readString());
+		}
+		return target;
+	}
+
+	private void writeNullableLong(CodecOutput out, Long value) {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeVarLong(value);
+		}
+	}
+
+	private Long readNullableLong(CodecInput in) {
+		return in.readBoolean() ? in.readVarLong() : null;
+	}
+
+	private static boolean hasStringKeys(Map<?, ?> map) {
+		for (Object key : map.keySet()) {
+			if (!(key instanceof String)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSimple(Collection<? extends GrantedAuthority> authorities) {
+		for (GrantedAuthority authority : authorities) {
+			if (authority.getClass() != SimpleGrantedAuthority.class) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 写入格式
+	 */
+	public enum Format {
+
+		/**
+		 * 紧凑二进制格式
+		 */
+		BINARY,
+
+		/**
+		 * JDK 序列化格式，用于灰度期间兼容尚未升级的服务
+		 */
+		JDK
+
+	}
+
+	/**
+	 * 开放受保护的构造方法，无需查询 RegisteredClient 即可还原授权信息
+	 */
+	private static final class AuthorizationBuilder extends OAuth2Authorization.Builder {
+
+		private AuthorizationBuilder(String registeredClientId) {
+			super(registeredClientId);
+		}
+
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.codec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OAuth2Authorization 编解码器配置
+ * <p>
+ * security.oauth2.authorization.codec=binary|jdk，默认 binary。灰度期间可先配置为 jdk，全部服务升级后再切换
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Configuration(proxyBeanMethods = false)
+public class PigOAuth2AuthorizationCodecConfiguration {
+
+	/**
+	 * 创建授权信息编解码器
+	 * @param format 写入格式
+	 * @return OAuth2AuthorizationCodec
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public OAuth2AuthorizationCodec oAuth2AuthorizationCodec(
+			@Value("${security.oauth2.authorization.codec:binary}") String format) {
+		return new PigOAuth2AuthorizationCodec(PigOAuth2AuthorizationCodec.Format.valueOf(format.toUpperCase()));
+	}
+
+}
@@ -1,12 +1,12 @@
 package com.pig4cloud.pig.common.security.component;
 
-import cn.hutool.extra.spring.SpringUtil;
 import com.pig4cloud.pig.common.core.constant.SecurityConstants;
 import com.pig4cloud.pig.common.security.service.PigUser;
 import com.pig4cloud.pig.common.security.service.PigUserDetailsService;
+import com.pig4cloud.pig.common.security.service.UserDetailsServiceResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,8 +21,6 @@ import org.springframework.security.oauth2.server.resource.InvalidBearerTokenExc
 import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
 
 import java.security.Principal;
-import java.util.Comparator;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -41,6 +39,17 @@ public class PigCustomOpaqueTokenIntrospector implements OpaqueTokenIntrospector
 	 */
 	private final OAuth2AuthorizationService authorizationService;
 
+	/**
+	 * 内省本地缓存，未开启时为null
+	 */
+	@Nullable
+	private final PigIntrospectionCache introspectionCache;
+
+	/**
+	 * 用户详情服务解析器
+	 */
+	private final UserDetailsServiceResolver userDetailsServiceResolver;
+
 	/**
 	 * 根据token内省获取认证主体信息
 	 * @param token 访问令牌
@@ -50,11 +59,35 @@ public class PigCustomOpaqueTokenIntrospector implements OpaqueTokenIntrospector
 	 */
 	@Override
 	public OAuth2AuthenticatedPrincipal introspect(String token) {
+		if (introspectionCache != null) {
+			OAuth2AuthenticatedPrincipal cached = introspectionCache.get(token);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		// 查询前取得失效代数，查询期间令牌或用户失效时不回填缓存
+		long generation = introspectionCache != null ? introspectionCache.generation() : 0;
 		OAuth2Authorization oldAuthorization = authorizationService.findByToken(token, OAuth2TokenType.ACCESS_TOKEN);
 		if (Objects.isNull(oldAuthorization)) {
 			throw new InvalidBearerTokenException(token);
 		}
 
+		OAuth2AuthenticatedPrincipal principal = buildPrincipal(oldAuthorization);
+		if (introspectionCache != null) {
+			introspectionCache.put(token, principal, oldAuthorization.getAccessToken().getToken().getExpiresAt(),
+					generation);
+		}
+		return principal;
+	}
+
+	/**
+	 * 根据授权信息构建认证主体
+	 * @param oldAuthorization 授权信息
+	 * @return OAuth2认证主体信息
+	 * @throws UsernameNotFoundException 当用户不存在时抛出
+	 */
+	private OAuth2AuthenticatedPrincipal buildPrincipal(OAuth2Authorization oldAuthorization) {
 		// 客户端模式默认返回
 		if (AuthorizationGrantType.CLIENT_CREDENTIALS.equals(oldAuthorization.getAuthorizationGrantType())) {
 			return new DefaultOAuth2AuthenticatedPrincipal(oldAuthorization.getPrincipalName(),
@@ -62,14 +95,8 @@ public class PigCustomOpaqueTokenIntrospector implements OpaqueTokenIntrospector
 					AuthorityUtils.NO_AUTHORITIES);
 		}
 
-		Map<String, PigUserDetailsService> userDetailsServiceMap = SpringUtil
-			.getBeansOfType(PigUserDetailsService.class);
-
-		Optional<PigUserDetailsService> optional = userDetailsServiceMap.values()
-			.stream()
-			.filter(service -> service.support(Objects.requireNonNull(oldAuthorization).getRegisteredClientId(),
-					oldAuthorization.getAuthorizationGrantType().getValue()))
-			.max(Comparator.comparingInt(Ordered::getOrder));
+		Optional<PigUserDetailsService> optional = userDetailsServiceResolver.resolve(
+				oldAuthorization.getRegisteredClientId(), oldAuthorization.getAuthorizationGrantType().getValue());
 
 		UserDetails userDetails = null;
 		try {
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.component;
+
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.pig4cloud.pig.common.core.util.SpringContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 资源服务器令牌内省本地缓存
+ * <p>
+ * 以令牌 SHA-256 摘要为key缓存已构建的认证主体，热点令牌的鉴权从一次 Redis 往返降为一次本地查找。 令牌删除、用户锁定时通过 Redis
+ * 发布订阅通知所有节点失效。 每次失效记录递增的代数，回填时携带查询前取得的代数，早于该令牌或用户最近一次失效的回填被丢弃，
+ * 避免查询与失效并发时写回旧的认证主体
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class PigIntrospectionCache implements MessageListener {
+
+	/**
+	 * 失效通知频道
+	 */
+	public static final String CHANNEL = "token::introspection::evict";
+
+	private static final String TOKEN_PREFIX = "token:";
+
+	private static final String USER_PREFIX = "user:";
+
+	private final Cache<String, CachedPrincipal> cache;
+
+	/**
+	 * 失效代数，每次失效时递增
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * 令牌摘要最近一次失效时的代数，保留一个缓存有效期，足以覆盖进行中的查询
+	 */
+	private final Cache<String, Long> tokenEvictions;
+
+	/**
+	 * 用户名最近一次失效时的代数
+	 */
+	private final Cache<String, Long> userEvictions;
+
+	public PigIntrospectionCache(PigIntrospectionCacheProperties properties,
+			RedisMessageListenerContainer listenerContainer, @Nullable MeterRegistry meterRegistry) {
+		long ttlNanos = properties.getTtl().toNanos();
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(properties.getMaximumSize())
+			.expireAfter(new Expiry<String, CachedPrincipal>() {
+				@Override
+				public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+					if (value.expiresAt() == null) {
+						return ttlNanos;
+					}
+					long remaining = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+					return Math.max(0, Math.min(ttlNanos, remaining));
+				}
+
+				@Override
+				public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime,
+						long currentDuration) {
+					return expireAfterCreate(key, value, currentTime);
+				}
+
+				@Override
+				public long expireAfterRead(String key, CachedPrincipal value, long currentTime,
+						long currentDuration) {
+					return currentDuration;
+				}
+			})
+			.recordStats()
+			.build();
+
+		this.tokenEvictions = Caffeine.newBuilder().expireAfterWrite(properties.getTtl()).build();
+		this.userEvictions = Caffeine.newBuilder().expireAfterWrite(properties.getTtl()).build();
+
+		if (meterRegistry != null) {
+			CaffeineCacheMetrics.monitor(meterRegistry, cache, "token_introspection");
+		}
+
+		listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+	}
+
+	/**
+	 * 获取已缓存的认证主体
+	 * @param token 访问令牌
+	 * @return 认证主体，未命中返回null
+	 */
+	@Nullable
+	public OAuth2AuthenticatedPrincipal get(String token) {
+		CachedPrincipal cached = cache.getIfPresent(hash(token));
+		return cached == null ? null : cached.principal();
+	}
+
+	/**
+	 * 当前失效代数，查询授权信息前获取，回填时传入
+	 * @return 失效代数
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * 缓存认证主体，自 expected 取得以来该令牌或用户已失效时放弃
+	 * @param token 访问令牌
+	 * @param principal 认证主体
+	 * @param expiresAt 令牌过期时间
+	 * @param expected 查询授权信息前取得的失效代数
+	 */
+	public void put(String token, OAuth2AuthenticatedPrincipal principal, @Nullable Instant expiresAt,
+			long expected) {
+		String key = hash(token);
+		String username = principal.getName();
+		if (isEvictedSince(key, username, expected)) {
+			return;
+		}
+		CachedPrincipal value = new CachedPrincipal(principal, expiresAt);
+		cache.put(key, value);
+		// 写入与失效并发时以失效为准，只移除本次写入的条目
+		if (isEvictedSince(key, username, expected)) {
+			cache.asMap().remove(key, value);
+		}
+	}
+
+	/**
+	 * 接收失效通知，清除本节点缓存
+	 * @param message 消息
+	 * @param pattern 频道
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = RedisSerializer.string().deserialize(message.getBody());
+		// 先记录失效代数再清除，进行中的回填在写入后复查时可以发现
+		if (StrUtil.startWith(body, TOKEN_PREFIX)) {
+			String key = StrUtil.removePrefix(body, TOKEN_PREFIX);
+			tokenEvictions.put(key, generation.incrementAndGet());
+			cache.invalidate(key);
+		}
+		else if (StrUtil.startWith(body, USER_PREFIX)) {
+			String username = StrUtil.removePrefix(body, USER_PREFIX);
+			userEvictions.put(username, generation.incrementAndGet());
+			cache.asMap().values().removeIf(cached -> Objects.equals(username, cached.principal().getName()));
+		}
+	}
+
+	/**
+	 * 通知所有节点失效指定令牌
+	 * @param token 访问令牌
+	 */
+	public static void publishTokenEvict(String token) {
+		publish(TOKEN_PREFIX + hash(token));
+	}
+
+	/**
+	 * 通知所有节点失效指定用户的全部令牌
+	 * @param username 用户名
+	 */
+	public static void publishUserEvict(String username) {
+		publish(USER_PREFIX + username);
+	}
+
+	private static void publish(String message) {
+		try {
+			SpringContextHolder.getBean(StringRedisTemplate.class).convertAndSend(CHANNEL, message);
+		}
+		catch (Exception e) {
+			// 通知失败不影响主流程，本地缓存最迟在 ttl 后过期
+			log.warn("发布令牌内省缓存失效通知失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	private boolean isEvictedSince(String key, @Nullable String username, long expected) {
+		Long tokenEvicted = tokenEvictions.getIfPresent(key);
+		if (tokenEvicted != null && tokenEvicted > expected) {
+			return true;
+		}
+		Long userEvicted = username == null ? null : userEvictions.getIfPresent(username);
+		return userEvicted != null && userEvicted > expected;
+	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 缓存条目
+	 *
+	 * @param principal 认证主体
+	 * @param expiresAt 令牌过期时间
+	 */
+	private record CachedPrincipal(OAuth2AuthenticatedPrincipal principal, Instant expiresAt) {
+
+	}
+
+}
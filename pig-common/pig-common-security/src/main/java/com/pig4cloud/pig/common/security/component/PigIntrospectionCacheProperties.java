@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 资源服务器令牌内省本地缓存配置
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Getter
+@Setter
+@ConfigurationProperties(PigIntrospectionCacheProperties.PREFIX)
+public class PigIntrospectionCacheProperties {
+
+	public static final String PREFIX = "security.oauth2.introspection-cache";
+
+	/**
+	 * 是否开启本地内省缓存
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * 最大缓存令牌数
+	 */
+	private long maximumSize = 10000;
+
+	/**
+	 * 缓存有效期，实际有效期不超过令牌剩余有效期
+	 */
+	private Duration ttl = Duration.ofSeconds(60);
+
+}
@@ -16,14 +16,20 @@
 
 package com.pig4cloud.pig.common.security.component;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pig4cloud.pig.common.security.service.UserDetailsServiceResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,7 +40,7 @@ import lombok.RequiredArgsConstructor;
  * @date 2025/05/31
  */
 @RequiredArgsConstructor
-@EnableConfigurationProperties(PermitAllUrlProperties.class)
+@EnableConfigurationProperties({ PermitAllUrlProperties.class, PigIntrospectionCacheProperties.class })
 public class PigResourceServerAutoConfiguration {
 
 	/**
@@ -68,14 +74,33 @@ public class PigResourceServerAutoConfiguration {
 		return new ResourceAuthExceptionEntryPoint(objectMapper, securityMessageSource);
 	}
 
+	/**
+	 * 令牌内省本地缓存
+	 * @param properties 缓存配置
+	 * @param listenerContainer 共享的 Redis 消息监听容器，用于订阅失效通知
+	 * @param meterRegistry 指标注册中心
+	 * @return PigIntrospectionCache
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = PigIntrospectionCacheProperties.PREFIX, name = "enabled", matchIfMissing = true)
+	public PigIntrospectionCache pigIntrospectionCache(PigIntrospectionCacheProperties properties,
+			RedisMessageListenerContainer listenerContainer, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new PigIntrospectionCache(properties, listenerContainer, meterRegistry.getIfAvailable());
+	}
+
 	/**
 	 * 资源服务器toke内省处理器
 	 * @param authorizationService token 存储实现
+	 * @param introspectionCache 内省本地缓存，未开启时为空
+	 * @param userDetailsServiceResolver 用户详情服务解析器
 	 * @return TokenIntrospector
 	 */
 	@Bean
-	public OpaqueTokenIntrospector opaqueTokenIntrospector(OAuth2AuthorizationService authorizationService) {
-		return new PigCustomOpaqueTokenIntrospector(authorizationService);
+	public OpaqueTokenIntrospector opaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
+			ObjectProvider<PigIntrospectionCache> introspectionCache,
+			UserDetailsServiceResolver userDetailsServiceResolver) {
+		return new PigCustomOpaqueTokenIntrospector(authorizationService, introspectionCache.getIfAvailable(),
+				userDetailsServiceResolver);
 	}
 
 	/**
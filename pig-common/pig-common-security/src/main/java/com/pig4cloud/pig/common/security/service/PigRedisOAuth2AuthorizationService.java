@@ -1,7 +1,16 @@
 package com.pig4cloud.pig.common.security.service;
 
 import com.pig4cloud.pig.common.core.util.RedisUtils;
+import com.pig4cloud.pig.common.security.codec.OAuth2AuthorizationCodec;
+import com.pig4cloud.pig.common.security.component.PigIntrospectionCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.Nullable;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2RefreshToken;
@@ -11,15 +20,34 @@ import org.springframework.security.oauth2.server.authorization.OAuth2Authorizat
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 基于Redis实现的OAuth2授权服务类
+ * <p>
+ * 授权信息按ID只存一份（{@code token::authorization::id}），state、code、refresh_token、access_token
+ * 等键只保存指向授权ID的引用并各自过期。 一次保存或删除的全部命令通过管道一次发送；历史版本直接存放授权信息的令牌键仍可读取。
+ * <p>
+ * 历史版本无法解析引用，security.oauth2.authorization.token-reference 默认为 false，令牌键仍写入完整的授权信息；
+ * 全部服务升级后再开启，令牌键改为只写引用
+ * <p>
+ * 访问令牌有效的授权另外登记在全局、按客户端、按用户、按用户与客户端四个有序集合中，score 为访问令牌过期时间，写入和查询时清理已过期成员，
+ * 令牌列表只需一次范围查询。 按用户下线使用单独的会话索引，score 为授权的过期时间（访问令牌与刷新令牌中较晚者），
+ * 访问令牌已过期而刷新令牌仍有效的授权同样会被移除。 按用户、按客户端的索引以用户名、客户端ID为 hash tag，分散在 Redis Cluster 各槽位
  *
  * @author lengleng
  * @date 2025/05/31
@@ -31,6 +59,56 @@ public class PigRedisOAuth2AuthorizationService implements OAuth2AuthorizationSe
 
 	private static final String AUTHORIZATION = "token";
 
+	/**
+	 * 授权信息存储类型
+	 */
+	private static final String AUTHORIZATION_ID = "authorization";
+
+	/**
+	 * 令牌键中引用值的前缀，与授权信息编码格式区分
+	 */
+	private static final byte[] REFERENCE_PREFIX = "ref:".getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * 授权索引key前缀
+	 */
+	private static final String INDEX = AUTHORIZATION + "::index";
+
+	/**
+	 * 全部授权索引
+	 */
+	private static final String INDEX_ALL = INDEX + "::all";
+
+	private static final String CLIENT_INDEX = "client";
+
+	private static final String PRINCIPAL_INDEX = "principal";
+
+	/**
+	 * 用户会话索引后缀，score 为授权的过期时间
+	 */
+	private static final String SESSION_INDEX = "session";
+
+	/**
+	 * 登记单个索引并清理过期成员，ARGV[4] 为索引key的过期时间，大于0时只延长不缩短，小于0时永不过期，为0时不设置
+	 */
+	private static final byte[] INDEX_SCRIPT = ("local pttl = redis.call('pttl', KEYS[1]) "
+			+ "redis.call('zadd', KEYS[1], ARGV[2], ARGV[1]) redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[3]) "
+			+ "local ttl = tonumber(ARGV[4]) if ttl < 0 then redis.call('persist', KEYS[1]) "
+			+ "elseif ttl > 0 and (pttl == -2 or (pttl >= 0 and pttl < ttl)) then redis.call('pexpire', KEYS[1], ttl) end "
+			+ "return 1")
+		.getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * 授权信息编解码器
+	 */
+	private final OAuth2AuthorizationCodec authorizationCodec;
+
+	/**
+	 * 令牌键是否只写入授权ID的引用，滚动升级期间保持关闭，旧版本节点仍可读取令牌键
+	 */
+	@Value("${security.oauth2.authorization.token-reference:false}")
+	private boolean tokenReference;
+
 	/**
 	 * 保存OAuth2授权信息到Redis
 	 * @param authorization 授权信息对象，不能为null
@@ -40,34 +118,20 @@ public class PigRedisOAuth2AuthorizationService implements OAuth2AuthorizationSe
 	public void save(OAuth2Authorization authorization) {
 		Assert.notNull(authorization, "authorization cannot be null");
 
-		if (isState(authorization)) {
-			String token = authorization.getAttribute("state");
-			RedisUtils.set(buildKey(OAuth2ParameterNames.STATE, token), authorization, TIMEOUT, TimeUnit.MINUTES);
-		}
+		Map<String, Duration> tokenKeys = buildTokenKeys(authorization);
+		// 授权信息按最长的令牌有效期保存
+		Duration timeout = tokenKeys.values().stream().max(Duration::compareTo).orElse(Duration.ofMinutes(TIMEOUT));
 
-		if (isCode(authorization)) {
-			OAuth2Authorization.Token<OAuth2AuthorizationCode> authorizationCode = authorization
-				.getToken(OAuth2AuthorizationCode.class);
-			OAuth2AuthorizationCode authorizationCodeToken = authorizationCode.getToken();
-			long between = ChronoUnit.MINUTES.between(authorizationCodeToken.getIssuedAt(),
-					authorizationCodeToken.getExpiresAt());
-			RedisUtils.set(buildKey(OAuth2ParameterNames.CODE, authorizationCodeToken.getTokenValue()), authorization,
-					between, TimeUnit.MINUTES);
-		}
-
-		if (isRefreshToken(authorization)) {
-			OAuth2RefreshToken refreshToken = authorization.getRefreshToken().getToken();
-			long between = ChronoUnit.SECONDS.between(refreshToken.getIssuedAt(), refreshToken.getExpiresAt());
-			RedisUtils.set(buildKey(OAuth2ParameterNames.REFRESH_TOKEN, refreshToken.getTokenValue()), authorization,
-					between, TimeUnit.SECONDS);
-		}
+		byte[] authorizationKey = serialize(buildKey(AUTHORIZATION_ID, authorization.getId()));
+		byte[] value = authorizationCodec.encode(authorization);
+		byte[] tokenValue = tokenReference ? reference(authorization.getId()) : value;
 
-		if (isAccessToken(authorization)) {
-			OAuth2AccessToken accessToken = authorization.getAccessToken().getToken();
-			long between = ChronoUnit.SECONDS.between(accessToken.getIssuedAt(), accessToken.getExpiresAt());
-			RedisUtils.set(buildKey(OAuth2ParameterNames.ACCESS_TOKEN, accessToken.getTokenValue()), authorization,
-					between, TimeUnit.SECONDS);
-		}
+		RedisUtils.executePipelined((RedisCallback<Object>) connection -> {
+			set(connection, authorizationKey, value, timeout);
+			tokenKeys.forEach((key, ttl) -> set(connection, serialize(key), tokenValue, ttl));
+			index(connection, authorization);
+			return null;
+		});
 	}
 
 	/**
@@ -79,41 +143,96 @@ public class PigRedisOAuth2AuthorizationService implements OAuth2AuthorizationSe
 	public void remove(OAuth2Authorization authorization) {
 		Assert.notNull(authorization, "authorization cannot be null");
 
-		List<String> keys = new ArrayList<>();
-		if (isState(authorization)) {
-			String token = authorization.getAttribute("state");
-			keys.add(buildKey(OAuth2ParameterNames.STATE, token));
-		}
+		RedisUtils.executePipelined((RedisCallback<Object>) connection -> {
+			delete(connection, authorization);
+			return null;
+		});
+		publishEvict(authorization);
+	}
 
-		if (isCode(authorization)) {
-			OAuth2Authorization.Token<OAuth2AuthorizationCode> authorizationCode = authorization
-				.getToken(OAuth2AuthorizationCode.class);
-			OAuth2AuthorizationCode authorizationCodeToken = authorizationCode.getToken();
-			keys.add(buildKey(OAuth2ParameterNames.CODE, authorizationCodeToken.getTokenValue()));
-		}
+	/**
+	 * 分页查询访问令牌未过期的授权信息，按访问令牌过期时间倒序，清理、计数、取当前页一次管道完成
+	 * @param clientId 客户端ID，可为空
+	 * @param principalName 用户名，可为空，同时指定客户端时查询该用户在该客户端下的索引
+	 * @param current 当前页，从1开始
+	 * @param size 每页条数
+	 * @return 授权分页
+	 */
+	public AuthorizationPage findPage(@Nullable String clientId, @Nullable String principalName, long current,
+			long size) {
+		boolean byPrincipal = StringUtils.hasText(principalName);
+		boolean byClient = StringUtils.hasText(clientId);
+		String index = byPrincipal && byClient ? buildPrincipalClientIndexKey(principalName, clientId)
+				: byPrincipal ? buildIndexKey(PRINCIPAL_INDEX, principalName)
+						: byClient ? buildIndexKey(CLIENT_INDEX, clientId) : INDEX_ALL;
+		byte[] indexKey = serialize(index);
+		long start = Math.max(current - 1, 0) * size;
+		long now = System.currentTimeMillis();
 
-		if (isRefreshToken(authorization)) {
-			OAuth2RefreshToken refreshToken = authorization.getRefreshToken().getToken();
-			keys.add(buildKey(OAuth2ParameterNames.REFRESH_TOKEN, refreshToken.getTokenValue()));
-		}
+		List<Object> results = RedisUtils.executePipelined((RedisCallback<Object>) connection -> {
+			connection.zSetCommands().zRemRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+			connection.zSetCommands().zCard(indexKey);
+			connection.zSetCommands().zRevRange(indexKey, start, start + size - 1);
+			return null;
+		});
+		long total = results.get(1) == null ? 0 : (Long) results.get(1);
+		@SuppressWarnings("unchecked")
+		Collection<byte[]> ids = results.get(2) == null ? Collections.emptyList()
+				: (Collection<byte[]>) results.get(2);
+		return new AuthorizationPage(total, findByIds(ids));
+	}
 
-		if (isAccessToken(authorization)) {
-			OAuth2AccessToken accessToken = authorization.getAccessToken().getToken();
-			keys.add(buildKey(OAuth2ParameterNames.ACCESS_TOKEN, accessToken.getTokenValue()));
+	/**
+	 * 移除用户的全部授权信息，按会话索引查询，耗时只与该用户的授权数量有关
+	 * @param principalName 用户名
+	 * @return 已移除的授权信息
+	 */
+	public List<OAuth2Authorization> removeByPrincipal(String principalName) {
+		Assert.hasText(principalName, "principalName cannot be empty");
+		byte[] indexKey = serialize(buildSessionIndexKey(principalName));
+		// 历史版本按用户的索引未使用 hash tag，仍需读取
+		byte[] legacyIndexKey = serialize(String.format("%s::%s::%s", INDEX, PRINCIPAL_INDEX, principalName));
+		List<Object> results = RedisUtils.executePipelined((RedisCallback<Object>) connection -> {
+			connection.zSetCommands().zRange(indexKey, 0, -1);
+			connection.zSetCommands().zRange(legacyIndexKey, 0, -1);
+			return null;
+		});
+		// 集合元素为字节数组，按内容去重
+		Map<String, byte[]> ids = new LinkedHashMap<>();
+		results.stream()
+			.filter(Objects::nonNull)
+			.map(result -> (Collection<?>) result)
+			.flatMap(Collection::stream)
+			.map(byte[].class::cast)
+			.forEach(id -> ids.putIfAbsent(new String(id, StandardCharsets.UTF_8), id));
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
 		}
-		RedisUtils.delete(keys.toArray(String[]::new));
+
+		List<OAuth2Authorization> authorizations = findByIds(ids.values());
+		RedisUtils.executePipelined((RedisCallback<Object>) connection -> {
+			authorizations.forEach(authorization -> delete(connection, authorization));
+			connection.keyCommands().del(indexKey);
+			connection.keyCommands().del(legacyIndexKey);
+			connection.keyCommands().del(serialize(buildIndexKey(PRINCIPAL_INDEX, principalName)));
+			return null;
+		});
+		authorizations.forEach(this::publishEvict);
+		return authorizations;
 	}
 
 	/**
 	 * 根据ID查询OAuth2授权信息
 	 * @param id 授权ID
 	 * @return 授权信息，可能为null
-	 * @throws UnsupportedOperationException 当前不支持此操作
 	 */
 	@Override
 	@Nullable
 	public OAuth2Authorization findById(String id) {
-		throw new UnsupportedOperationException();
+		Assert.hasText(id, "id cannot be empty");
+		byte[] rawKey = serialize(buildKey(AUTHORIZATION_ID, id));
+		byte[] value = RedisUtils.execute(connection -> connection.stringCommands().get(rawKey));
+		return authorizationCodec.decode(value);
 	}
 
 	/**
@@ -128,7 +247,291 @@ public class PigRedisOAuth2AuthorizationService implements OAuth2AuthorizationSe
 	public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
 		Assert.hasText(token, "token cannot be empty");
 		Assert.notNull(tokenType, "tokenType cannot be empty");
-		return RedisUtils.get(buildKey(tokenType.getValue(), token));
+		List<OAuth2Authorization> result = findByKeys(List.of(buildKey(tokenType.getValue(), token)));
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	/**
+	 * 根据完整的存储key批量查询授权信息，令牌键与授权信息各一次 MGET
+	 * @param keys 存储key列表
+	 * @return 授权信息列表，已过期或令牌已被替换的key对应位置为null
+	 */
+	public List<OAuth2Authorization> findByKeys(List<String> keys) {
+		if (keys.isEmpty()) {
+			return Collections.emptyList();
+		}
+		byte[][] rawKeys = keys.stream().map(this::serialize).toArray(byte[][]::new);
+		List<byte[]> values = RedisUtils.execute(connection -> connection.stringCommands().mGet(rawKeys));
+		if (values == null) {
+			return Collections.emptyList();
+		}
+
+		// 引用值再按授权ID批量读取，历史版本的令牌键直接保存授权信息
+		List<byte[]> authorizationKeys = new ArrayList<>();
+		for (byte[] value : values) {
+			String id = dereference(value);
+			if (id != null) {
+				authorizationKeys.add(serialize(buildKey(AUTHORIZATION_ID, id)));
+			}
+		}
+		List<byte[]> authorizations = authorizationKeys.isEmpty() ? Collections.emptyList()
+				: RedisUtils.execute(
+						connection -> connection.stringCommands().mGet(authorizationKeys.toArray(byte[][]::new)));
+
+		List<OAuth2Authorization> result = new ArrayList<>(values.size());
+		int index = 0;
+		for (int i = 0; i < values.size(); i++) {
+			byte[] value = values.get(i);
+			if (dereference(value) != null) {
+				value = authorizations == null ? null : authorizations.get(index++);
+			}
+			OAuth2Authorization authorization = authorizationCodec.decode(value);
+			result.add(authorization != null && matches(authorization, keys.get(i)) ? authorization : null);
+		}
+		return result;
+	}
+
+	/**
+	 * 按授权ID批量读取授权信息
+	 * @param ids 授权ID
+	 * @return 授权信息列表，已过期的ID不包含在内
+	 */
+	private List<OAuth2Authorization> findByIds(Collection<byte[]> ids) {
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		byte[][] rawKeys = ids.stream()
+			.map(id -> serialize(buildKey(AUTHORIZATION_ID, new String(id, StandardCharsets.UTF_8))))
+			.toArray(byte[][]::new);
+		List<byte[]> values = RedisUtils.execute(connection -> connection.stringCommands().mGet(rawKeys));
+		if (values == null) {
+			return Collections.emptyList();
+		}
+		return values.stream().map(authorizationCodec::decode).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * 登记授权索引，仅含访问令牌的授权登记；访问令牌有效时登记到列表索引，并按授权过期时间登记到用户会话索引
+	 * @param connection Redis连接
+	 * @param authorization 授权信息
+	 */
+	private void index(RedisConnection connection, OAuth2Authorization authorization) {
+		if (!isAccessToken(authorization)) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		String id = authorization.getId();
+		String clientId = authorization.getRegisteredClientId();
+		String principalName = authorization.getPrincipalName();
+
+		// 访问令牌未设置过期时间时永不过期
+		Instant accessExpiresAt = authorization.getAccessToken().getToken().getExpiresAt();
+		if (accessExpiresAt == null || accessExpiresAt.toEpochMilli() > now) {
+			String score = score(accessExpiresAt);
+			long ttl = ttl(accessExpiresAt, now);
+			indexKey(connection, INDEX_ALL, id, score, now, 0);
+			indexKey(connection, buildIndexKey(CLIENT_INDEX, clientId), id, score, now, ttl);
+			indexKey(connection, buildIndexKey(PRINCIPAL_INDEX, principalName), id, score, now, ttl);
+			indexKey(connection, buildPrincipalClientIndexKey(principalName, clientId), id, score, now, ttl);
+		}
+
+		// 按用户下线需要找到访问令牌已过期但刷新令牌仍有效的授权，会话索引随两者中较晚者过期
+		Instant expiresAt = accessExpiresAt;
+		if (expiresAt != null && isRefreshToken(authorization)) {
+			Instant refreshExpiresAt = authorization.getRefreshToken().getToken().getExpiresAt();
+			expiresAt = refreshExpiresAt == null || refreshExpiresAt.isAfter(expiresAt) ? refreshExpiresAt
+					: expiresAt;
+		}
+		indexKey(connection, buildSessionIndexKey(principalName), id, score(expiresAt), now, ttl(expiresAt, now));
+	}
+
+	/**
+	 * 登记单个索引
+	 * @param connection Redis连接
+	 * @param key 索引key
+	 * @param id 授权ID
+	 * @param score 过期时间戳
+	 * @param now 当前时间戳，早于该时间的成员被清理
+	 * @param ttl 索引key的过期时间（毫秒），小于0时永不过期，为0时不设置
+	 */
+	private void indexKey(RedisConnection connection, String key, String id, String score, long now, long ttl) {
+		connection.scriptingCommands()
+			.eval(INDEX_SCRIPT, ReturnType.INTEGER, 1, serialize(key), serialize(id), serialize(score),
+					serialize(String.valueOf(now)), serialize(String.valueOf(ttl)));
+	}
+
+	private static String score(@Nullable Instant expiresAt) {
+		return expiresAt == null ? "+inf" : String.valueOf(expiresAt.toEpochMilli());
+	}
+
+	private static long ttl(@Nullable Instant expiresAt, long now) {
+		return expiresAt == null ? -1 : Math.max(expiresAt.toEpochMilli() - now, 1);
+	}
+
+	/**
+	 * 删除授权信息、令牌键及索引
+	 * @param connection Redis连接
+	 * @param authorization 授权信息
+	 */
+	private void delete(RedisConnection connection, OAuth2Authorization authorization) {
+		List<byte[]> keys = new ArrayList<>();
+		keys.add(serialize(buildKey(AUTHORIZATION_ID, authorization.getId())));
+		buildTokenKeys(authorization).keySet().forEach(key -> keys.add(serialize(key)));
+		connection.keyCommands().del(keys.toArray(byte[][]::new));
+
+		byte[] id = serialize(authorization.getId());
+		String clientId = authorization.getRegisteredClientId();
+		String principalName = authorization.getPrincipalName();
+		connection.zSetCommands().zRem(serialize(INDEX_ALL), id);
+		connection.zSetCommands().zRem(serialize(buildIndexKey(CLIENT_INDEX, clientId)), id);
+		connection.zSetCommands().zRem(serialize(buildIndexKey(PRINCIPAL_INDEX, principalName)), id);
+		connection.zSetCommands().zRem(serialize(buildPrincipalClientIndexKey(principalName, clientId)), id);
+		connection.zSetCommands().zRem(serialize(buildSessionIndexKey(principalName)), id);
+	}
+
+	/**
+	 * 通知资源服务器清除本地内省缓存
+	 * @param authorization 授权信息
+	 */
+	private void publishEvict(OAuth2Authorization authorization) {
+		if (isAccessToken(authorization)) {
+			PigIntrospectionCache.publishTokenEvict(authorization.getAccessToken().getToken().getTokenValue());
+		}
+	}
+
+	/**
+	 * 构建授权信息关联的令牌键及其有效期
+	 * @param authorization 授权信息
+	 * @return 令牌键到有效期的映射
+	 */
+	private Map<String, Duration> buildTokenKeys(OAuth2Authorization authorization) {
+		Map<String, Duration> keys = new LinkedHashMap<>();
+		if (isState(authorization)) {
+			String token = authorization.getAttribute("state");
+			keys.put(buildKey(OAuth2ParameterNames.STATE, token), Duration.ofMinutes(TIMEOUT));
+		}
+
+		if (isCode(authorization)) {
+			OAuth2Authorization.Token<OAuth2AuthorizationCode> authorizationCode = authorization
+				.getToken(OAuth2AuthorizationCode.class);
+			OAuth2AuthorizationCode authorizationCodeToken = authorizationCode.getToken();
+			keys.put(buildKey(OAuth2ParameterNames.CODE, authorizationCodeToken.getTokenValue()),
+					tokenTtl(authorizationCodeToken.getIssuedAt(), authorizationCodeToken.getExpiresAt()));
+		}
+
+		if (isRefreshToken(authorization)) {
+			OAuth2RefreshToken refreshToken = authorization.getRefreshToken().getToken();
+			keys.put(buildKey(OAuth2ParameterNames.REFRESH_TOKEN, refreshToken.getTokenValue()),
+					tokenTtl(refreshToken.getIssuedAt(), refreshToken.getExpiresAt()));
+		}
+
+		if (isAccessToken(authorization)) {
+			OAuth2AccessToken accessToken = authorization.getAccessToken().getToken();
+			keys.put(buildKey(OAuth2ParameterNames.ACCESS_TOKEN, accessToken.getTokenValue()),
+					tokenTtl(accessToken.getIssuedAt(), accessToken.getExpiresAt()));
+		}
+		return keys;
+	}
+
+	/**
+	 * 计算令牌键的有效期，至少1秒，避免0秒的有效期变为永不过期
+	 * @param issuedAt 签发时间
+	 * @param expiresAt 过期时间
+	 * @return 有效期
+	 */
+	private static Duration tokenTtl(Instant issuedAt, Instant expiresAt) {
+		return Duration.ofSeconds(Math.max(ChronoUnit.SECONDS.between(issuedAt, expiresAt), 1));
+	}
+
+	/**
+	 * 写入值
+	 * @param connection Redis连接
+	 * @param key 存储key
+	 * @param value 值
+	 * @param timeout 过期时间
+	 */
+	private static void set(RedisConnection connection, byte[] key, byte[] value, Duration timeout) {
+		Expiration expiration = Expiration.from(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.upsert());
+	}
+
+	private static byte[] reference(String id) {
+		byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+		byte[] reference = Arrays.copyOf(REFERENCE_PREFIX, REFERENCE_PREFIX.length + idBytes.length);
+		System.arraycopy(idBytes, 0, reference, REFERENCE_PREFIX.length, idBytes.length);
+		return reference;
+	}
+
+	/**
+	 * 解析令牌键中的引用
+	 * @param value 令牌键的值
+	 * @return 授权ID，不是引用时返回null
+	 */
+	@Nullable
+	private static String dereference(@Nullable byte[] value) {
+		if (value == null || value.length <= REFERENCE_PREFIX.length
+				|| !Arrays.equals(value, 0, REFERENCE_PREFIX.length, REFERENCE_PREFIX, 0, REFERENCE_PREFIX.length)) {
+			return null;
+		}
+		return new String(value, REFERENCE_PREFIX.length, value.length - REFERENCE_PREFIX.length,
+				StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 校验授权信息中当前的令牌与查询的令牌一致，令牌刷新后旧令牌的引用不再有效
+	 * @param authorization 授权信息
+	 * @param key 令牌键
+	 * @return 是否一致
+	 */
+	private boolean matches(OAuth2Authorization authorization, String key) {
+		String[] parts = key.split("::", 3);
+		if (parts.length < 3) {
+			return true;
+		}
+		String token = parts[2];
+		return switch (parts[1]) {
+			case OAuth2ParameterNames.STATE -> token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE));
+			case OAuth2ParameterNames.CODE -> isCode(authorization)
+					&& token.equals(authorization.getToken(OAuth2AuthorizationCode.class).getToken().getTokenValue());
+			case OAuth2ParameterNames.REFRESH_TOKEN -> isRefreshToken(authorization)
+					&& token.equals(authorization.getRefreshToken().getToken().getTokenValue());
+			case OAuth2ParameterNames.ACCESS_TOKEN -> isAccessToken(authorization)
+					&& token.equals(authorization.getAccessToken().getToken().getTokenValue());
+			default -> true;
+		};
+	}
+
+	private byte[] serialize(String key) {
+		return RedisSerializer.string().serialize(key);
+	}
+
+	/**
+	 * 构建索引key，以客户端ID或用户名为 hash tag
+	 * @param type 索引类型
+	 * @param id 客户端ID或用户名
+	 * @return 索引key
+	 */
+	private static String buildIndexKey(String type, String id) {
+		return String.format("%s::%s::{%s}", INDEX, type, id);
+	}
+
+	/**
+	 * 构建用户在指定客户端下的索引key，与用户索引位于同一槽位
+	 * @param principalName 用户名
+	 * @param clientId 客户端ID
+	 * @return 索引key
+	 */
+	private static String buildPrincipalClientIndexKey(String principalName, String clientId) {
+		return String.format("%s::%s::%s", buildIndexKey(PRINCIPAL_INDEX, principalName), CLIENT_INDEX, clientId);
+	}
+
+	/**
+	 * 构建用户会话索引key，与用户索引位于同一槽位
+	 * @param principalName 用户名
+	 * @return 索引key
+	 */
+	private static String buildSessionIndexKey(String principalName) {
+		return String.format("%s::%s", buildIndexKey(PRINCIPAL_INDEX, principalName), SESSION_INDEX);
 	}
 
 	/**
@@ -179,4 +582,14 @@ public class PigRedisOAuth2AuthorizationService implements OAuth2AuthorizationSe
 		return Objects.nonNull(authorization.getAccessToken());
 	}
 
+	/**
+	 * 授权分页结果
+	 *
+	 * @param total 总数
+	 * @param records 当前页授权信息
+	 */
+	public record AuthorizationPage(long total, List<OAuth2Authorization> records) {
+
+	}
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 pig4cloud Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pig4cloud.pig.common.security.service;
+
+import cn.hutool.core.util.StrUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PigUserDetailsService 解析器
+ * <p>
+ * 启动时按 order 排序好全部实现，按 (clientId, grantType) 缓存解析结果，请求期间无需再扫描容器中的 bean。 容器刷新时重建分发表
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public class UserDetailsServiceResolver implements SmartInitializingSingleton, ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * 分发表上限，clientId 来自请求参数，超出后不再缓存避免无限增长
+	 */
+	private static final int MAX_DISPATCH_SIZE = 1024;
+
+	private static final String METRIC_NAME = "pig.user.details.resolve";
+
+	private final ObjectProvider<PigUserDetailsService> userDetailsServices;
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	private volatile List<PigUserDetailsService> candidates = List.of();
+
+	private final Map<String, Optional<Resolved>> dispatchTable = new ConcurrentHashMap<>();
+
+	public UserDetailsServiceResolver(ObjectProvider<PigUserDetailsService> userDetailsServices,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.userDetailsServices = userDetailsServices;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * 解析支持当前客户端和授权模式的用户详情服务，order 最大者优先
+	 * @param clientId 客户端ID
+	 * @param grantType 授权模式
+	 * @return 用户详情服务
+	 */
+	public Optional<PigUserDetailsService> resolve(String clientId, String grantType) {
+		String key = clientId + StrUtil.COLON + grantType;
+		Optional<Resolved> resolved = dispatchTable.get(key);
+		if (resolved == null) {
+			resolved = lookup(clientId, grantType);
+			if (dispatchTable.size() < MAX_DISPATCH_SIZE) {
+				dispatchTable.put(key, resolved);
+			}
+		}
+		resolved.map(Resolved::counter).ifPresent(Counter::increment);
+		return resolved.map(Resolved::service);
+	}
+
+	/**
+	 * 重新加载用户详情服务并清空分发表
+	 */
+	public void refresh() {
+		this.candidates = userDetailsServices.orderedStream()
+			.sorted(Comparator.comparingInt(Ordered::getOrder).reversed())
+			.toList();
+		dispatchTable.clear();
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		refresh();
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		refresh();
+	}
+
+	private Optional<Resolved> lookup(String clientId, String grantType) {
+		return candidates.stream()
+			.filter(service -> service.support(clientId, grantType))
+			.findFirst()
+			.map(service -> new Resolved(service, counter(service, grantType)));
+	}
+
+	@Nullable
+	private Counter counter(PigUserDetailsService service, String grantType) {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry == null) {
+			return null;
+		}
+		return Counter.builder(METRIC_NAME)
+			.description("PigUserDetailsService 解析次数")
+			.tag("service", AopUtils.getTargetClass(service).getSimpleName())
+			.tag("grant_type", StrUtil.nullToDefault(grantType, "none"))
+			.register(registry);
+	}
+
+	/**
+	 * 解析结果
+	 *
+	 * @param service 用户详情服务
+	 * @param counter 解析计数器，未引入监控时为null
+	 */
+	private record Resolved(PigUserDetailsService service, @Nullable Counter counter) {
+
+	}
+
+}
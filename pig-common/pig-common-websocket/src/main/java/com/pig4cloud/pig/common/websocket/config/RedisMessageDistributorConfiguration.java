@@ -3,20 +3,25 @@ package com.pig4cloud.pig.common.websocket.config;
 import com.pig4cloud.pig.common.websocket.distribute.MessageDistributor;
 import com.pig4cloud.pig.common.websocket.distribute.RedisMessageDistributor;
 import com.pig4cloud.pig.common.websocket.distribute.RedisWebsocketMessageListener;
+import com.pig4cloud.pig.common.websocket.distribute.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.List;
+
 /**
  * 基于 Redis Pub/Sub 的消息分发器配置
  * <p>
@@ -30,17 +35,34 @@ import jakarta.annotation.PostConstruct;
 @ConditionalOnProperty(prefix = WebSocketProperties.PREFIX, name = "message-distributor",
 		havingValue = MessageDistributorTypeConstants.REDIS, matchIfMissing = true)
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(WebSocketProperties.class)
 public class RedisMessageDistributorConfiguration {
 
+	/**
+	 * 创建 WebSocket 会话注册表，记录会话所在节点。
+	 * @param stringRedisTemplate Spring Data Redis 提供的 Redis 操作模板。
+	 * @param webSocketProperties WebSocket 配置属性。
+	 * @return 返回一个 {@link WebSocketSessionRegistry} 实例。
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public WebSocketSessionRegistry webSocketSessionRegistry(StringRedisTemplate stringRedisTemplate,
+			WebSocketProperties webSocketProperties) {
+		return new WebSocketSessionRegistry(stringRedisTemplate, webSocketProperties.getRegistryHeartbeat());
+	}
+
 	/**
 	 * 创建一个基于 Redis 的消息分发器。
 	 * @param stringRedisTemplate Spring Data Redis 提供的 Redis 操作模板。
+	 * @param sessionRegistry WebSocket 会话注册表。
+	 * @param webSocketProperties WebSocket 配置属性。
 	 * @return 返回一个 {@link RedisMessageDistributor} 实例。
 	 */
 	@Bean
 	@ConditionalOnMissingBean(MessageDistributor.class)
-	public RedisMessageDistributor messageDistributor(StringRedisTemplate stringRedisTemplate) {
-		return new RedisMessageDistributor(stringRedisTemplate);
+	public RedisMessageDistributor messageDistributor(StringRedisTemplate stringRedisTemplate,
+			WebSocketSessionRegistry sessionRegistry, WebSocketProperties webSocketProperties) {
+		return new RedisMessageDistributor(stringRedisTemplate, sessionRegistry, webSocketProperties);
 	}
 
 	/**
@@ -84,13 +106,16 @@ public class RedisMessageDistributorConfiguration {
 
 		private final RedisWebsocketMessageListener redisWebsocketMessageListener;
 
+		private final WebSocketSessionRegistry sessionRegistry;
+
 		/**
-		 * 将 WebSocket 消息监听器添加到 Redis 监听容器中，监听指定频道的消息。
+		 * 将 WebSocket 消息监听器添加到 Redis 监听容器中，监听共享频道和当前节点专属频道的消息。
 		 */
 		@PostConstruct
 		public void addMessageListener() {
 			redisMessageListenerContainer.addMessageListener(redisWebsocketMessageListener,
-					new PatternTopic(RedisWebsocketMessageListener.CHANNEL));
+					List.of(new PatternTopic(RedisWebsocketMessageListener.CHANNEL),
+							new ChannelTopic(WebSocketSessionRegistry.nodeChannel(sessionRegistry.getNodeId()))));
 		}
 
 	}
@@ -2,8 +2,10 @@ package com.pig4cloud.pig.common.websocket.config;
 
 import com.pig4cloud.pig.common.websocket.handler.JsonMessageHandler;
 import com.pig4cloud.pig.common.websocket.holder.JsonMessageHandlerHolder;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -46,6 +48,17 @@ public class WebSocketAutoConfiguration {
 			.addInterceptors(handshakeInterceptor.toArray(new HandshakeInterceptor[0]));
 	}
 
+	/**
+	 * 创建 WebSocket 广播器，替换逐个会话串行发送的默认实现。
+	 * @param meterRegistryProvider 指标注册中心，不存在时不记录指标。
+	 * @return 返回一个 {@link WebSocketBroadcaster} 实例。
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public WebSocketBroadcaster webSocketBroadcaster(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		return new WebSocketBroadcaster(webSocketProperties, meterRegistryProvider.getIfAvailable());
+	}
+
 	/**
 	 * 初始化 JSON 消息处理器持有者。
 	 * <p>
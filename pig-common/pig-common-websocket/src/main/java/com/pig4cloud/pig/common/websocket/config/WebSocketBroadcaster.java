@@ -0,0 +1,171 @@
+package com.pig4cloud.pig.common.websocket.config;
+
+import com.pig4cloud.pig.common.websocket.holder.WebSocketSessionHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 广播器
+ * <p>
+ * 消息只编码一次，所有会话共享同一个 {@link TextMessage}；在线会话按分片交给固定数量的发送线程并行投递，
+ * 单个慢客户端只会阻塞所在分片。发送缓冲积压已超过上限的会话视为慢消费者，直接断开，不再拖累后续广播。
+ * </p>
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class WebSocketBroadcaster implements InitializingBean, DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	private final int shardSize;
+
+	private final int bufferSizeLimit;
+
+	@Nullable
+	private final Timer fanoutTimer;
+
+	@Nullable
+	private final Counter droppedCounter;
+
+	@Nullable
+	private final Counter evictedCounter;
+
+	public WebSocketBroadcaster(WebSocketProperties webSocketProperties, @Nullable MeterRegistry meterRegistry) {
+		int workers = Math.max(1, webSocketProperties.getBroadcastWorkers());
+		AtomicInteger index = new AtomicInteger();
+		// 队列满时由调用线程投递，广播过于密集时自然限流
+		this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(workers * 64), runnable -> {
+					Thread thread = new Thread(runnable, "pig-websocket-broadcast-" + index.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.shardSize = Math.max(1, webSocketProperties.getBroadcastShardSize());
+		this.bufferSizeLimit = webSocketProperties.getSendBufferSizeLimit();
+
+		if (meterRegistry != null) {
+			this.fanoutTimer = Timer.builder("pig.websocket.broadcast.fanout")
+				.description("WebSocket 广播全部分片投递完成耗时")
+				.register(meterRegistry);
+			this.droppedCounter = Counter.builder("pig.websocket.broadcast.dropped")
+				.description("WebSocket 广播投递失败次数")
+				.register(meterRegistry);
+			this.evictedCounter = Counter.builder("pig.websocket.broadcast.evicted")
+				.description("WebSocket 广播断开的慢消费者会话数")
+				.register(meterRegistry);
+		}
+		else {
+			this.fanoutTimer = null;
+			this.droppedCounter = null;
+			this.evictedCounter = null;
+		}
+	}
+
+	/**
+	 * 向所有在线会话广播消息，方法不等待投递完成。
+	 * @param message 要发送的消息文本。
+	 */
+	public void broadcast(String message) {
+		List<WebSocketSession> sessions = new ArrayList<>(WebSocketSessionHolder.getSessions());
+		if (sessions.isEmpty()) {
+			return;
+		}
+
+		// 以字节构造，发送时直接复用编码结果；以字符串构造时每个会话发送都会重新编码
+		TextMessage textMessage = new TextMessage(message.getBytes(StandardCharsets.UTF_8));
+		int shardLength = Math.max(shardSize, (sessions.size() + executor.getMaximumPoolSize() - 1)
+				/ executor.getMaximumPoolSize());
+		int shards = (sessions.size() + shardLength - 1) / shardLength;
+		AtomicInteger remaining = new AtomicInteger(shards);
+		long start = System.nanoTime();
+
+		for (int from = 0; from < sessions.size(); from += shardLength) {
+			List<WebSocketSession> shard = sessions.subList(from, Math.min(from + shardLength, sessions.size()));
+			executor.execute(() -> {
+				for (WebSocketSession session : shard) {
+					deliver(session, textMessage);
+				}
+				if (remaining.decrementAndGet() == 0 && fanoutTimer != null) {
+					fanoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			});
+		}
+	}
+
+	private void deliver(WebSocketSession session, TextMessage message) {
+		if (!session.isOpen()) {
+			count(droppedCounter);
+			return;
+		}
+
+		// 未发送数据已超过缓冲上限，说明客户端消费跟不上，提前断开而不是继续堆积；
+		// 只看积压量，单条消息本身大于上限时空闲会话仍可正常接收
+		if (session instanceof ConcurrentWebSocketSessionDecorator decorator
+				&& decorator.getBufferSize() > bufferSizeLimit) {
+			evict(session);
+			return;
+		}
+
+		try {
+			session.sendMessage(message);
+		}
+		catch (SessionLimitExceededException e) {
+			// 装饰器已按超限策略关闭会话
+			log.warn("[broadcast] session({}) 发送超限被断开 {}", session.getId(), e.getLocalizedMessage());
+			count(evictedCounter);
+		}
+		catch (Exception e) {
+			log.error("[broadcast] session({}) 发送消息异常", session.getId(), e);
+			count(droppedCounter);
+		}
+	}
+
+	private void evict(WebSocketSession session) {
+		log.warn("[broadcast] session({}) 消费过慢，断开连接", session.getId());
+		count(evictedCounter);
+		try {
+			session.close(CloseStatus.SESSION_NOT_RELIABLE);
+		}
+		catch (Exception e) {
+			log.debug("[broadcast] session({}) 关闭失败 {}", session.getId(), e.getLocalizedMessage());
+		}
+	}
+
+	private void count(@Nullable Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		WebSocketMessageSender.setBroadcaster(this);
+	}
+
+	@Override
+	public void destroy() {
+		WebSocketMessageSender.setBroadcaster(null);
+		executor.shutdown();
+	}
+
+}
@@ -2,6 +2,7 @@ package com.pig4cloud.pig.common.websocket.config;
 
 import com.pig4cloud.pig.common.websocket.custom.PigxSessionKeyGenerator;
 import com.pig4cloud.pig.common.websocket.custom.UserAttributeHandshakeInterceptor;
+import com.pig4cloud.pig.common.websocket.distribute.WebSocketSessionRegistry;
 import com.pig4cloud.pig.common.websocket.handler.CustomPlanTextMessageHandler;
 import com.pig4cloud.pig.common.websocket.handler.CustomWebSocketHandler;
 import com.pig4cloud.pig.common.websocket.handler.PingJsonMessageHandler;
@@ -9,6 +10,7 @@ import com.pig4cloud.pig.common.websocket.handler.PlanTextMessageHandler;
 import com.pig4cloud.pig.common.websocket.holder.MapSessionWebSocketHandlerDecorator;
 import com.pig4cloud.pig.common.websocket.holder.SessionKeyGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -34,6 +36,8 @@ public class WebSocketHandlerConfig {
 
 	private final WebSocketProperties webSocketProperties;
 
+	private final ObjectProvider<WebSocketSessionRegistry> sessionRegistryProvider;
+
 	/**
 	 * 创建会话密钥生成器，用于生成 WebSocket 会话的唯一标识。
 	 * @return 返回一个 {@link SessionKeyGenerator} 实例。
@@ -74,7 +78,7 @@ public class WebSocketHandlerConfig {
 		CustomWebSocketHandler customWebSocketHandler = new CustomWebSocketHandler();
 		if (webSocketProperties.isMapSession()) {
 			return new MapSessionWebSocketHandlerDecorator(customWebSocketHandler, sessionKeyGenerator,
-					webSocketProperties);
+					webSocketProperties, sessionRegistryProvider.getIfAvailable());
 		}
 		return customWebSocketHandler;
 	}
@@ -93,7 +97,7 @@ public class WebSocketHandlerConfig {
 		CustomWebSocketHandler customWebSocketHandler = new CustomWebSocketHandler(planTextMessageHandler);
 		if (webSocketProperties.isMapSession()) {
 			return new MapSessionWebSocketHandlerDecorator(customWebSocketHandler, sessionKeyGenerator,
-					webSocketProperties);
+					webSocketProperties, sessionRegistryProvider.getIfAvailable());
 		}
 		return customWebSocketHandler;
 	}
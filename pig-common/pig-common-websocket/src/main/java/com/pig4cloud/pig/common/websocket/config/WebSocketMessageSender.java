@@ -4,6 +4,7 @@ import cn.hutool.json.JSONUtil;
 import com.pig4cloud.pig.common.websocket.holder.WebSocketSessionHolder;
 import com.pig4cloud.pig.common.websocket.message.JsonWebSocketMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -22,14 +23,32 @@ import java.util.Collection;
 @Slf4j
 public class WebSocketMessageSender {
 
+	@Nullable
+	private static volatile WebSocketBroadcaster broadcaster;
+
+	/**
+	 * 设置广播器，未设置时在当前线程逐个发送。
+	 * @param broadcaster 广播器。
+	 */
+	static void setBroadcaster(@Nullable WebSocketBroadcaster broadcaster) {
+		WebSocketMessageSender.broadcaster = broadcaster;
+	}
+
 	/**
 	 * 向所有在线的 WebSocket 会话广播消息。
 	 * @param message 要发送的消息文本。
 	 */
 	public static void broadcast(String message) {
+		WebSocketBroadcaster current = broadcaster;
+		if (current != null) {
+			current.broadcast(message);
+			return;
+		}
+
+		TextMessage textMessage = new TextMessage(message);
 		Collection<WebSocketSession> sessions = WebSocketSessionHolder.getSessions();
 		for (WebSocketSession session : sessions) {
-			send(session, message);
+			send(session, textMessage);
 		}
 	}
 
@@ -66,6 +85,16 @@ public class WebSocketMessageSender {
 	 * @return 如果发送成功，返回 {@code true}；否则返回 {@code false}。
 	 */
 	public static boolean send(WebSocketSession session, String message) {
+		return send(session, new TextMessage(message));
+	}
+
+	/**
+	 * 向指定会话发送已编码的文本消息，同一消息可复用于多个会话。
+	 * @param session WebSocket 会话。
+	 * @param message 要发送的文本消息。
+	 * @return 如果发送成功，返回 {@code true}；否则返回 {@code false}。
+	 */
+	public static boolean send(WebSocketSession session, TextMessage message) {
 		if (session == null) {
 			log.error("[send] session 为 null");
 			return false;
@@ -75,10 +104,10 @@ public class WebSocketMessageSender {
 			return false;
 		}
 		try {
-			session.sendMessage(new TextMessage(message));
+			session.sendMessage(message);
 		}
 		catch (IOException e) {
-			log.error("[send] session({}) 发送消息({}) 异常", session, message, e);
+			log.error("[send] session({}) 发送消息({}) 异常", session, message.getPayload(), e);
 			return false;
 		}
 		return true;
@@ -3,6 +3,8 @@ package com.pig4cloud.pig.common.websocket.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * WebSocket 属性配置类
  * <p>
@@ -69,4 +71,57 @@ public class WebSocketProperties {
 	 */
 	private Integer sendBufferSizeLimit = 64000;
 
+	/**
+	 * 广播发送线程数，默认为 CPU 核数。
+	 */
+	private int broadcastWorkers = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * 广播时每个分片的最少会话数，默认为 256，在线会话较少时不必拆分到多个线程。
+	 */
+	private int broadcastShardSize = 256;
+
+	/**
+	 * Redis 分发消息编码方式，默认为 JSON，旧版本节点可以解析。
+	 * <p>
+	 * 接收方自动识别两种格式，全部节点升级到可识别二进制信封的版本后再配置为 {@code binary}，启用消息体去重与批量发布。
+	 * </p>
+	 */
+	private RedisCodec redisCodec = RedisCodec.JSON;
+
+	/**
+	 * 二进制编码时同一频道消息的聚合等待时间，默认为 2 毫秒，为 0 时逐条发布。
+	 */
+	private Duration redisBatchLinger = Duration.ofMillis(2);
+
+	/**
+	 * 二进制编码时单次发布的最大消息条数，默认为 128。
+	 */
+	private int redisBatchSize = 128;
+
+	/**
+	 * 会话注册表心跳周期，默认为 30 秒。
+	 * <p>
+	 * 仅在使用 Redis 分发器时生效，节点超过三个周期未上报心跳即视为下线，其会话映射失效。
+	 * </p>
+	 */
+	private Duration registryHeartbeat = Duration.ofSeconds(30);
+
+	/**
+	 * Redis 分发消息编码方式
+	 */
+	public enum RedisCodec {
+
+		/**
+		 * 二进制信封，支持消息体去重与批量发布
+		 */
+		BINARY,
+
+		/**
+		 * JSON，兼容旧版本
+		 */
+		JSON
+
+	}
+
 }
@@ -0,0 +1,247 @@
+package com.pig4cloud.pig.common.websocket.distribute;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MessageDO} 二进制编解码
+ * <p>
+ * 一个信封承载多条消息，布局为：魔数、版本、消息体表、消息表。 消息体表中每项带 64 位内容哈希，
+ * 相同内容只写一次，消息通过下标引用；会话标识为规范十进制整数时按变长整数写入，其余按 UTF-8 字符串写入。 首字节不可能是
+ * JSON 的 {@code '{'}，接收方据此兼容旧的 JSON 消息。
+ * </p>
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public final class MessageDOCodec {
+
+	private static final byte MAGIC = (byte) 0xB7;
+
+	private static final byte VERSION = 1;
+
+	private static final int FLAG_BROADCAST = 1;
+
+	private static final int KEY_NUMBER = 0;
+
+	private static final int KEY_STRING = 1;
+
+	private MessageDOCodec() {
+	}
+
+	/**
+	 * 判断是否为二进制信封。
+	 * @param bytes 消息字节。
+	 * @return 是否为二进制信封。
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		return bytes.length > 1 && bytes[0] == MAGIC;
+	}
+
+	/**
+	 * 将多条消息编码为一个信封。
+	 * @param messages 消息列表。
+	 * @return 信封字节。
+	 */
+	public static byte[] encode(List<MessageDO> messages) {
+		List<byte[]> bodies = new ArrayList<>();
+		List<Long> hashes = new ArrayList<>();
+		Map<Long, List<Integer>> bodyIndex = new HashMap<>();
+		int[] refs = new int[messages.size()];
+
+		for (int i = 0; i < messages.size(); i++) {
+			String text = messages.get(i).getMessageText();
+			refs[i] = text == null ? 0 : bodyRef(text.getBytes(StandardCharsets.UTF_8), bodies, hashes, bodyIndex);
+		}
+
+		Output out = new Output(64 + bodies.stream().mapToInt(body -> body.length + 12).sum());
+		out.write(MAGIC);
+		out.write(VERSION);
+		out.writeVarLong(bodies.size());
+		for (int i = 0; i < bodies.size(); i++) {
+			out.writeLong(hashes.get(i));
+			out.writeLengthPrefixed(bodies.get(i));
+		}
+
+		out.writeVarLong(messages.size());
+		for (int i = 0; i < messages.size(); i++) {
+			MessageDO messageDO = messages.get(i);
+			out.write(Boolean.TRUE.equals(messageDO.getNeedBroadcast()) ? FLAG_BROADCAST : 0);
+			out.writeVarLong(refs[i]);
+
+			List<Object> sessionKeys = messageDO.getSessionKeys();
+			out.writeVarLong(sessionKeys == null ? 0 : sessionKeys.size() + 1L);
+			if (sessionKeys != null) {
+				for (Object sessionKey : sessionKeys) {
+					writeKey(out, String.valueOf(sessionKey));
+				}
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 解码信封。
+	 * @param bytes 信封字节。
+	 * @return 消息列表。
+	 */
+	public static List<MessageDO> decode(byte[] bytes) {
+		Input in = new Input(bytes);
+		if (in.read() != MAGIC || in.read() != VERSION) {
+			throw new IllegalArgumentException("不支持的 WebSocket 消息信封格式");
+		}
+
+		String[] bodies = new String[(int) in.readVarLong()];
+		for (int i = 0; i < bodies.length; i++) {
+			in.readLong();
+			bodies[i] = in.readString();
+		}
+
+		int count = (int) in.readVarLong();
+		List<MessageDO> messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MessageDO messageDO = new MessageDO();
+			messageDO.setNeedBroadcast((in.read() & FLAG_BROADCAST) != 0);
+			int ref = (int) in.readVarLong();
+			messageDO.setMessageText(ref == 0 ? null : bodies[ref - 1]);
+
+			long keyCount = in.readVarLong();
+			if (keyCount > 0) {
+				List<Object> sessionKeys = new ArrayList<>((int) keyCount - 1);
+				for (long k = 1; k < keyCount; k++) {
+					sessionKeys.add(in.read() == KEY_NUMBER ? String.valueOf(in.readVarLong()) : in.readString());
+				}
+				messageDO.setSessionKeys(sessionKeys);
+			}
+			messages.add(messageDO);
+		}
+		return messages;
+	}
+
+	private static int bodyRef(byte[] body, List<byte[]> bodies, List<Long> hashes,
+			Map<Long, List<Integer>> bodyIndex) {
+		long hash = MurmurHash.hash64(body);
+		List<Integer> candidates = bodyIndex.computeIfAbsent(hash, k -> new ArrayList<>(1));
+		for (int candidate : candidates) {
+			if (Arrays.equals(bodies.get(candidate), body)) {
+				return candidate + 1;
+			}
+		}
+		bodies.add(body);
+		hashes.add(hash);
+		candidates.add(bodies.size() - 1);
+		return bodies.size();
+	}
+
+	private static void writeKey(Output out, String key) {
+		if (isCanonicalLong(key)) {
+			out.write(KEY_NUMBER);
+			out.writeVarLong(Long.parseLong(key));
+		}
+		else {
+			out.write(KEY_STRING);
+			out.writeLengthPrefixed(key.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * 仅非负、无前导零且不溢出的十进制数按整数写入，保证解码后字符串完全一致。
+	 */
+	private static boolean isCanonicalLong(String key) {
+		int length = key.length();
+		if (length == 0 || length > 18 || (key.charAt(0) == '0' && length > 1)) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = key.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Output extends ByteArrayOutputStream {
+
+		Output(int size) {
+			super(size);
+		}
+
+		void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		void writeLong(long value) {
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				write((int) (value >>> shift));
+			}
+		}
+
+		void writeLengthPrefixed(byte[] bytes) {
+			writeVarLong(bytes.length);
+			write(bytes, 0, bytes.length);
+		}
+
+	}
+
+	private static final class Input {
+
+		private final byte[] bytes;
+
+		private int position;
+
+		Input(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		byte read() {
+			if (position >= bytes.length) {
+				throw new IllegalArgumentException("WebSocket 消息信封不完整");
+			}
+			return bytes[position++];
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = read();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("WebSocket 消息信封变长整数格式错误");
+		}
+
+		long readLong() {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | (read() & 0xFF);
+			}
+			return value;
+		}
+
+		String readString() {
+			int length = (int) readVarLong();
+			if (length < 0 || position + length > bytes.length) {
+				throw new IllegalArgumentException("WebSocket 消息信封不完整");
+			}
+			String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+
+	}
+
+}
@@ -1,42 +1,158 @@
 package com.pig4cloud.pig.common.websocket.distribute;
 
+import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.json.JSONUtil;
-import lombok.RequiredArgsConstructor;
+import com.pig4cloud.pig.common.websocket.config.WebSocketProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 基于 Redis 的消息分发器
  * <p>
- * 在集群环境下，通过 Redis 的发布/订阅机制，将消息发布到指定频道， 由所有订阅该频道的服务实例进行消费和处理，从而实现跨服务的消息分发。
+ * 在集群环境下，通过 Redis 的发布/订阅机制实现跨服务的消息分发。 广播消息发布到共享频道，由所有服务实例消费；单点消息根据
+ * {@link WebSocketSessionRegistry} 查出会话所在节点，只发布到该节点的专属频道，会话在本节点时直接发送。
+ * </p>
+ * <p>
+ * 默认使用 {@link MessageDOCodec} 二进制信封，同一频道在聚合窗口内的消息合并为一次发布；配置为 JSON 时与旧版本节点兼容，逐条发布。
  * </p>
  *
  * @author Hccake 2021/1/12
  * @version 1.0
  */
-@RequiredArgsConstructor
-public class RedisMessageDistributor implements MessageDistributor {
+@Slf4j
+public class RedisMessageDistributor implements MessageDistributor, MessageSender, DisposableBean {
 
 	private final StringRedisTemplate stringRedisTemplate;
 
+	private final WebSocketSessionRegistry sessionRegistry;
+
+	private final boolean binary;
+
+	private final long lingerNanos;
+
+	private final int batchSize;
+
+	private final Map<String, List<MessageDO>> pending = new HashMap<>();
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "pig-websocket-publisher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public RedisMessageDistributor(StringRedisTemplate stringRedisTemplate, WebSocketSessionRegistry sessionRegistry,
+			WebSocketProperties webSocketProperties) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.sessionRegistry = sessionRegistry;
+		this.binary = webSocketProperties.getRedisCodec() == WebSocketProperties.RedisCodec.BINARY;
+		this.lingerNanos = webSocketProperties.getRedisBatchLinger().toNanos();
+		this.batchSize = Math.max(1, webSocketProperties.getRedisBatchSize());
+	}
+
 	/**
 	 * 将消息发布到 Redis 频道。
 	 * <p>
-	 * 此方法首先将消息对象序列化为 JSON 字符串，然后通过 Redis 发布/订阅机制 将其发送到
-	 * {@link RedisWebsocketMessageListener#CHANNEL} 频道。
+	 * 广播消息发送到 {@link RedisWebsocketMessageListener#CHANNEL} 频道；单点消息按会话所在节点分组后发送到各节点专属频道，
+	 * 未登记的会话回退到共享频道。
 	 * </p>
 	 * @param messageDO 待发送的消息对象，包含消息内容和目标会话信息。
 	 */
 	@Override
 	public void distribute(MessageDO messageDO) {
-		// 包装 sessionKey 适配分布式多环境
-		List<Object> sessionKeyList = new ArrayList<>(messageDO.getSessionKeys());
-		messageDO.setSessionKeys(sessionKeyList);
+		if (Boolean.TRUE.equals(messageDO.getNeedBroadcast()) || CollectionUtil.isEmpty(messageDO.getSessionKeys())) {
+			publish(RedisWebsocketMessageListener.CHANNEL, messageDO);
+			return;
+		}
+
+		Map<String, List<Object>> routes = sessionRegistry.route(messageDO.getSessionKeys());
+		for (Map.Entry<String, List<Object>> route : routes.entrySet()) {
+			String nodeId = route.getKey();
+			MessageDO nodeMessage = new MessageDO().setNeedBroadcast(false)
+				.setSessionKeys(route.getValue())
+				.setMessageText(messageDO.getMessageText());
+			if (nodeId == null) {
+				publish(RedisWebsocketMessageListener.CHANNEL, nodeMessage);
+			}
+			else if (nodeId.equals(sessionRegistry.getNodeId())) {
+				doSend(nodeMessage);
+			}
+			else {
+				publish(WebSocketSessionRegistry.nodeChannel(nodeId), nodeMessage);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+		List<String> channels;
+		synchronized (pending) {
+			channels = new ArrayList<>(pending.keySet());
+		}
+		channels.forEach(this::flush);
+	}
+
+	private void publish(String channel, MessageDO messageDO) {
+		if (!binary) {
+			// 包装 sessionKey 适配分布式多环境
+			if (messageDO.getSessionKeys() != null) {
+				messageDO.setSessionKeys(new ArrayList<>(messageDO.getSessionKeys()));
+			}
+			stringRedisTemplate.convertAndSend(channel, JSONUtil.toJsonStr(messageDO));
+			return;
+		}
+
+		if (lingerNanos <= 0) {
+			send(channel, List.of(messageDO));
+			return;
+		}
+
+		List<MessageDO> full = null;
+		synchronized (pending) {
+			List<MessageDO> messages = pending.computeIfAbsent(channel, k -> new ArrayList<>());
+			messages.add(messageDO);
+			if (messages.size() >= batchSize) {
+				full = pending.remove(channel);
+			}
+			else if (messages.size() == 1) {
+				scheduler.schedule(() -> flush(channel), lingerNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+		if (full != null) {
+			send(channel, full);
+		}
+	}
+
+	private void flush(String channel) {
+		List<MessageDO> messages;
+		synchronized (pending) {
+			messages = pending.remove(channel);
+		}
+		if (messages != null) {
+			send(channel, messages);
+		}
+	}
 
-		String str = JSONUtil.toJsonStr(messageDO);
-		stringRedisTemplate.convertAndSend(RedisWebsocketMessageListener.CHANNEL, str);
+	private void send(String channel, List<MessageDO> messages) {
+		try {
+			byte[] channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+			byte[] envelope = MessageDOCodec.encode(messages);
+			stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channelBytes, envelope));
+		}
+		catch (Exception e) {
+			log.error("[distribute] 发布 WebSocket 消息到频道 {} 失败，丢弃 {} 条", channel, messages.size(), e);
+		}
 	}
 
 }
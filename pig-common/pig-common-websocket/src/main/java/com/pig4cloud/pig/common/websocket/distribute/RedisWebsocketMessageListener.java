@@ -22,7 +22,8 @@ import org.springframework.data.redis.serializer.RedisSerializer;
 public class RedisWebsocketMessageListener implements MessageListener, MessageSender {
 
 	/**
-	 * WebSocket 消息在 Redis 发布/订阅中的频道名称。
+	 * WebSocket 消息在 Redis 发布/订阅中的共享频道名称，节点专属频道以此为前缀。
+	 * @see WebSocketSessionRegistry#nodeChannel(String)
 	 */
 	public static final String CHANNEL = "websocket-send";
 
@@ -31,21 +32,27 @@ public class RedisWebsocketMessageListener implements MessageListener, MessageSe
 	/**
 	 * 当从 Redis 频道接收到消息时调用此方法。
 	 * <p>
-	 * 此方法会反序列化消息内容，并调用 {@link #doSend(MessageDO)} 方法 将消息发送给当前服务实例中的目标 WebSocket 会话。
+	 * 此方法会按二进制信封或 JSON 反序列化消息内容，并调用 {@link #doSend(MessageDO)} 方法 将消息发送给当前服务实例中的目标 WebSocket 会话。
 	 * </p>
 	 * @param message 接收到的 Redis 消息。
 	 * @param bytes 订阅的频道模式（未使用）。
 	 */
 	@Override
 	public void onMessage(Message message, byte[] bytes) {
-		log.info("redis channel Listener message send {}", message);
+		log.debug("redis channel Listener message send {}", message);
 		byte[] channelBytes = message.getChannel();
 		RedisSerializer<String> stringSerializer = stringRedisTemplate.getStringSerializer();
 		String channel = stringSerializer.deserialize(channelBytes);
 
-		// 这里没有使用通配符，所以一定是true
-		if (CHANNEL.equals(channel)) {
+		// 共享频道用于广播，节点专属频道用于单点消息
+		if (channel != null && channel.startsWith(CHANNEL)) {
 			byte[] bodyBytes = message.getBody();
+			if (MessageDOCodec.isBinary(bodyBytes)) {
+				MessageDOCodec.decode(bodyBytes).forEach(this::doSend);
+				return;
+			}
+
+			// 兼容 JSON 格式的消息
 			String body = stringSerializer.deserialize(bodyBytes);
 			MessageDO messageDO = JSONUtil.toBean(body, MessageDO.class);
 			doSend(messageDO);
@@ -0,0 +1,236 @@
+package com.pig4cloud.pig.common.websocket.distribute;
+
+import cn.hutool.core.util.IdUtil;
+import com.pig4cloud.pig.common.websocket.holder.WebSocketSessionHolder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 会话归属注册表
+ * <p>
+ * 每个 sessionKey 对应一个 Redis 集合，记录持有该会话的全部节点ID，同一用户可同时连接多个节点。连接建立时加入当前节点，
+ * 关闭时只移除当前节点。各节点定时在有序集合中上报心跳并续期本节点会话的集合，超过三个心跳周期未上报的节点视为下线，
+ * 路由时从集合中清除。单点消息据此只投递到会话所在节点的专属频道。
+ * </p>
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class WebSocketSessionRegistry implements InitializingBean, DisposableBean {
+
+	/**
+	 * 会话归属集合key前缀，拼接 sessionKey，member 为节点ID。
+	 */
+	public static final String SESSION_KEY_PREFIX = "websocket:session:owner:";
+
+	/**
+	 * 节点心跳有序集合，member 为节点ID，score 为最近一次心跳时间戳。
+	 */
+	public static final String NODE_KEY = "websocket:node:heartbeat";
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	private final Duration heartbeat;
+
+	/**
+	 * 当前节点ID。
+	 */
+	@Getter
+	private final String nodeId = IdUtil.fastSimpleUUID();
+
+	private final Set<String> aliveNodes = ConcurrentHashMap.newKeySet();
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "pig-websocket-registry");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public WebSocketSessionRegistry(StringRedisTemplate stringRedisTemplate, Duration heartbeat) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.heartbeat = heartbeat;
+		this.aliveNodes.add(nodeId);
+	}
+
+	/**
+	 * 获取节点专属频道。
+	 * @param nodeId 节点ID。
+	 * @return 频道名称。
+	 */
+	public static String nodeChannel(String nodeId) {
+		return RedisWebsocketMessageListener.CHANNEL + ":" + nodeId;
+	}
+
+	/**
+	 * 登记会话归属当前节点。
+	 * @param sessionKey 会话的唯一标识。
+	 */
+	public void register(Object sessionKey) {
+		byte[] ownerKey = ownerKey(sessionKey);
+		stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			addOwner(connection, ownerKey);
+			return null;
+		});
+	}
+
+	/**
+	 * 注销当前节点持有的会话，其他节点上同一会话标识的连接不受影响。
+	 * @param sessionKey 会话的唯一标识。
+	 */
+	public void unregister(Object sessionKey) {
+		stringRedisTemplate.opsForSet().remove(SESSION_KEY_PREFIX + sessionKey, nodeId);
+	}
+
+	/**
+	 * 按会话所在节点分组。
+	 * <p>
+	 * 未登记的会话归入 {@code null} 分组，由调用方走共享频道兜底；同一会话标识在多个存活节点上均有连接时，
+	 * 分别归入每个节点的分组；已下线的节点从集合中清除，全部归属节点均已下线的会话直接丢弃。
+	 * </p>
+	 * @param sessionKeys 会话唯一标识列表。
+	 * @return 节点ID 到会话唯一标识列表的映射。
+	 */
+	public Map<String, List<Object>> route(Collection<Object> sessionKeys) {
+		List<Object> keys = new ArrayList<>(sessionKeys);
+		List<Object> owners = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			for (Object key : keys) {
+				connection.setCommands().sMembers(ownerKey(key));
+			}
+			return null;
+		});
+
+		Map<String, List<Object>> routes = new LinkedHashMap<>();
+		Map<String, Boolean> checked = new HashMap<>();
+		Map<Object, List<String>> deadOwners = new HashMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			Collection<?> nodes = owners.get(i) instanceof Collection<?> members ? members : Set.of();
+			if (nodes.isEmpty()) {
+				routes.computeIfAbsent(null, k -> new ArrayList<>()).add(keys.get(i));
+				continue;
+			}
+			for (Object node : nodes) {
+				String owner = (String) node;
+				if (checked.computeIfAbsent(owner, this::isAlive)) {
+					routes.computeIfAbsent(owner, k -> new ArrayList<>()).add(keys.get(i));
+				}
+				else {
+					deadOwners.computeIfAbsent(keys.get(i), k -> new ArrayList<>()).add(owner);
+				}
+			}
+		}
+
+		if (!deadOwners.isEmpty()) {
+			stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+				deadOwners.forEach((key, nodes) -> {
+					byte[][] members = nodes.stream()
+						.map(node -> node.getBytes(StandardCharsets.UTF_8))
+						.toArray(byte[][]::new);
+					connection.setCommands().sRem(ownerKey(key), members);
+				});
+				return null;
+			});
+		}
+		return routes;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		long period = heartbeat.toMillis();
+		scheduler.scheduleWithFixedDelay(this::heartbeat, 0, period, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+		try {
+			for (String sessionKey : WebSocketSessionHolder.getSessionKeys()) {
+				unregister(sessionKey);
+			}
+			stringRedisTemplate.opsForZSet().remove(NODE_KEY, nodeId);
+		}
+		catch (Exception e) {
+			log.warn("[destroy] 清理 WebSocket 会话注册信息失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * 上报心跳、重新登记本节点会话并刷新存活节点列表。
+	 */
+	private void heartbeat() {
+		try {
+			long now = System.currentTimeMillis();
+			long expired = now - heartbeat.toMillis() * 3;
+			stringRedisTemplate.opsForZSet().add(NODE_KEY, nodeId, now);
+			stringRedisTemplate.opsForZSet().removeRangeByScore(NODE_KEY, Double.NEGATIVE_INFINITY, expired);
+
+			// 续期本节点会话的归属集合，并补登记丢失的归属（如 Redis 重启）
+			Set<String> sessionKeys = WebSocketSessionHolder.getSessionKeys();
+			if (!sessionKeys.isEmpty()) {
+				stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+					for (String sessionKey : sessionKeys) {
+						addOwner(connection, ownerKey(sessionKey));
+					}
+					return null;
+				});
+			}
+
+			Set<String> alive = stringRedisTemplate.opsForZSet().rangeByScore(NODE_KEY, expired, Double.MAX_VALUE);
+			if (alive != null) {
+				aliveNodes.retainAll(alive);
+				aliveNodes.addAll(alive);
+			}
+			aliveNodes.add(nodeId);
+		}
+		catch (Exception e) {
+			log.warn("[heartbeat] WebSocket 节点心跳上报失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * 将当前节点加入会话归属集合，集合在三个心跳周期内无节点续期时过期。
+	 * @param connection Redis 连接。
+	 * @param ownerKey 会话归属集合key。
+	 */
+	private void addOwner(RedisConnection connection, byte[] ownerKey) {
+		connection.setCommands().sAdd(ownerKey, nodeId.getBytes(StandardCharsets.UTF_8));
+		connection.keyCommands().pExpire(ownerKey, heartbeat.toMillis() * 3);
+	}
+
+	private static byte[] ownerKey(Object sessionKey) {
+		return (SESSION_KEY_PREFIX + sessionKey).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private boolean isAlive(String owner) {
+		if (aliveNodes.contains(owner)) {
+			return true;
+		}
+		// 本地存活列表可能落后一个心跳周期，未命中时再确认一次
+		Double score = stringRedisTemplate.opsForZSet().score(NODE_KEY, owner);
+		boolean alive = score != null && score >= System.currentTimeMillis() - heartbeat.toMillis() * 3;
+		if (alive) {
+			aliveNodes.add(owner);
+		}
+		return alive;
+	}
+
+}
@@ -1,6 +1,8 @@
 package com.pig4cloud.pig.common.websocket.holder;
 
 import com.pig4cloud.pig.common.websocket.config.WebSocketProperties;
+import com.pig4cloud.pig.common.websocket.distribute.WebSocketSessionRegistry;
+import org.springframework.lang.Nullable;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
@@ -22,6 +24,9 @@ public class MapSessionWebSocketHandlerDecorator extends WebSocketHandlerDecorat
 
 	private final WebSocketProperties webSocketProperties;
 
+	@Nullable
+	private final WebSocketSessionRegistry sessionRegistry;
+
 	/**
 	 * 构造一个新的 {@code MapSessionWebSocketHandlerDecorator} 实例。
 	 * @param delegate 被装饰的原始 {@link WebSocketHandler}。
@@ -30,9 +35,22 @@ public class MapSessionWebSocketHandlerDecorator extends WebSocketHandlerDecorat
 	 */
 	public MapSessionWebSocketHandlerDecorator(WebSocketHandler delegate, SessionKeyGenerator sessionKeyGenerator,
 			WebSocketProperties webSocketProperties) {
+		this(delegate, sessionKeyGenerator, webSocketProperties, null);
+	}
+
+	/**
+	 * 构造一个新的 {@code MapSessionWebSocketHandlerDecorator} 实例，并在会话注册表中维护会话归属。
+	 * @param delegate 被装饰的原始 {@link WebSocketHandler}。
+	 * @param sessionKeyGenerator 会话密钥生成器，用于生成会话的唯一标识。
+	 * @param webSocketProperties WebSocket 配置属性，包含发送时间限制和缓冲区大小限制。
+	 * @param sessionRegistry 会话注册表，为 {@code null} 时仅维护本地会话。
+	 */
+	public MapSessionWebSocketHandlerDecorator(WebSocketHandler delegate, SessionKeyGenerator sessionKeyGenerator,
+			WebSocketProperties webSocketProperties, @Nullable WebSocketSessionRegistry sessionRegistry) {
 		super(delegate);
 		this.sessionKeyGenerator = sessionKeyGenerator;
 		this.webSocketProperties = webSocketProperties;
+		this.sessionRegistry = sessionRegistry;
 	}
 
 	/**
@@ -40,7 +58,7 @@ public class MapSessionWebSocketHandlerDecorator extends WebSocketHandlerDecorat
 	 * <p>
 	 * 此方法会生成会话的唯一标识，并将带有并发控制的 {@link WebSocketSession} 存储到 {@link WebSocketSessionHolder}
 	 * 中。 {@link ConcurrentWebSocketSessionDecorator}
-	 * 确保一次只有一个线程可以发送消息，并根据配置的缓冲区大小和发送时间限制管理会话。
+	 * 确保一次只有一个线程可以发送消息，并根据配置的缓冲区大小和发送时间限制管理会话。 配置了会话注册表时同时登记会话归属当前节点。
 	 * </p>
 	 * @param session 建立的 WebSocket 会话对象。
 	 * @throws Exception 如果在处理过程中发生错误。
@@ -50,12 +68,15 @@ public class MapSessionWebSocketHandlerDecorator extends WebSocketHandlerDecorat
 		Object sessionKey = sessionKeyGenerator.sessionKey(session);
 		WebSocketSessionHolder.addSession(sessionKey, new ConcurrentWebSocketSessionDecorator(session,
 				webSocketProperties.getSendTimeLimit(), webSocketProperties.getSendBufferSizeLimit()));
+		if (sessionRegistry != null) {
+			sessionRegistry.register(sessionKey);
+		}
 	}
 
 	/**
 	 * 在 WebSocket 连接关闭后执行的动作。
 	 * <p>
-	 * 此方法会根据会话的唯一标识从 {@link WebSocketSessionHolder} 中移除对应的会话。
+	 * 此方法会根据会话的唯一标识从 {@link WebSocketSessionHolder} 中移除对应的会话，并注销其在会话注册表中的归属。
 	 * </p>
 	 * @param session 关闭的 WebSocket 会话对象。
 	 * @param closeStatus 关闭状态对象，包含关闭原因和状态码。
@@ -65,6 +86,9 @@ public class MapSessionWebSocketHandlerDecorator extends WebSocketHandlerDecorat
 	public void afterConnectionClosed(final WebSocketSession session, CloseStatus closeStatus) throws Exception {
 		Object sessionKey = sessionKeyGenerator.sessionKey(session);
 		WebSocketSessionHolder.removeSession(sessionKey);
+		if (sessionRegistry != null) {
+			sessionRegistry.unregister(sessionKey);
+		}
 	}
 
 }
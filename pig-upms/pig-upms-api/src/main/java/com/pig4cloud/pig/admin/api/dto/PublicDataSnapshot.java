@@ -0,0 +1,62 @@
+/*
+ *
+ *      Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ *  this list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  Neither the name of the pig4cloud.com developer nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ *  Author: lengleng (wangiegie@gmail.com)
+ *
+ */
+
+package com.pig4cloud.pig.admin.api.dto;
+
+import com.pig4cloud.pig.admin.api.entity.SysDictItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 公共参数与字典数据快照，各服务本地副本据此构建
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Data
+@Schema(description = "公共参数与字典数据快照")
+public class PublicDataSnapshot implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 数据版本号，参数或字典变更后递增
+	 */
+	@Schema(description = "数据版本号")
+	private long version;
+
+	/**
+	 * 公共参数，key 为参数key
+	 */
+	@Schema(description = "公共参数")
+	private Map<String, String> params;
+
+	/**
+	 * 字典项，key 为字典类型
+	 */
+	@Schema(description = "字典项")
+	private Map<String, List<SysDictItem>> dictItems;
+
+}
@@ -27,8 +27,8 @@ import lombok.EqualsAndHashCode;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * 用户信息实体类，继承自UserVO并实现Serializable接口 , spring security
@@ -57,9 +57,9 @@ public class UserInfo extends UserVO implements Serializable {
 	private String salt;
 
 	/**
-	 * 权限标识集合
+	 * 权限标识集合，已去重
 	 */
 	@Schema(description = "权限标识集合")
-	private List<String> permissions = new ArrayList<>();
+	private Set<String> permissions = new LinkedHashSet<>();
 
 }
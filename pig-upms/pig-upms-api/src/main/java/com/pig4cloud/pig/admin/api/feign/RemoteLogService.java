@@ -27,6 +27,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 /**
  * 远程日志服务接口
  *
@@ -45,4 +47,13 @@ public interface RemoteLogService {
 	@PostMapping("/log/save")
 	R<Boolean> saveLog(@RequestBody SysLog sysLog);
 
+	/**
+	 * 批量保存日志 (异步批量提交，无token)
+	 * @param sysLogs 日志实体列表
+	 * @return succes、false
+	 */
+	@NoToken
+	@PostMapping("/log/saveBatch")
+	R<Boolean> saveLogBatch(@RequestBody List<SysLog> sysLogs);
+
 }
@@ -0,0 +1,29 @@
+package com.pig4cloud.pig.admin.api.feign;
+
+import com.pig4cloud.pig.admin.api.dto.PublicDataSnapshot;
+import com.pig4cloud.pig.common.core.constant.ServiceNameConstants;
+import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.feign.annotation.NoToken;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * 远程公共数据快照服务接口
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@FeignClient(contextId = "remotePublicDataService", value = ServiceNameConstants.UPMS_SERVICE)
+public interface RemotePublicDataService {
+
+	/**
+	 * 获取公共参数与字典数据快照
+	 * @param version 本地副本版本号
+	 * @return 快照，版本号未变化时数据为空
+	 */
+	@NoToken
+	@GetMapping("/public-data/snapshot")
+	R<PublicDataSnapshot> getSnapshot(@RequestParam("version") long version);
+
+}
@@ -53,6 +53,15 @@ public interface RemoteTokenService {
 	@DeleteMapping("/token/remove/{token}")
 	R<Boolean> removeTokenById(@PathVariable("token") String token);
 
+	/**
+	 * 删除用户的全部令牌
+	 * @param username 用户名
+	 * @return 删除的令牌数
+	 */
+	@NoToken
+	@DeleteMapping("/token/remove/user/{username}")
+	R<Integer> removeTokenByUsername(@PathVariable("username") String username);
+
 	/**
 	 * 根据令牌查询用户信息
 	 * @param token 用户令牌
@@ -0,0 +1,274 @@
+package com.pig4cloud.pig.admin.api.replica;
+
+import com.pig4cloud.pig.admin.api.dto.PublicDataSnapshot;
+import com.pig4cloud.pig.admin.api.entity.SysDictItem;
+import com.pig4cloud.pig.admin.api.feign.RemotePublicDataService;
+import com.pig4cloud.pig.common.core.util.SpringContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 公共参数与字典本地副本
+ * <p>
+ * 首次查询时从 UPMS 拉取全量快照，按参数key、字典类型、字典值、字典标签建立哈希索引，查询只读本地内存。 UPMS
+ * 写入后递增版本号并通过 Redis 发布订阅通知，各节点携带本地版本号拉取，版本一致时不返回数据；另按周期轮询版本号，兜底丢失的通知
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+public class PublicDataReplica implements MessageListener, DisposableBean {
+
+	/**
+	 * 变更通知频道，消息内容为新版本号
+	 */
+	public static final String CHANNEL = "public_data::changed";
+
+	private final RemotePublicDataService remotePublicDataService;
+
+	private final PublicDataReplicaProperties properties;
+
+	private final RedisMessageListenerContainer listenerContainer;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "pig-public-data-replica");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Nullable
+	private volatile Snapshot snapshot;
+
+	/**
+	 * 下次允许重试加载的时间，加载失败后避免每次查询都请求远程接口
+	 */
+	private long retryAt;
+
+	private boolean started;
+
+	public PublicDataReplica(RemotePublicDataService remotePublicDataService, PublicDataReplicaProperties properties,
+			RedisMessageListenerContainer listenerContainer) {
+		this.remotePublicDataService = remotePublicDataService;
+		this.properties = properties;
+		this.listenerContainer = listenerContainer;
+	}
+
+	/**
+	 * 获取可用的本地副本
+	 * @return 本地副本，未启用或快照加载失败时返回null，调用方回退到远程接口
+	 */
+	@Nullable
+	public static PublicDataReplica current() {
+		PublicDataReplica replica = SpringContextHolder.getApplicationContext()
+			.getBeanProvider(PublicDataReplica.class)
+			.getIfAvailable();
+		return replica != null && replica.isAvailable() ? replica : null;
+	}
+
+	/**
+	 * 快照是否可用，未加载时同步加载，首次加载成功后开始监听变更通知和轮询
+	 * @return 快照是否可用
+	 */
+	public boolean isAvailable() {
+		if (snapshot != null) {
+			return true;
+		}
+
+		synchronized (this) {
+			if (snapshot == null && System.currentTimeMillis() >= retryAt) {
+				try {
+					refresh();
+				}
+				catch (Exception e) {
+					retryAt = System.currentTimeMillis() + properties.getRetryInterval().toMillis();
+					log.warn("加载公共参数与字典快照失败，{} 内回退到远程查询 {}", properties.getRetryInterval(),
+							e.getLocalizedMessage());
+				}
+			}
+			if (snapshot != null && !started) {
+				start();
+			}
+			return snapshot != null;
+		}
+	}
+
+	/**
+	 * 获取公共参数值
+	 * @param key 参数key
+	 * @return 参数值，不存在时返回null
+	 */
+	@Nullable
+	public String getParam(String key) {
+		return requireSnapshot().params().get(key);
+	}
+
+	/**
+	 * 获取字典类型下的全部字典项
+	 * @param type 字典类型
+	 * @return 字典项列表，不可修改
+	 */
+	public List<SysDictItem> getDictItems(String type) {
+		DictIndex index = requireSnapshot().dicts().get(type);
+		return index == null ? List.of() : index.items();
+	}
+
+	/**
+	 * 根据字典值获取字典项
+	 * @param type 字典类型
+	 * @param itemValue 字典值
+	 * @return 字典项，不存在时返回null
+	 */
+	@Nullable
+	public SysDictItem getDictItemByValue(String type, String itemValue) {
+		DictIndex index = requireSnapshot().dicts().get(type);
+		return index == null ? null : index.byValue().get(itemValue);
+	}
+
+	/**
+	 * 根据字典标签获取字典项
+	 * @param type 字典类型
+	 * @param itemLabel 字典标签
+	 * @return 字典项，不存在时返回null
+	 */
+	@Nullable
+	public SysDictItem getDictItemByLabel(String type, String itemLabel) {
+		DictIndex index = requireSnapshot().dicts().get(type);
+		return index == null ? null : index.byLabel().get(itemLabel);
+	}
+
+	/**
+	 * 接收变更通知，版本号比本地新时异步拉取快照
+	 * @param message 消息
+	 * @param pattern 频道
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		Snapshot current = snapshot;
+		String body = RedisSerializer.string().deserialize(message.getBody());
+		try {
+			if (current != null && body != null && Long.parseLong(body) <= current.version()) {
+				return;
+			}
+		}
+		catch (NumberFormatException e) {
+			log.warn("公共数据变更通知格式错误 {}", body);
+		}
+		scheduler.execute(this::safeRefresh);
+	}
+
+	@Override
+	public synchronized void destroy() throws Exception {
+		scheduler.shutdownNow();
+		if (started) {
+			listenerContainer.removeMessageListener(this);
+		}
+	}
+
+	/**
+	 * 携带本地版本号拉取快照，版本号未变化时服务端不返回数据
+	 */
+	private synchronized void refresh() {
+		Snapshot current = snapshot;
+		PublicDataSnapshot data = remotePublicDataService.getSnapshot(current == null ? -1 : current.version())
+			.getData();
+		if (data != null && (current == null || data.getVersion() != current.version())) {
+			snapshot = Snapshot.of(data);
+			log.debug("公共参数与字典快照更新到版本 {}", data.getVersion());
+		}
+	}
+
+	private void safeRefresh() {
+		try {
+			refresh();
+		}
+		catch (Exception e) {
+			log.warn("刷新公共参数与字典快照失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	private void start() {
+		// 首次使用时才订阅，未使用本地副本的节点不会因变更通知拉取快照
+		listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+		long period = properties.getPollInterval().toMillis();
+		if (period > 0) {
+			scheduler.scheduleWithFixedDelay(this::safeRefresh, period, period, TimeUnit.MILLISECONDS);
+		}
+		started = true;
+	}
+
+	private Snapshot requireSnapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			throw new IllegalStateException("公共参数与字典快照未加载");
+		}
+		return current;
+	}
+
+	/**
+	 * 本地快照
+	 *
+	 * @param version 版本号
+	 * @param params 公共参数
+	 * @param dicts 字典类型到字典索引的映射
+	 */
+	private record Snapshot(long version, Map<String, String> params, Map<String, DictIndex> dicts) {
+
+		static Snapshot of(PublicDataSnapshot data) {
+			Map<String, String> params = new HashMap<>();
+			if (data.getParams() != null) {
+				data.getParams().forEach((key, value) -> {
+					if (value != null) {
+						params.put(key, value);
+					}
+				});
+			}
+
+			Map<String, DictIndex> dicts = new HashMap<>();
+			if (data.getDictItems() != null) {
+				data.getDictItems().forEach((type, items) -> dicts.put(type, DictIndex.of(items)));
+			}
+			return new Snapshot(data.getVersion(), Collections.unmodifiableMap(params),
+					Collections.unmodifiableMap(dicts));
+		}
+
+	}
+
+	/**
+	 * 单个字典类型的索引，同值或同标签存在多项时保留第一项，与按列表顺序查找的结果一致
+	 *
+	 * @param items 字典项列表
+	 * @param byValue 字典值索引
+	 * @param byLabel 字典标签索引
+	 */
+	private record DictIndex(List<SysDictItem> items, Map<String, SysDictItem> byValue,
+			Map<String, SysDictItem> byLabel) {
+
+		static DictIndex of(List<SysDictItem> items) {
+			Map<String, SysDictItem> byValue = new HashMap<>();
+			Map<String, SysDictItem> byLabel = new HashMap<>();
+			for (SysDictItem item : items) {
+				byValue.putIfAbsent(item.getItemValue(), item);
+				byLabel.putIfAbsent(item.getLabel(), item);
+			}
+			return new DictIndex(Collections.unmodifiableList(new ArrayList<>(items)),
+					Collections.unmodifiableMap(byValue), Collections.unmodifiableMap(byLabel));
+		}
+
+	}
+
+}
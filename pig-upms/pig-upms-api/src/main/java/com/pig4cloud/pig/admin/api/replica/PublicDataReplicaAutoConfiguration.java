@@ -0,0 +1,59 @@
+package com.pig4cloud.pig.admin.api.replica;
+
+import com.pig4cloud.pig.admin.api.feign.RemotePublicDataService;
+import com.pig4cloud.pig.common.excel.ExcelAutoConfiguration;
+import com.pig4cloud.pig.common.excel.provider.RemoteDictApiService;
+import com.pig4cloud.pig.common.excel.provider.RemoteDictDataProvider;
+import com.pig4cloud.plugin.excel.handler.DictDataProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 公共参数与字典本地副本自动配置
+ * <p>
+ * 先于 Excel 自动配置注册字典数据提供程序，导出时的字典翻译同样读取本地副本
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@AutoConfiguration(after = RedisAutoConfiguration.class, before = ExcelAutoConfiguration.class)
+@ConditionalOnBean(RedisConnectionFactory.class)
+@ConditionalOnProperty(prefix = PublicDataReplicaProperties.PREFIX, name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(PublicDataReplicaProperties.class)
+public class PublicDataReplicaAutoConfiguration {
+
+	/**
+	 * 公共参数与字典本地副本
+	 * @param remotePublicDataService 远程公共数据快照服务
+	 * @param properties 本地副本配置
+	 * @param listenerContainer 共享的 Redis 消息监听容器
+	 * @return 本地副本
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public PublicDataReplica publicDataReplica(RemotePublicDataService remotePublicDataService,
+			PublicDataReplicaProperties properties, RedisMessageListenerContainer listenerContainer) {
+		return new PublicDataReplica(remotePublicDataService, properties, listenerContainer);
+	}
+
+	/**
+	 * 基于本地副本的字典数据提供程序
+	 * @param publicDataReplica 本地副本
+	 * @param remoteDictApiService 远程字典API服务
+	 * @return 字典数据提供程序
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public DictDataProvider dictDataProvider(PublicDataReplica publicDataReplica,
+			RemoteDictApiService remoteDictApiService) {
+		return new ReplicaDictDataProvider(publicDataReplica, new RemoteDictDataProvider(remoteDictApiService));
+	}
+
+}
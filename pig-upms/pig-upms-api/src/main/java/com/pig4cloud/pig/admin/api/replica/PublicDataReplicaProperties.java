@@ -0,0 +1,35 @@
+package com.pig4cloud.pig.admin.api.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 公共参数与字典本地副本配置
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Data
+@ConfigurationProperties(PublicDataReplicaProperties.PREFIX)
+public class PublicDataReplicaProperties {
+
+	public static final String PREFIX = "pig.replica";
+
+	/**
+	 * 是否启用本地副本，关闭后每次查询调用远程接口
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * 版本轮询周期，兜底丢失的变更通知
+	 */
+	private Duration pollInterval = Duration.ofSeconds(60);
+
+	/**
+	 * 加载快照失败后的重试间隔，期间查询回退到远程接口
+	 */
+	private Duration retryInterval = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,39 @@
+package com.pig4cloud.pig.admin.api.replica;
+
+import com.pig4cloud.pig.admin.api.entity.SysDictItem;
+import com.pig4cloud.plugin.excel.handler.DictDataProvider;
+import com.pig4cloud.plugin.excel.vo.DictEnum;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 基于本地副本的 Excel 字典数据提供程序，副本不可用时回退到远程字典数据提供程序
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@RequiredArgsConstructor
+public class ReplicaDictDataProvider implements DictDataProvider {
+
+	private final PublicDataReplica publicDataReplica;
+
+	private final DictDataProvider fallback;
+
+	/**
+	 * 根据类型获取字典枚举数组
+	 * @param type 字典类型
+	 * @return 字典枚举数组，无数据时返回空数组
+	 */
+	@Override
+	public DictEnum[] getDict(String type) {
+		if (!publicDataReplica.isAvailable()) {
+			return fallback.getDict(type);
+		}
+
+		DictEnum.Builder dictEnumBuilder = DictEnum.builder();
+		for (SysDictItem item : publicDataReplica.getDictItems(type)) {
+			dictEnumBuilder.add(item.getItemValue(), item.getLabel());
+		}
+		return dictEnumBuilder.build();
+	}
+
+}
@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.pig4cloud.pig.admin.api.entity.SysDictItem;
 import com.pig4cloud.pig.admin.api.feign.RemoteDictService;
+import com.pig4cloud.pig.admin.api.replica.PublicDataReplica;
 import com.pig4cloud.pig.common.core.util.SpringContextHolder;
 import lombok.experimental.UtilityClass;
 
@@ -14,6 +15,8 @@ import java.util.List;
 
 /**
  * 字典解析工具类：提供字典数据的查询和解析功能
+ * <p>
+ * 优先读取本地副本，按字典值、标签查询为哈希查找；副本不可用时调用远程接口
  *
  * @author lengleng
  * @date 2025/05/30
@@ -29,6 +32,11 @@ public class DictResolver {
 	public List<SysDictItem> getDictItemsByType(String type) {
 		Assert.isTrue(StringUtils.isNotBlank(type), "参数不合法");
 
+		PublicDataReplica replica = PublicDataReplica.current();
+		if (replica != null) {
+			return replica.getDictItems(type);
+		}
+
 		RemoteDictService remoteDictService = SpringContextHolder.getBean(RemoteDictService.class);
 
 		return remoteDictService.getDictByType(type).getData();
@@ -71,6 +79,11 @@ public class DictResolver {
 	public SysDictItem getDictItemByItemValue(String type, String itemValue) {
 		Assert.isTrue(StringUtils.isNotBlank(type) && StringUtils.isNotBlank(itemValue), "参数不合法");
 
+		PublicDataReplica replica = PublicDataReplica.current();
+		if (replica != null) {
+			return replica.getDictItemByValue(type, itemValue);
+		}
+
 		List<SysDictItem> dictItemList = getDictItemsByType(type);
 
 		if (CollectionUtils.isNotEmpty(dictItemList)) {
@@ -89,6 +102,11 @@ public class DictResolver {
 	public SysDictItem getDictItemByItemLabel(String type, String itemLabel) {
 		Assert.isTrue(StringUtils.isNotBlank(type) && StringUtils.isNotBlank(itemLabel), "参数不合法");
 
+		PublicDataReplica replica = PublicDataReplica.current();
+		if (replica != null) {
+			return replica.getDictItemByLabel(type, itemLabel);
+		}
+
 		List<SysDictItem> dictItemList = getDictItemsByType(type);
 
 		if (CollectionUtils.isNotEmpty(dictItemList)) {
@@ -3,11 +3,14 @@ package com.pig4cloud.pig.admin.api.util;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.StrUtil;
 import com.pig4cloud.pig.admin.api.feign.RemoteParamService;
+import com.pig4cloud.pig.admin.api.replica.PublicDataReplica;
 import com.pig4cloud.pig.common.core.util.SpringContextHolder;
 import lombok.experimental.UtilityClass;
 
 /**
  * 系统参数配置解析器工具类
+ * <p>
+ * 优先读取本地副本，副本不可用时调用远程接口
  *
  * @author lengleng
  * @date 2025/05/30
@@ -50,9 +53,15 @@ public class ParamResolver {
 			throw new IllegalArgumentException("参数不合法");
 		}
 
-		RemoteParamService remoteParamService = SpringContextHolder.getBean(RemoteParamService.class);
-
-		String result = remoteParamService.getByKey(key).getData();
+		String result;
+		PublicDataReplica replica = PublicDataReplica.current();
+		if (replica != null) {
+			result = replica.getParam(key);
+		}
+		else {
+			RemoteParamService remoteParamService = SpringContextHolder.getBean(RemoteParamService.class);
+			result = remoteParamService.getByKey(key).getData();
+		}
 
 		if (StrUtil.isNotBlank(result)) {
 			return Convert.convert(clazz, result);
@@ -23,6 +23,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.pig4cloud.pig.admin.api.entity.SysFile;
+import com.pig4cloud.pig.admin.service.SysFileRenditionService;
 import com.pig4cloud.pig.admin.service.SysFileService;
 import com.pig4cloud.pig.common.core.util.R;
 import com.pig4cloud.pig.common.log.annotation.SysLog;
@@ -31,6 +32,7 @@ import com.pig4cloud.pig.common.security.annotation.Inner;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
@@ -57,6 +59,8 @@ public class SysFileController {
 
 	private final SysFileService sysFileService;
 
+	private final SysFileRenditionService sysFileRenditionService;
+
 	/**
 	 * 分页查询文件信息
 	 * @param page 分页参数对象
@@ -101,12 +105,21 @@ public class SysFileController {
 	 * 获取文件并写入响应流
 	 * @param bucket 桶名称
 	 * @param fileName 文件路径/名称
+	 * @param width 图片缩略图宽度，为空时返回原文件，只允许 {@code file.rendition-widths} 中配置的宽度
+	 * @param format 图片缩略图格式 jpg/png
+	 * @param request HTTP请求对象
 	 * @param response HTTP响应对象
 	 */
 	@Inner(false)
 	@GetMapping("/{bucket}/{fileName}")
-	public void file(@PathVariable String bucket, @PathVariable String fileName, HttpServletResponse response) {
-		sysFileService.getFile(bucket, fileName, response);
+	public void file(@PathVariable String bucket, @PathVariable String fileName,
+			@RequestParam(required = false) Integer width, @RequestParam(required = false) String format,
+			HttpServletRequest request, HttpServletResponse response) {
+		if (width != null && sysFileRenditionService.writeRendition(bucket, fileName, width, format, request,
+				response)) {
+			return;
+		}
+		sysFileService.getFile(bucket, fileName, request, response);
 	}
 
 	/**
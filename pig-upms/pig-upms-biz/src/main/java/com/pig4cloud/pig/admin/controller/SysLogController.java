@@ -25,6 +25,7 @@ import com.pig4cloud.pig.admin.api.dto.SysLogDTO;
 import com.pig4cloud.pig.admin.api.entity.SysLog;
 import com.pig4cloud.pig.admin.service.SysLogService;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import com.pig4cloud.pig.common.security.annotation.HasPermission;
 import com.pig4cloud.pig.common.security.annotation.Inner;
 import com.pig4cloud.plugin.excel.annotation.ResponseExcel;
@@ -87,15 +88,26 @@ public class SysLogController {
 	}
 
 	/**
-	 * 导出系统日志到Excel表格
+	 * 批量保存日志
+	 * @param sysLogs 日志实体列表
+	 * @return 操作结果，成功返回success，失败返回false
+	 */
+	@Inner
+	@PostMapping("/saveBatch")
+	public R saveLogBatch(@RequestBody List<SysLog> sysLogs) {
+		return R.ok(sysLogService.saveLogBatch(sysLogs));
+	}
+
+	/**
+	 * 导出系统日志到Excel表格，分批查询逐批写出
 	 * @param sysLog 系统日志查询条件DTO
-	 * @return 符合查询条件的系统日志列表
+	 * @return 系统日志流式导出数据源
 	 */
 	@ResponseExcel
 	@GetMapping("/export")
 	@HasPermission("sys_log_export")
-	public List<SysLog> exportLogs(SysLogDTO sysLog) {
-		return sysLogService.listLogs(sysLog);
+	public ExcelStream<SysLog> exportLogs(SysLogDTO sysLog) {
+		return sysLogService.exportLogs(sysLog);
 	}
 
 }
@@ -19,10 +19,10 @@
 
 package com.pig4cloud.pig.admin.controller;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -34,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.pig4cloud.pig.admin.api.entity.SysMenu;
 import com.pig4cloud.pig.admin.service.SysMenuService;
+import com.pig4cloud.pig.admin.service.UserMenuTree;
 import com.pig4cloud.pig.common.core.util.R;
 import com.pig4cloud.pig.common.log.annotation.SysLog;
 import com.pig4cloud.pig.common.security.annotation.HasPermission;
@@ -61,16 +62,20 @@ public class SysMenuController {
 
 	/**
 	 * 获取当前用户的树形菜单集合
+	 * <p>
+	 * 响应携带 ETag，菜单未变更时请求头 If-None-Match 命中返回 304
 	 * @param type 菜单类型
 	 * @param parentId 父菜单ID
 	 * @return 包含菜单数据的响应对象
 	 */
 	@GetMapping
-	public R getUserMenu(String type, Long parentId) {
-		// 获取符合条件的菜单
-		Set<SysMenu> all = new HashSet<>();
-		SecurityUtils.getRoles().forEach(roleId -> all.addAll(sysMenuService.findMenuByRoleId(roleId)));
-		return R.ok(sysMenuService.filterMenu(all, type, parentId));
+	public ResponseEntity<String> getUserMenu(String type, Long parentId) {
+		UserMenuTree menuTree = sysMenuService.getUserMenuTree(SecurityUtils.getRoles(), type, parentId);
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.noCache())
+			.eTag(menuTree.etag())
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(menuTree.body());
 	}
 
 	/**
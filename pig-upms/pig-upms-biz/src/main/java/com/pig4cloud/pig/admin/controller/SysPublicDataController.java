@@ -0,0 +1,58 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.admin.controller;
+
+import com.pig4cloud.pig.admin.api.dto.PublicDataSnapshot;
+import com.pig4cloud.pig.admin.service.SysPublicDataService;
+import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.security.annotation.Inner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 公共参数与字典数据快照控制器，供各服务本地副本同步
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/public-data")
+@Tag(description = "public-data", name = "公共数据快照")
+public class SysPublicDataController {
+
+	private final SysPublicDataService sysPublicDataService;
+
+	/**
+	 * 获取公共参数与字典数据快照
+	 * @param version 调用方本地副本版本号
+	 * @return 快照，版本号未变化时数据为空
+	 */
+	@Inner
+	@Operation(description = "获取公共数据快照", summary = "获取公共参数与字典数据快照")
+	@GetMapping("/snapshot")
+	public R<PublicDataSnapshot> getSnapshot(@RequestParam("version") long version) {
+		return R.ok(sysPublicDataService.getSnapshot(version));
+	}
+
+}
@@ -29,6 +29,7 @@ import com.pig4cloud.pig.admin.api.vo.RoleVO;
 import com.pig4cloud.pig.admin.service.SysRoleService;
 import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import com.pig4cloud.pig.common.log.annotation.SysLog;
 import com.pig4cloud.pig.common.security.annotation.HasPermission;
 import com.pig4cloud.plugin.excel.annotation.RequestExcel;
@@ -163,14 +164,14 @@ public class SysRoleController {
 	}
 
 	/**
-	 * 导出角色数据到Excel表格
-	 * @return 角色数据列表
+	 * 导出角色数据到Excel表格，分批查询逐批写出
+	 * @return 角色流式导出数据源
 	 */
 	@ResponseExcel
 	@GetMapping("/export")
 	@HasPermission("sys_role_export")
-	public List<RoleExcelVO> exportRoles() {
-		return sysRoleService.listRoles();
+	public ExcelStream<RoleExcelVO> exportRoles() {
+		return sysRoleService.exportRoles();
 	}
 
 	/**
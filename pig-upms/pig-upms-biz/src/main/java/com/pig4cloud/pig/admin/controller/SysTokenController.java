@@ -26,6 +26,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -72,4 +73,16 @@ public class SysTokenController {
 		return R.ok();
 	}
 
+	/**
+	 * 删除用户的全部token，强制该用户所有会话下线
+	 * @param username 用户名
+	 * @return 删除的token数
+	 */
+	@SysLog("强制用户下线")
+	@DeleteMapping("/user/{username}")
+	@HasPermission("sys_token_del")
+	public R removeByUsername(@PathVariable String username) {
+		return remoteTokenService.removeTokenByUsername(username);
+	}
+
 }
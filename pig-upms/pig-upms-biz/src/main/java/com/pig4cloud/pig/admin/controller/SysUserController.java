@@ -28,11 +28,11 @@ import com.pig4cloud.pig.admin.api.vo.UserExcelVO;
 import com.pig4cloud.pig.admin.service.SysUserService;
 import com.pig4cloud.pig.common.core.constant.CommonConstants;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import com.pig4cloud.pig.common.log.annotation.SysLog;
 import com.pig4cloud.pig.common.security.annotation.HasPermission;
 import com.pig4cloud.pig.common.security.annotation.Inner;
 import com.pig4cloud.pig.common.security.util.SecurityUtils;
-import com.pig4cloud.plugin.excel.annotation.RequestExcel;
 import com.pig4cloud.plugin.excel.annotation.ResponseExcel;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -41,10 +41,8 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpHeaders;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * 用户管理控制器
@@ -171,27 +169,26 @@ public class SysUserController {
 	}
 
 	/**
-	 * 导出用户数据到Excel表格
+	 * 导出用户数据到Excel表格，分批查询逐批写出
 	 * @param userDTO 用户查询条件
-	 * @return 用户数据列表
+	 * @return 用户流式导出数据源
 	 */
 	@ResponseExcel
 	@GetMapping("/export")
 	@HasPermission("sys_user_export")
-	public List exportUsers(UserDTO userDTO) {
-		return userService.listUsers(userDTO);
+	public ExcelStream<UserExcelVO> exportUsers(UserDTO userDTO) {
+		return userService.exportUsers(userDTO);
 	}
 
 	/**
-	 * 导入用户信息
-	 * @param excelVOList 用户Excel数据列表
-	 * @param bindingResult 数据校验结果
+	 * 导入用户信息，流式读取 Excel 分批校验入库
+	 * @param file 用户Excel文件
 	 * @return 导入结果
 	 */
 	@PostMapping("/import")
 	@HasPermission("sys_user_export")
-	public R importUser(@RequestExcel List<UserExcelVO> excelVOList, BindingResult bindingResult) {
-		return userService.importUsers(excelVOList, bindingResult);
+	public R importUser(@RequestPart("file") MultipartFile file) {
+		return userService.importUsers(file);
 	}
 
 	/**
@@ -22,6 +22,9 @@ package com.pig4cloud.pig.admin.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.pig4cloud.pig.admin.api.entity.SysLog;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 系统日志表 Mapper 接口
@@ -31,4 +34,11 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface SysLogMapper extends BaseMapper<SysLog> {
 
+	/**
+	 * 多行插入日志
+	 * @param sysLogs 日志列表
+	 * @return 插入行数
+	 */
+	int insertBatch(@Param("list") List<SysLog> sysLogs);
+
 }
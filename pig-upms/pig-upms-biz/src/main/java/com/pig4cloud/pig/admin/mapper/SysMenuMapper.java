@@ -22,7 +22,9 @@ package com.pig4cloud.pig.admin.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.pig4cloud.pig.admin.api.entity.SysMenu;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -43,4 +45,11 @@ public interface SysMenuMapper extends BaseMapper<SysMenu> {
 	 */
 	List<SysMenu> listMenusByRoleId(Long roleId);
 
+	/**
+	 * 通过角色编号批量查询权限标识
+	 * @param roleIds 角色ID集合
+	 * @return 去重后的权限标识
+	 */
+	List<String> listPermissionsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
 }
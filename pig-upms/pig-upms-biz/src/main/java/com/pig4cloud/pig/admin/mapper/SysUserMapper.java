@@ -23,7 +23,9 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.pig4cloud.pig.admin.api.dto.UserDTO;
+import com.pig4cloud.pig.admin.api.dto.UserInfo;
 import com.pig4cloud.pig.admin.api.entity.SysUser;
+import com.pig4cloud.pig.admin.api.vo.UserExcelVO;
 import com.pig4cloud.pig.admin.api.vo.UserVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -48,6 +50,13 @@ public interface SysUserMapper extends BaseMapper<SysUser> {
 	 */
 	UserVO getUser(@Param("query") UserDTO userDTO);
 
+	/**
+	 * 查询登录用户信息，部门、角色、岗位关联查询一次返回
+	 * @param userDTO 用户查询条件DTO
+	 * @return 用户信息
+	 */
+	UserInfo getUserInfo(@Param("query") UserDTO userDTO);
+
 	/**
 	 * 分页查询用户信息（含角色）
 	 * @param page 分页参数
@@ -57,10 +66,12 @@ public interface SysUserMapper extends BaseMapper<SysUser> {
 	IPage<UserVO> getUsersPage(Page page, @Param("query") UserDTO userDTO);
 
 	/**
-	 * 查询用户列表
+	 * 按用户ID游标倒序分页查询导出用户，部门、角色、岗位名称关联查询拼接
+	 * @param page 分页参数，只取条数不查总数
 	 * @param userDTO 查询条件
-	 * @return 用户VO列表
+	 * @param last 上一批最后一行，首批为null
+	 * @return 用户Excel视图对象列表
 	 */
-	List<UserVO> listUsers(@Param("query") UserDTO userDTO);
+	List<UserExcelVO> listUserExcel(Page page, @Param("query") UserDTO userDTO, @Param("last") UserExcelVO last);
 
 }
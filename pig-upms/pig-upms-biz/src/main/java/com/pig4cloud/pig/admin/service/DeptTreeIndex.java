@@ -0,0 +1,281 @@
+/*
+ *
+ *      Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ *  this list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  Neither the name of the pig4cloud.com developer nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ *  Author: lengleng (wangiegie@gmail.com)
+ *
+ */
+
+package com.pig4cloud.pig.admin.service;
+
+import com.pig4cloud.pig.admin.api.entity.SysDept;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部门树索引
+ * <p>
+ * 部门按先序遍历（欧拉序）排列，每个部门的子树对应一段连续区间 [pos, end)， 后代查询直接截取区间，祖先查询沿父指针上溯，均为
+ * O(k)。子部门以 CSR 邻接数组存储。实例不可变，部门变更后整体重建
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public final class DeptTreeIndex {
+
+	private static final int NONE = -1;
+
+	/**
+	 * 构建时对应的版本号
+	 */
+	private final long version;
+
+	/**
+	 * 先序排列的部门
+	 */
+	private final SysDept[] order;
+
+	/**
+	 * 子树区间结束位置（不含）
+	 */
+	private final int[] end;
+
+	/**
+	 * 父部门位置，根部门为 {@link #NONE}
+	 */
+	private final int[] parent;
+
+	/**
+	 * 子部门邻接数组起始下标，children[childStart[i], childStart[i + 1]) 为 i 的直接子部门
+	 */
+	private final int[] childStart;
+
+	private final int[] children;
+
+	private final Map<Long, Integer> positions;
+
+	private DeptTreeIndex(long version, SysDept[] order, int[] end, int[] parent, int[] childStart, int[] children,
+			Map<Long, Integer> positions) {
+		this.version = version;
+		this.order = order;
+		this.end = end;
+		this.parent = parent;
+		this.childStart = childStart;
+		this.children = children;
+		this.positions = positions;
+	}
+
+	/**
+	 * 构建部门树索引
+	 * <p>
+	 * 父部门不存在或指向自身的部门视为根部门，同级按排序值、部门ID排序。成环的部门无法从根部门到达，不会进入索引
+	 * @param depts 全部部门
+	 * @param version 版本号
+	 * @return 部门树索引
+	 */
+	public static DeptTreeIndex build(List<SysDept> depts, long version) {
+		int size = depts.size();
+		SysDept[] sorted = depts.toArray(new SysDept[0]);
+		Arrays.sort(sorted, Comparator
+			.comparing(SysDept::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(SysDept::getDeptId));
+
+		Map<Long, Integer> sortedIndex = new HashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			sortedIndex.put(sorted[i].getDeptId(), i);
+		}
+
+		// 按父部门分组的邻接表（排序后下标）
+		int[] firstChild = new int[size];
+		int[] nextSibling = new int[size];
+		int[] lastChild = new int[size];
+		Arrays.fill(firstChild, NONE);
+		Arrays.fill(nextSibling, NONE);
+		List<Integer> roots = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Integer p = sortedIndex.get(sorted[i].getParentId());
+			if (p == null || p == i) {
+				roots.add(i);
+				continue;
+			}
+			if (firstChild[p] == NONE) {
+				firstChild[p] = i;
+			}
+			else {
+				nextSibling[lastChild[p]] = i;
+			}
+			lastChild[p] = i;
+		}
+
+		// 迭代先序遍历，避免深层级递归栈溢出
+		SysDept[] order = new SysDept[size];
+		int[] end = new int[size];
+		int[] parent = new int[size];
+		int[] stackPos = new int[size];
+		int[] nextChild = new int[size];
+		int count = 0;
+		for (int root : roots) {
+			int top = 0;
+			stackPos[0] = count;
+			parent[count] = NONE;
+			order[count++] = sorted[root];
+			nextChild[0] = firstChild[root];
+			while (top >= 0) {
+				int child = nextChild[top];
+				if (child == NONE) {
+					end[stackPos[top]] = count;
+					top--;
+					continue;
+				}
+				nextChild[top] = nextSibling[child];
+				parent[count] = stackPos[top];
+				stackPos[++top] = count;
+				nextChild[top] = firstChild[child];
+				order[count++] = sorted[child];
+			}
+		}
+
+		Map<Long, Integer> positions = new HashMap<>(count * 2);
+		int[] childCount = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			positions.put(order[i].getDeptId(), i);
+			if (parent[i] != NONE) {
+				childCount[parent[i] + 1]++;
+			}
+		}
+		int[] childStart = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			childStart[i + 1] = childStart[i] + childCount[i + 1];
+		}
+		int[] children = new int[childStart[count]];
+		int[] cursor = Arrays.copyOf(childStart, count);
+		for (int i = 0; i < count; i++) {
+			if (parent[i] != NONE) {
+				children[cursor[parent[i]]++] = i;
+			}
+		}
+
+		return new DeptTreeIndex(version, Arrays.copyOf(order, count), Arrays.copyOf(end, count),
+				Arrays.copyOf(parent, count), childStart, children, positions);
+	}
+
+	/**
+	 * 构建时对应的版本号
+	 * @return 版本号
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * 获取部门
+	 * @param deptId 部门ID
+	 * @return 部门，不存在返回null
+	 */
+	public SysDept get(Long deptId) {
+		Integer pos = positions.get(deptId);
+		return pos == null ? null : order[pos];
+	}
+
+	/**
+	 * 全部部门，按树先序排列
+	 * @return 部门列表
+	 */
+	public List<SysDept> list() {
+		return Collections.unmodifiableList(Arrays.asList(order));
+	}
+
+	/**
+	 * 查询部门及其全部后代部门，按树先序排列，首个元素为部门自身
+	 * @param deptId 部门ID
+	 * @return 部门列表，部门不存在返回空列表
+	 */
+	public List<SysDept> listDescendants(Long deptId) {
+		Integer pos = positions.get(deptId);
+		if (pos == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(Arrays.asList(order).subList(pos, end[pos]));
+	}
+
+	/**
+	 * 查询部门及其全部后代部门ID
+	 * @param deptId 部门ID
+	 * @return 部门ID列表，部门不存在返回空列表
+	 */
+	public List<Long> listDescendantIds(Long deptId) {
+		Integer pos = positions.get(deptId);
+		if (pos == null) {
+			return Collections.emptyList();
+		}
+		List<Long> ids = new ArrayList<>(end[pos] - pos);
+		for (int i = pos; i < end[pos]; i++) {
+			ids.add(order[i].getDeptId());
+		}
+		return ids;
+	}
+
+	/**
+	 * 查询直接子部门
+	 * @param deptId 部门ID
+	 * @return 子部门列表
+	 */
+	public List<SysDept> listChildren(Long deptId) {
+		Integer pos = positions.get(deptId);
+		if (pos == null) {
+			return Collections.emptyList();
+		}
+		List<SysDept> result = new ArrayList<>(childStart[pos + 1] - childStart[pos]);
+		for (int i = childStart[pos]; i < childStart[pos + 1]; i++) {
+			result.add(order[children[i]]);
+		}
+		return result;
+	}
+
+	/**
+	 * 查询全部祖先部门，由近及远，不含部门自身
+	 * @param deptId 部门ID
+	 * @return 祖先部门列表
+	 */
+	public List<SysDept> listAncestors(Long deptId) {
+		Integer pos = positions.get(deptId);
+		if (pos == null) {
+			return Collections.emptyList();
+		}
+		List<SysDept> result = new ArrayList<>();
+		for (int p = parent[pos]; p != NONE; p = parent[p]) {
+			result.add(order[p]);
+		}
+		return result;
+	}
+
+	/**
+	 * 判断部门是否为祖先部门自身或其后代，O(1)
+	 * @param ancestorId 祖先部门ID
+	 * @param deptId 部门ID
+	 * @return 是否为后代
+	 */
+	public boolean isDescendant(Long ancestorId, Long deptId) {
+		Integer ancestor = positions.get(ancestorId);
+		Integer pos = positions.get(deptId);
+		return ancestor != null && pos != null && ancestor <= pos && pos < end[ancestor];
+	}
+
+}
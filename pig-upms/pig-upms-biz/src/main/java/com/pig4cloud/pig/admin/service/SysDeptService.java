@@ -71,4 +71,10 @@ public interface SysDeptService extends IService<SysDept> {
 	 */
 	List<SysDept> listDescendants(Long deptId);
 
+	/**
+	 * 获取部门树索引，部门变更后各节点通过 Redis 版本号感知并重建
+	 * @return 部门树索引
+	 */
+	DeptTreeIndex getDeptTreeIndex();
+
 }
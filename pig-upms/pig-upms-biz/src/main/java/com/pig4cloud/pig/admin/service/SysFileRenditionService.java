@@ -0,0 +1,51 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.admin.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 图片缩略图服务：按宽度、格式生成并缓存图片的衍生版本
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public interface SysFileRenditionService {
+
+	/**
+	 * 输出图片缩略图，不存在时生成并保存
+	 * @param bucket 存储桶名称
+	 * @param fileName 原图文件名
+	 * @param width 目标宽度，须在 {@code file.rendition-widths} 中，不放大原图
+	 * @param format 输出格式 jpg/png，为空时按原图类型选择
+	 * @param request HTTP请求对象
+	 * @param response HTTP响应对象
+	 * @return 是否已输出，宽度不允许时输出400并返回true；原文件不是图片或生成失败时返回false，由调用方输出原文件
+	 */
+	boolean writeRendition(String bucket, String fileName, int width, String format, HttpServletRequest request,
+			HttpServletResponse response);
+
+	/**
+	 * 删除图片的全部缩略图
+	 * @param bucket 存储桶名称
+	 * @param fileName 原图文件名
+	 */
+	void removeRenditions(String bucket, String fileName);
+
+}
@@ -20,6 +20,7 @@ package com.pig4cloud.pig.admin.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.pig4cloud.pig.admin.api.entity.SysFile;
 import com.pig4cloud.pig.common.core.util.R;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -45,9 +46,10 @@ public interface SysFileService extends IService<SysFile> {
 	 * 从指定存储桶中获取文件并写入HTTP响应流
 	 * @param bucket 存储桶名称
 	 * @param fileName 文件名
+	 * @param request HTTP请求对象，读取 Range、If-None-Match 等请求头
 	 * @param response HTTP响应对象
 	 */
-	void getFile(String bucket, String fileName, HttpServletResponse response);
+	void getFile(String bucket, String fileName, HttpServletRequest request, HttpServletResponse response);
 
 	/**
 	 * 根据ID删除文件
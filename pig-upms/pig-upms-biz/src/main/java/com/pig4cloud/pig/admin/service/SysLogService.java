@@ -23,6 +23,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.pig4cloud.pig.admin.api.dto.SysLogDTO;
 import com.pig4cloud.pig.admin.api.entity.SysLog;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 
 import java.util.List;
 
@@ -52,10 +53,17 @@ public interface SysLogService extends IService<SysLog> {
 	Boolean saveLog(SysLog sysLog);
 
 	/**
-	 * 查询日志列表
+	 * 批量保存日志
+	 * @param sysLogs 日志实体列表
+	 * @return Boolean
+	 */
+	Boolean saveLogBatch(List<SysLog> sysLogs);
+
+	/**
+	 * 流式导出日志
 	 * @param sysLog 查询条件
-	 * @return 日志列表
+	 * @return 流式导出数据源
 	 */
-	List<SysLog> listLogs(SysLogDTO sysLog);
+	ExcelStream<SysLog> exportLogs(SysLogDTO sysLog);
 
 }
@@ -24,8 +24,8 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.pig4cloud.pig.admin.api.entity.SysMenu;
 import com.pig4cloud.pig.common.core.util.R;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 菜单权限服务接口
@@ -75,6 +75,15 @@ public interface SysMenuService extends IService<SysMenu> {
 	 * @param parentId 父节点ID
 	 * @return
 	 */
-	List<Tree<Long>> filterMenu(Set<SysMenu> all, String type, Long parentId);
+	List<Tree<Long>> filterMenu(Collection<SysMenu> all, String type, Long parentId);
+
+	/**
+	 * 查询角色集合的菜单树，结果按角色集合、类型、父节点缓存已序列化的响应体
+	 * @param roleIds 角色ID集合
+	 * @param type 类型
+	 * @param parentId 父节点ID
+	 * @return 已序列化的菜单树
+	 */
+	UserMenuTree getUserMenuTree(Collection<Long> roleIds, String type, Long parentId);
 
 }
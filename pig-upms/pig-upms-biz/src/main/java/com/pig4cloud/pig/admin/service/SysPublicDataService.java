@@ -15,26 +15,28 @@
  * Author: lengleng (wangiegie@gmail.com)
  */
 
-package com.pig4cloud.pig.daemon.quartz.event;
+package com.pig4cloud.pig.admin.service;
 
-import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import org.quartz.Trigger;
+import com.pig4cloud.pig.admin.api.dto.PublicDataSnapshot;
 
 /**
- * 系统任务事件类，用于封装定时任务及其触发器
+ * 公共参数与字典数据快照服务，供各服务本地副本同步
  *
- * @author frwcloud
  * @author lengleng
- * @date 2025/05/31
+ * @date 2026/10/18
  */
-@Getter
-@AllArgsConstructor
-public class SysJobEvent {
+public interface SysPublicDataService {
 
-	private final SysJob sysJob;
+	/**
+	 * 获取快照
+	 * @param version 调用方本地副本版本号
+	 * @return 快照，版本号未变化时返回null
+	 */
+	PublicDataSnapshot getSnapshot(long version);
 
-	private final Trigger trigger;
+	/**
+	 * 参数或字典变更后递增版本号并通知各节点，存在事务时在提交后执行
+	 */
+	void publishChange();
 
 }
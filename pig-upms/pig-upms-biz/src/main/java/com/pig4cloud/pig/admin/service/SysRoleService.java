@@ -24,6 +24,7 @@ import com.pig4cloud.pig.admin.api.entity.SysRole;
 import com.pig4cloud.pig.admin.api.vo.RoleExcelVO;
 import com.pig4cloud.pig.admin.api.vo.RoleVO;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import org.springframework.validation.BindingResult;
 
 import java.util.List;
@@ -77,9 +78,9 @@ public interface SysRoleService extends IService<SysRole> {
 	R importRole(List<RoleExcelVO> excelVOList, BindingResult bindingResult);
 
 	/**
-	 * 查询全部角色列表
-	 * @return 角色列表，包含角色Excel视图对象
+	 * 流式导出角色
+	 * @return 流式导出数据源
 	 */
-	List<RoleExcelVO> listRoles();
+	ExcelStream<RoleExcelVO> exportRoles();
 
 }
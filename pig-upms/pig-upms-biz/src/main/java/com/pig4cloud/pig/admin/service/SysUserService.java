@@ -29,9 +29,8 @@ import com.pig4cloud.pig.admin.api.entity.SysUser;
 import com.pig4cloud.pig.admin.api.vo.UserExcelVO;
 import com.pig4cloud.pig.admin.api.vo.UserVO;
 import com.pig4cloud.pig.common.core.util.R;
-import org.springframework.validation.BindingResult;
-
-import java.util.List;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * 系统用户服务接口
@@ -94,19 +93,18 @@ public interface SysUserService extends IService<SysUser> {
 	Boolean saveUser(UserDTO userDto);
 
 	/**
-	 * 查询全部的用户
+	 * 流式导出用户
 	 * @param userDTO 查询条件
-	 * @return list
+	 * @return 流式导出数据源
 	 */
-	List<UserExcelVO> listUsers(UserDTO userDTO);
+	ExcelStream<UserExcelVO> exportUsers(UserDTO userDTO);
 
 	/**
-	 * excel 导入用户
-	 * @param excelVOList excel 列表数据
-	 * @param bindingResult 错误数据
+	 * excel 导入用户，流式读取并分批写入
+	 * @param file excel 文件
 	 * @return ok fail
 	 */
-	R importUsers(List<UserExcelVO> excelVOList, BindingResult bindingResult);
+	R importUsers(MultipartFile file);
 
 	/**
 	 * 注册用户
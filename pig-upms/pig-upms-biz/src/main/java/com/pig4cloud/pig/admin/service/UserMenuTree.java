@@ -0,0 +1,36 @@
+/*
+ *
+ *      Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ *  this list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  Neither the name of the pig4cloud.com developer nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ *  Author: lengleng (wangiegie@gmail.com)
+ *
+ */
+
+package com.pig4cloud.pig.admin.service;
+
+import java.io.Serializable;
+
+/**
+ * 已构建并序列化的用户菜单树
+ *
+ * @param etag 响应体摘要，用于协商缓存
+ * @param body 序列化后的响应体
+ * @author lengleng
+ * @date 2026/10/18
+ */
+public record UserMenuTree(String etag, String body) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+}
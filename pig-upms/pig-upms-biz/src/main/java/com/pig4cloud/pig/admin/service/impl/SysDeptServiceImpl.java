@@ -19,7 +19,6 @@
 
 package com.pig4cloud.pig.admin.service.impl;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,8 +28,11 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.BindingResult;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
@@ -38,7 +40,9 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.admin.api.entity.SysDept;
 import com.pig4cloud.pig.admin.api.vo.DeptExcelVo;
 import com.pig4cloud.pig.admin.mapper.SysDeptMapper;
+import com.pig4cloud.pig.admin.service.DeptTreeIndex;
 import com.pig4cloud.pig.admin.service.SysDeptService;
+import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.util.R;
 import com.pig4cloud.plugin.excel.vo.ErrorMessage;
 
@@ -47,7 +51,7 @@ import cn.hutool.core.lang.tree.Tree;
 import cn.hutool.core.lang.tree.TreeNode;
 import cn.hutool.core.lang.tree.TreeUtil;
 import cn.hutool.core.util.StrUtil;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
 /**
  * 部门管理服务实现类
@@ -57,11 +61,44 @@ import lombok.AllArgsConstructor;
  * @since 2018-01-20
  */
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> implements SysDeptService {
 
+	private static final String ROOT_DEPT_NAME = "根部门";
+
 	private final SysDeptMapper deptMapper;
 
+	private final StringRedisTemplate redisTemplate;
+
+	/**
+	 * 本节点部门树索引，版本号与 Redis 不一致时重建
+	 */
+	private volatile DeptTreeIndex deptTreeIndex;
+
+	/**
+	 * 新增部门
+	 * @param sysDept 部门实体
+	 * @return 是否成功
+	 */
+	@Override
+	public boolean save(SysDept sysDept) {
+		boolean saved = super.save(sysDept);
+		evictDeptTree();
+		return saved;
+	}
+
+	/**
+	 * 修改部门
+	 * @param sysDept 部门实体
+	 * @return 是否成功
+	 */
+	@Override
+	public boolean updateById(SysDept sysDept) {
+		boolean updated = super.updateById(sysDept);
+		evictDeptTree();
+		return updated;
+	}
+
 	/**
 	 * 根据部门ID删除部门（包含级联删除子部门）
 	 * @param id 要删除的部门ID
@@ -72,9 +109,10 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 	@Transactional(rollbackFor = Exception.class)
 	public Boolean removeDeptById(Long id) {
 		// 级联删除部门
-		List<Long> idList = this.listDescendants(id).stream().map(SysDept::getDeptId).toList();
+		List<Long> idList = getDeptTreeIndex().listDescendantIds(id);
 
 		Optional.ofNullable(idList).filter(CollUtil::isNotEmpty).ifPresent(this::removeByIds);
+		evictDeptTree();
 
 		return Boolean.TRUE;
 	}
@@ -86,9 +124,9 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 	 */
 	@Override
 	public List<Tree<Long>> getDeptTree(String deptName) {
-		// 查询全部部门
-		List<SysDept> deptAllList = deptMapper
-			.selectList(Wrappers.<SysDept>lambdaQuery().like(StrUtil.isNotBlank(deptName), SysDept::getName, deptName));
+		// 查询全部部门，无查询条件时直接使用部门树索引
+		List<SysDept> deptAllList = StrUtil.isBlank(deptName) ? getDeptTreeIndex().list()
+				: deptMapper.selectList(Wrappers.<SysDept>lambdaQuery().like(SysDept::getName, deptName));
 
 		// 权限内部门
 		List<TreeNode<Long>> collect = deptAllList.stream()
@@ -127,20 +165,15 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 	 */
 	@Override
 	public List<DeptExcelVo> exportDepts() {
-		List<SysDept> list = this.list();
-		List<DeptExcelVo> deptExcelVos = list.stream().map(item -> {
+		DeptTreeIndex index = getDeptTreeIndex();
+		return index.list().stream().map(item -> {
 			DeptExcelVo deptExcelVo = new DeptExcelVo();
 			deptExcelVo.setName(item.getName());
-			Optional<String> first = this.list()
-				.stream()
-				.filter(it -> item.getParentId().equals(it.getDeptId()))
-				.map(SysDept::getName)
-				.findFirst();
-			deptExcelVo.setParentName(first.orElse("根部门"));
+			SysDept parent = index.get(item.getParentId());
+			deptExcelVo.setParentName(parent == null ? ROOT_DEPT_NAME : parent.getName());
 			deptExcelVo.setSortOrder(item.getSortOrder());
 			return deptExcelVo;
 		}).toList();
-		return deptExcelVos;
 	}
 
 	/**
@@ -153,15 +186,17 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 	public R importDept(List<DeptExcelVo> excelVOList, BindingResult bindingResult) {
 		List<ErrorMessage> errorMessageList = (List<ErrorMessage>) bindingResult.getTarget();
 
-		List<SysDept> deptList = this.list();
+		// 部门名称索引，导入过程中新增的部门也可作为后续行的上级部门
+		Map<String, SysDept> nameIndex = new HashMap<>();
+		getDeptTreeIndex().list().forEach(dept -> nameIndex.putIfAbsent(dept.getName(), dept));
 		for (DeptExcelVo item : excelVOList) {
 			Set<String> errorMsg = new HashSet<>();
-			boolean exsitUsername = deptList.stream().anyMatch(sysDept -> item.getName().equals(sysDept.getName()));
+			boolean exsitUsername = nameIndex.containsKey(item.getName());
 			if (exsitUsername) {
 				errorMsg.add("部门名称已经存在");
 			}
-			SysDept one = this.getOne(Wrappers.<SysDept>lambdaQuery().eq(SysDept::getName, item.getParentName()));
-			if (item.getParentName().equals("根部门")) {
+			SysDept one = nameIndex.get(item.getParentName());
+			if (item.getParentName().equals(ROOT_DEPT_NAME)) {
 				one = new SysDept();
 				one.setDeptId(0L);
 			}
@@ -174,12 +209,14 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 				sysDept.setParentId(one.getDeptId());
 				sysDept.setSortOrder(item.getSortOrder());
 				baseMapper.insert(sysDept);
+				nameIndex.put(sysDept.getName(), sysDept);
 			}
 			else {
 				// 数据不合法情况
 				errorMessageList.add(new ErrorMessage(item.getLineNum(), errorMsg));
 			}
 		}
+		evictDeptTree();
 		if (CollUtil.isNotEmpty(errorMessageList)) {
 			return R.failed(errorMessageList);
 		}
@@ -189,34 +226,62 @@ public class SysDeptServiceImpl extends ServiceImpl<SysDeptMapper, SysDept> impl
 	/**
 	 * 查询部门及其所有子部门
 	 * @param deptId 目标部门ID
-	 * @return 包含目标部门及其所有子部门的列表
+	 * @return 包含目标部门及其所有子部门的列表，目标部门在首位
 	 */
 	@Override
 	public List<SysDept> listDescendants(Long deptId) {
-		// 查询全部部门
-		List<SysDept> allDeptList = baseMapper.selectList(Wrappers.emptyWrapper());
+		return getDeptTreeIndex().listDescendants(deptId);
+	}
 
-		// 递归查询所有子节点
-		List<SysDept> resDeptList = new ArrayList<>();
-		recursiveDept(allDeptList, deptId, resDeptList);
+	/**
+	 * 获取部门树索引
+	 * <p>
+	 * 每次读取 Redis 中的版本号，与本地索引一致直接返回，否则全量加载部门重建
+	 * @return 部门树索引
+	 */
+	@Override
+	public DeptTreeIndex getDeptTreeIndex() {
+		long version = currentVersion();
+		DeptTreeIndex index = deptTreeIndex;
+		if (index != null && index.getVersion() == version) {
+			return index;
+		}
 
-		// 添加当前节点
-		resDeptList.addAll(allDeptList.stream().filter(sysDept -> deptId.equals(sysDept.getDeptId())).toList());
-		return resDeptList;
+		synchronized (this) {
+			index = deptTreeIndex;
+			if (index == null || index.getVersion() != version) {
+				index = DeptTreeIndex.build(baseMapper.selectList(Wrappers.emptyWrapper()), version);
+				deptTreeIndex = index;
+			}
+			return index;
+		}
 	}
 
 	/**
-	 * 递归查询所有子节点
-	 * @param allDeptList 所有部门列表
-	 * @param parentId 父部门ID
-	 * @param resDeptList 结果集合
+	 * 部门变更后递增版本号，存在事务时在提交后执行，避免其他节点读到未提交数据
 	 */
-	private void recursiveDept(List<SysDept> allDeptList, Long parentId, List<SysDept> resDeptList) {
-		// 使用 Stream API 进行筛选和遍历
-		allDeptList.stream().filter(sysDept -> sysDept.getParentId().equals(parentId)).forEach(sysDept -> {
-			resDeptList.add(sysDept);
-			recursiveDept(allDeptList, sysDept.getDeptId(), resDeptList);
-		});
+	private void evictDeptTree() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					incrementVersion();
+				}
+			});
+		}
+		else {
+			incrementVersion();
+		}
+	}
+
+	private void incrementVersion() {
+		redisTemplate.opsForValue().increment(CacheConstants.DEPT_TREE_VERSION);
+		deptTreeIndex = null;
+	}
+
+	private long currentVersion() {
+		String version = redisTemplate.opsForValue().get(CacheConstants.DEPT_TREE_VERSION);
+		return version == null ? 0L : Long.parseLong(version);
 	}
 
 }
@@ -22,6 +22,7 @@ import com.pig4cloud.pig.admin.api.entity.SysDictItem;
 import com.pig4cloud.pig.admin.mapper.SysDictItemMapper;
 import com.pig4cloud.pig.admin.service.SysDictItemService;
 import com.pig4cloud.pig.admin.service.SysDictService;
+import com.pig4cloud.pig.admin.service.SysPublicDataService;
 import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.constant.enums.DictTypeEnum;
 import com.pig4cloud.pig.common.core.exception.ErrorCodes;
@@ -43,6 +44,20 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
 
 	private final SysDictService dictService;
 
+	private final SysPublicDataService sysPublicDataService;
+
+	/**
+	 * 新增字典项，并通知各服务本地副本
+	 * @param entity 字典项
+	 * @return 是否成功
+	 */
+	@Override
+	public boolean save(SysDictItem entity) {
+		boolean saved = super.save(entity);
+		sysPublicDataService.publishChange();
+		return saved;
+	}
+
 	/**
 	 * 删除字典项
 	 * @param id 字典项ID
@@ -59,7 +74,9 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
 		if (DictTypeEnum.SYSTEM.getType().equals(dict.getSystemFlag())) {
 			return R.failed(MsgUtils.getMessage(ErrorCodes.SYS_DICT_DELETE_SYSTEM));
 		}
-		return R.ok(this.removeById(id));
+		boolean removed = this.removeById(id);
+		sysPublicDataService.publishChange();
+		return R.ok(removed);
 	}
 
 	/**
@@ -77,7 +94,9 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
 		if (DictTypeEnum.SYSTEM.getType().equals(dict.getSystemFlag())) {
 			return R.failed(MsgUtils.getMessage(ErrorCodes.SYS_DICT_UPDATE_SYSTEM));
 		}
-		return R.ok(this.updateById(item));
+		boolean updated = this.updateById(item);
+		sysPublicDataService.publishChange();
+		return R.ok(updated);
 	}
 
 }
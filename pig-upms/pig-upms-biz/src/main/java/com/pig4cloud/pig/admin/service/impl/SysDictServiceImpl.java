@@ -29,6 +29,7 @@ import com.pig4cloud.pig.admin.api.entity.SysDictItem;
 import com.pig4cloud.pig.admin.mapper.SysDictItemMapper;
 import com.pig4cloud.pig.admin.mapper.SysDictMapper;
 import com.pig4cloud.pig.admin.service.SysDictService;
+import com.pig4cloud.pig.admin.service.SysPublicDataService;
 import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.constant.enums.DictTypeEnum;
 import com.pig4cloud.pig.common.core.exception.ErrorCodes;
@@ -50,6 +51,8 @@ public class SysDictServiceImpl extends ServiceImpl<SysDictMapper, SysDict> impl
 
 	private final SysDictItemMapper dictItemMapper;
 
+	private final SysPublicDataService sysPublicDataService;
+
 	/**
 	 * 根据ID删除字典
 	 * @param ids 字典ID数组
@@ -69,6 +72,7 @@ public class SysDictServiceImpl extends ServiceImpl<SysDictMapper, SysDict> impl
 		baseMapper.deleteByIds(dictIdList);
 
 		dictItemMapper.delete(Wrappers.<SysDictItem>lambdaQuery().in(SysDictItem::getDictId, dictIdList));
+		sysPublicDataService.publishChange();
 		return R.ok();
 	}
 
@@ -87,6 +91,7 @@ public class SysDictServiceImpl extends ServiceImpl<SysDictMapper, SysDict> impl
 			return R.failed(MsgUtils.getMessage(ErrorCodes.SYS_DICT_UPDATE_SYSTEM));
 		}
 		this.updateById(dict);
+		sysPublicDataService.publishChange();
 		return R.ok(dict);
 	}
 
@@ -97,6 +102,7 @@ public class SysDictServiceImpl extends ServiceImpl<SysDictMapper, SysDict> impl
 	@Override
 	@CacheEvict(value = CacheConstants.DICT_DETAILS, allEntries = true)
 	public R syncDictCache() {
+		sysPublicDataService.publishChange();
 		return R.ok();
 	}
 
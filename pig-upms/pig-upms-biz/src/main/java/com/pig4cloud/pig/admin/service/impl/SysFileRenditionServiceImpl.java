@@ -0,0 +1,341 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.admin.service.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import com.pig4cloud.pig.admin.service.SysFileRenditionService;
+import com.pig4cloud.pig.common.file.core.FileProperties;
+import com.pig4cloud.pig.common.file.core.FileTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 图片缩略图服务实现
+ * <p>
+ * 查找顺序为内存热点缓存、存储中的缩略图、实时生成。 生成在独立的有界线程池中进行，同一缩略图的并发请求共用一次生成；生成结果以
+ * {@code 原文件名.w宽度.格式} 保存到同一存储桶
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+@Service
+public class SysFileRenditionServiceImpl implements SysFileRenditionService, DisposableBean {
+
+	private static final Set<String> IMAGE_TYPES = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+	/**
+	 * 缩略图文件名，{@code 原文件名.w宽度.格式}
+	 */
+	private static final Pattern RENDITION_NAME = Pattern.compile(".+\\.w\\d+\\.(jpg|png)$");
+
+	/**
+	 * 原图像素上限，防止超大图片解码耗尽内存
+	 */
+	private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+	/**
+	 * 热点缓存容量（字节）
+	 */
+	private static final long HOT_TIER_BYTES = 32L * 1024 * 1024;
+
+	private static final long RENDER_TIMEOUT_SECONDS = 10;
+
+	private final FileTemplate fileTemplate;
+
+	private final FileProperties fileProperties;
+
+	private final Map<String, CompletableFuture<Rendition>> rendering = new ConcurrentHashMap<>();
+
+	private final Map<String, Rendition> hotTier = new LinkedHashMap<>(256, 0.75f, true);
+
+	private long hotTierBytes;
+
+	private final ThreadPoolExecutor renderExecutor;
+
+	public SysFileRenditionServiceImpl(FileTemplate fileTemplate, FileProperties fileProperties) {
+		this.fileTemplate = fileTemplate;
+		this.fileProperties = fileProperties;
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger index = new AtomicInteger();
+		this.renderExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(64), runnable -> {
+					Thread thread = new Thread(runnable, "pig-file-rendition-" + index.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * 缩略图
+	 *
+	 * @param bytes 图片内容
+	 * @param etag 内容摘要
+	 * @param contentType 内容类型
+	 */
+	private record Rendition(byte[] bytes, String etag, String contentType) {
+
+	}
+
+	@Override
+	public boolean writeRendition(String bucket, String fileName, int width, String format,
+			HttpServletRequest request, HttpServletResponse response) {
+		String extName = StrUtil.blankToDefault(FileUtil.extName(fileName), StrUtil.EMPTY).toLowerCase();
+		if (!IMAGE_TYPES.contains(extName)) {
+			return false;
+		}
+
+		// 只允许配置的宽度，避免任意宽度的请求各自生成并保存一份缩略图；缩略图本身不再生成缩略图，避免逐级嵌套
+		if (!fileProperties.getRenditionWidths().contains(width) || RENDITION_NAME.matcher(fileName).matches()) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return true;
+		}
+
+		String targetFormat = resolveFormat(format, extName);
+		String key = renditionName(fileName, width, targetFormat);
+
+		Rendition rendition;
+		try {
+			rendition = getRendition(bucket, fileName, key, width, targetFormat);
+		}
+		catch (Exception e) {
+			log.warn("生成缩略图失败 {}/{} 返回原图 {}", bucket, key, e.getLocalizedMessage());
+			return false;
+		}
+
+		response.setHeader(HttpHeaders.ETAG, rendition.etag());
+		if (rendition.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return true;
+		}
+		response.setContentType(rendition.contentType());
+		response.setContentLength(rendition.bytes().length);
+		try {
+			response.getOutputStream().write(rendition.bytes());
+		}
+		catch (Exception e) {
+			log.error("文件读取异常: {}", e.getLocalizedMessage());
+		}
+		return true;
+	}
+
+	@Override
+	public void removeRenditions(String bucket, String fileName) {
+		String prefix = fileName + ".w";
+		synchronized (hotTier) {
+			Iterator<Map.Entry<String, Rendition>> iterator = hotTier.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Rendition> entry = iterator.next();
+				if (entry.getKey().startsWith(bucket + StrUtil.SLASH + prefix)) {
+					hotTierBytes -= entry.getValue().bytes().length;
+					iterator.remove();
+				}
+			}
+		}
+		try {
+			for (String objectName : fileTemplate.getObjectNamesByPrefix(bucket, prefix, false)) {
+				fileTemplate.removeObject(bucket, objectName);
+			}
+		}
+		catch (Exception e) {
+			log.warn("删除缩略图失败 {}/{} {}", bucket, fileName, e.getLocalizedMessage());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		renderExecutor.shutdownNow();
+	}
+
+	private Rendition getRendition(String bucket, String fileName, String key, int width, String format)
+			throws Exception {
+		String cacheKey = bucket + StrUtil.SLASH + key;
+		Rendition cached;
+		synchronized (hotTier) {
+			cached = hotTier.get(cacheKey);
+		}
+		if (cached != null) {
+			return cached;
+		}
+
+		// 同一缩略图同时只生成一次，其余请求等待同一个结果
+		CompletableFuture<Rendition> created = new CompletableFuture<>();
+		CompletableFuture<Rendition> future = rendering.putIfAbsent(cacheKey, created);
+		if (future == null) {
+			future = created;
+			created.whenComplete((rendition, e) -> {
+				rendering.remove(cacheKey, created);
+				if (rendition != null) {
+					putHotTier(cacheKey, rendition);
+				}
+			});
+			try {
+				renderExecutor.execute(() -> {
+					try {
+						created.complete(loadOrRender(bucket, fileName, key, width, format));
+					}
+					catch (Throwable e) {
+						created.completeExceptionally(e);
+					}
+				});
+			}
+			catch (RejectedExecutionException e) {
+				created.completeExceptionally(e);
+			}
+		}
+		return future.get(RENDER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+
+	private Rendition loadOrRender(String bucket, String fileName, String key, int width, String format) {
+		String contentType = "png".equals(format) ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+		try {
+			// 已生成过的缩略图直接读取
+			try (InputStream inputStream = (InputStream) fileTemplate.getObject(bucket, key)) {
+				byte[] bytes = inputStream.readAllBytes();
+				return new Rendition(bytes, etag(bytes), contentType);
+			}
+			catch (Exception ignored) {
+				// 不存在时生成
+			}
+
+			BufferedImage source;
+			try (InputStream inputStream = (InputStream) fileTemplate.getObject(bucket, fileName)) {
+				source = readImage(inputStream);
+			}
+
+			byte[] bytes = render(source, width, format);
+			fileTemplate.putObject(bucket, key, new ByteArrayInputStream(bytes), contentType);
+			return new Rendition(bytes, etag(bytes), contentType);
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private BufferedImage readImage(InputStream inputStream) throws Exception {
+		try (ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+			if (!readers.hasNext()) {
+				throw new IllegalArgumentException("不支持的图片格式");
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(imageStream, true, true);
+				if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+					throw new IllegalArgumentException("图片尺寸过大");
+				}
+				return reader.read(0);
+			}
+			finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private byte[] render(BufferedImage source, int width, String format) throws Exception {
+		int targetWidth = Math.min(width, source.getWidth());
+		int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+		boolean alpha = "png".equals(format);
+
+		BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+				alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = target.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			if (!alpha) {
+				// JPEG 无透明通道，透明区域填充白色
+				graphics.setColor(Color.WHITE);
+				graphics.fillRect(0, 0, targetWidth, targetHeight);
+			}
+			graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+		}
+		finally {
+			graphics.dispose();
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(target, alpha ? "png" : "jpg", out);
+		return out.toByteArray();
+	}
+
+	private void putHotTier(String cacheKey, Rendition rendition) {
+		synchronized (hotTier) {
+			Rendition previous = hotTier.put(cacheKey, rendition);
+			if (previous != null) {
+				hotTierBytes -= previous.bytes().length;
+			}
+			hotTierBytes += rendition.bytes().length;
+
+			Iterator<Rendition> eldest = hotTier.values().iterator();
+			while (hotTierBytes > HOT_TIER_BYTES && eldest.hasNext()) {
+				hotTierBytes -= eldest.next().bytes().length;
+				eldest.remove();
+			}
+		}
+	}
+
+	private static String resolveFormat(String format, String extName) {
+		if ("png".equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format)) {
+			return format.toLowerCase();
+		}
+		return "png".equals(extName) || "gif".equals(extName) ? "png" : "jpg";
+	}
+
+	private static String renditionName(String fileName, int width, String format) {
+		return fileName + ".w" + width + StrUtil.DOT + format;
+	}
+
+	private static String etag(byte[] bytes) {
+		return "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+	}
+
+}
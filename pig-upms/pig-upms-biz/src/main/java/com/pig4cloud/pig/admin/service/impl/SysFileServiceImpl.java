@@ -17,28 +17,38 @@
 package com.pig4cloud.pig.admin.service.impl;
 
 import cn.hutool.core.io.FileUtil;
-import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.core.util.URLUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.admin.api.entity.SysFile;
 import com.pig4cloud.pig.admin.mapper.SysFileMapper;
+import com.pig4cloud.pig.admin.service.SysFileRenditionService;
 import com.pig4cloud.pig.admin.service.SysFileService;
+import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.core.util.RedisUtils;
 import com.pig4cloud.pig.common.file.core.FileProperties;
+import com.pig4cloud.pig.common.file.core.FileStat;
 import com.pig4cloud.pig.common.file.core.FileTemplate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -53,48 +63,162 @@ import java.util.Objects;
 @AllArgsConstructor
 public class SysFileServiceImpl extends ServiceImpl<SysFileMapper, SysFile> implements SysFileService {
 
+	private static final int LOCK_EXPIRE_SECONDS = 30;
+
+	private static final int LOCK_RETRY = 100;
+
+	private static final long LOCK_RETRY_INTERVAL_MILLIS = 50;
+
 	private final FileTemplate fileTemplate;
 
 	private final FileProperties properties;
 
+	private final SysFileRenditionService renditionService;
+
 	/**
 	 * 上传文件
+	 * <p>
+	 * 开启按内容存储时，文件名取内容 SHA-256 摘要，存储中已有相同内容时只新增文件记录，不再上传
 	 * @param file 要上传的文件
 	 * @return 包含文件信息的响应结果，失败时返回错误信息
 	 * @throws Exception 文件上传过程中可能出现的异常
 	 */
 	@Override
 	public R uploadFile(MultipartFile file) {
-		String fileName = IdUtil.simpleUUID() + StrUtil.DOT + FileUtil.extName(file.getOriginalFilename());
+		String extName = FileUtil.extName(file.getOriginalFilename());
+		String fileName;
+		try {
+			fileName = properties.isContentAddressed() ? storeByDigest(file, extName) : storeByUuid(file, extName);
+		}
+		catch (Exception e) {
+			log.error("上传失败", e);
+			return R.failed(e.getLocalizedMessage());
+		}
+
 		Map<String, String> resultMap = new HashMap<>(4);
 		resultMap.put(SysFile.Fields.bucketName, properties.getBucketName());
 		resultMap.put(SysFile.Fields.fileName, fileName);
 		resultMap.put("url", String.format("/admin/sys-file/%s/%s", properties.getBucketName(), fileName));
+		return R.ok(resultMap);
+	}
 
+	/**
+	 * 以随机文件名存储
+	 * @param file 上传文件
+	 * @param extName 扩展名
+	 * @return 文件名
+	 * @throws Exception 上传失败
+	 */
+	private String storeByUuid(MultipartFile file, String extName) throws Exception {
+		String fileName = IdUtil.simpleUUID() + StrUtil.DOT + extName;
 		try (InputStream inputStream = file.getInputStream()) {
 			fileTemplate.putObject(properties.getBucketName(), fileName, inputStream, file.getContentType());
-			// 文件管理数据记录,收集管理追踪文件
-			fileLog(file, fileName);
 		}
-		catch (Exception e) {
-			log.error("上传失败", e);
-			return R.failed(e.getLocalizedMessage());
+		// 文件管理数据记录,收集管理追踪文件
+		fileLog(file, fileName);
+		return fileName;
+	}
+
+	/**
+	 * 以内容摘要为文件名存储，相同内容只存一份
+	 * <p>
+	 * 先在锁内写入文件记录再上传，保证并发删除最后一个引用时不会删掉正在复用的文件
+	 * @param file 上传文件
+	 * @param extName 扩展名
+	 * @return 文件名
+	 * @throws Exception 上传失败
+	 */
+	private String storeByDigest(MultipartFile file, String extName) throws Exception {
+		MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+		try (InputStream inputStream = new DigestInputStream(file.getInputStream(), messageDigest)) {
+			inputStream.transferTo(OutputStream.nullOutputStream());
 		}
-		return R.ok(resultMap);
+		String digest = HexUtil.encodeHexStr(messageDigest.digest());
+		String fileName = StrUtil.isBlank(extName) ? digest : digest + StrUtil.DOT + extName;
+		String bucketName = properties.getBucketName();
+
+		SysFile sysFile;
+		boolean stored;
+		String lockKey = CacheConstants.FILE_REF_LOCK + bucketName + StrUtil.COLON + fileName;
+		String lockValue = lock(lockKey);
+		try {
+			stored = countReference(bucketName, fileName) > 0 && exists(bucketName, fileName);
+			sysFile = fileLog(file, fileName);
+		}
+		finally {
+			RedisUtils.releaseLock(lockKey, lockValue);
+		}
+
+		if (!stored) {
+			try (InputStream inputStream = file.getInputStream()) {
+				fileTemplate.putObject(bucketName, fileName, inputStream, file.getContentType());
+			}
+			catch (Exception e) {
+				this.removeById(sysFile.getId());
+				throw e;
+			}
+		}
+		return fileName;
 	}
 
 	/**
 	 * 从指定存储桶中获取文件并写入HTTP响应流
+	 * <p>
+	 * 支持 If-None-Match 协商缓存和单区间 Range 请求（含 If-Range），只读取并传输请求的字节
 	 * @param bucket 存储桶名称
 	 * @param fileName 文件名
+	 * @param request HTTP请求对象
 	 * @param response HTTP响应对象
 	 */
 	@Override
-	public void getFile(String bucket, String fileName, HttpServletResponse response) {
-		try (InputStream inputStream = (InputStream) fileTemplate.getObject(bucket, fileName)) {
-			response.setContentType("application/octet-stream; charset=UTF-8");
-			response.addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + URLUtil.encode(fileName));
-			IoUtil.copy(inputStream, response.getOutputStream());
+	public void getFile(String bucket, String fileName, HttpServletRequest request, HttpServletResponse response) {
+		FileStat stat;
+		try {
+			stat = fileTemplate.statObject(bucket, fileName);
+		}
+		catch (Exception e) {
+			log.error("文件读取异常: {}", e.getLocalizedMessage());
+			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		response.setHeader(HttpHeaders.ETAG, stat.etag());
+		response.setDateHeader(HttpHeaders.LAST_MODIFIED, stat.lastModified());
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), stat.etag())) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		long start = 0;
+		long length = stat.size();
+		String range = request.getHeader(HttpHeaders.RANGE);
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		// If-Range 不匹配说明客户端缓存的片段已过期，返回完整文件
+		if (StrUtil.isNotBlank(range) && (ifRange == null || ifRange.equals(stat.etag()))) {
+			try {
+				List<HttpRange> ranges = HttpRange.parseRanges(range);
+				// 多区间请求不常见，按完整文件返回
+				if (ranges.size() == 1) {
+					start = ranges.get(0).getRangeStart(stat.size());
+					long end = ranges.get(0).getRangeEnd(stat.size());
+					length = end - start + 1;
+					response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + stat.size());
+				}
+			}
+			catch (IllegalArgumentException e) {
+				response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + stat.size());
+				return;
+			}
+		}
+
+		response.setContentType("application/octet-stream; charset=UTF-8");
+		response.addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + URLUtil.encode(fileName));
+		response.setContentLengthLong(length);
+		try {
+			fileTemplate.writeObject(bucket, fileName, start, length, response.getOutputStream());
 		}
 		catch (Exception e) {
 			log.error("文件读取异常: {}", e.getLocalizedMessage());
@@ -102,29 +226,98 @@ public class SysFileServiceImpl extends ServiceImpl<SysFileMapper, SysFile> impl
 	}
 
 	/**
-	 * 根据ID删除文件
+	 * 根据ID删除文件，同一存储文件不再被其他记录引用时才删除存储
 	 * @param id 文件ID
 	 * @return 删除是否成功，文件不存在时返回false
 	 * @throws Exception 删除过程中可能抛出的异常
 	 */
 	@Override
 	@SneakyThrows
-	@Transactional(rollbackFor = Exception.class)
 	public Boolean removeFile(Long id) {
 		SysFile file = this.getById(id);
 		if (Objects.isNull(file)) {
 			return Boolean.FALSE;
 		}
-		fileTemplate.removeObject(properties.getBucketName(), file.getFileName());
-		return this.removeById(id);
+
+		String lockKey = CacheConstants.FILE_REF_LOCK + file.getBucketName() + StrUtil.COLON + file.getFileName();
+		String lockValue = lock(lockKey);
+		try {
+			boolean removed = this.removeById(id);
+			if (removed && countReference(file.getBucketName(), file.getFileName()) == 0) {
+				fileTemplate.removeObject(file.getBucketName(), file.getFileName());
+				renditionService.removeRenditions(file.getBucketName(), file.getFileName());
+			}
+			return removed;
+		}
+		finally {
+			RedisUtils.releaseLock(lockKey, lockValue);
+		}
+	}
+
+	/**
+	 * 统计引用同一存储文件的记录数
+	 * @param bucketName 存储桶名称
+	 * @param fileName 文件名
+	 * @return 引用数
+	 */
+	private long countReference(String bucketName, String fileName) {
+		return this.count(Wrappers.<SysFile>lambdaQuery()
+			.eq(SysFile::getBucketName, bucketName)
+			.eq(SysFile::getFileName, fileName));
+	}
+
+	private boolean exists(String bucketName, String fileName) {
+		try {
+			fileTemplate.statObject(bucketName, fileName);
+			return true;
+		}
+		catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 获取文件引用锁，等待超时抛出异常
+	 * @param lockKey 锁key
+	 * @return 锁value，释放时校验
+	 */
+	@SneakyThrows
+	private String lock(String lockKey) {
+		String lockValue = IdUtil.fastSimpleUUID();
+		for (int i = 0; i < LOCK_RETRY; i++) {
+			if (RedisUtils.getLock(lockKey, lockValue, LOCK_EXPIRE_SECONDS)) {
+				return lockValue;
+			}
+			Thread.sleep(LOCK_RETRY_INTERVAL_MILLIS);
+		}
+		throw new IllegalStateException("文件正在被其他请求处理，请稍后重试");
+	}
+
+	/**
+	 * If-None-Match 使用弱比较，忽略 W/ 前缀
+	 * @param ifNoneMatch 请求头
+	 * @param etag 文件 ETag
+	 * @return 是否命中
+	 */
+	private boolean etagMatches(String ifNoneMatch, String etag) {
+		if (StrUtil.isBlank(ifNoneMatch)) {
+			return false;
+		}
+		for (String candidate : StrUtil.splitTrim(ifNoneMatch, StrUtil.COMMA)) {
+			if ("*".equals(candidate) || StrUtil.removePrefix(candidate, "W/").equals(etag)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
 	 * 记录文件管理数据
 	 * @param file 上传文件
 	 * @param fileName 文件名
+	 * @return 文件记录
 	 */
-	private void fileLog(MultipartFile file, String fileName) {
+	private SysFile fileLog(MultipartFile file, String fileName) {
 		SysFile sysFile = new SysFile();
 		sysFile.setFileName(fileName);
 		sysFile.setOriginal(file.getOriginalFilename());
@@ -132,6 +325,7 @@ public class SysFileServiceImpl extends ServiceImpl<SysFileMapper, SysFile> impl
 		sysFile.setType(FileUtil.extName(file.getOriginalFilename()));
 		sysFile.setBucketName(properties.getBucketName());
 		this.save(sysFile);
+		return sysFile;
 	}
 
 }
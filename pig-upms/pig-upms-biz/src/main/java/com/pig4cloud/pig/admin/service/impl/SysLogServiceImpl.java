@@ -19,9 +19,13 @@
 
 package com.pig4cloud.pig.admin.service.impl;
 
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
@@ -29,9 +33,12 @@ import com.pig4cloud.pig.admin.api.dto.SysLogDTO;
 import com.pig4cloud.pig.admin.api.entity.SysLog;
 import com.pig4cloud.pig.admin.mapper.SysLogMapper;
 import com.pig4cloud.pig.admin.service.SysLogService;
+import com.pig4cloud.pig.common.core.constant.CommonConstants;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -44,6 +51,16 @@ import java.util.List;
 @Service
 public class SysLogServiceImpl extends ServiceImpl<SysLogMapper, SysLog> implements SysLogService {
 
+	/**
+	 * 单条 INSERT 语句最大行数
+	 */
+	private static final int BATCH_INSERT_SIZE = 500;
+
+	/**
+	 * 导出时每批查询行数
+	 */
+	private static final int EXPORT_BATCH_SIZE = 1000;
+
 	/**
 	 * 分页查询系统日志
 	 * @param page 分页参数
@@ -68,13 +85,43 @@ public class SysLogServiceImpl extends ServiceImpl<SysLogMapper, SysLog> impleme
 	}
 
 	/**
-	 * 查询日志列表
+	 * 批量保存日志，多行 INSERT 分批写入，保留日志采集时的创建时间，未设置时使用当前时间
+	 * @param sysLogs 日志对象列表
+	 * @return 保存成功返回true
+	 */
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public Boolean saveLogBatch(List<SysLog> sysLogs) {
+		if (CollUtil.isEmpty(sysLogs)) {
+			return Boolean.TRUE;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		sysLogs.forEach(sysLog -> {
+			sysLog.setId(IdWorker.getId());
+			sysLog.setCreateTime(ObjectUtil.defaultIfNull(sysLog.getCreateTime(), now));
+			sysLog.setDelFlag(CommonConstants.STATUS_NORMAL);
+		});
+		ListUtil.partition(sysLogs, BATCH_INSERT_SIZE).forEach(baseMapper::insertBatch);
+		return Boolean.TRUE;
+	}
+
+	/**
+	 * 流式导出日志，按 (create_time, id) 游标分批查询，避免一次加载全表
 	 * @param sysLog 查询条件DTO对象
-	 * @return 日志列表
+	 * @return 日志流式导出数据源
 	 */
 	@Override
-	public List<SysLog> listLogs(SysLogDTO sysLog) {
-		return baseMapper.selectList(buildQuery(sysLog));
+	public ExcelStream<SysLog> exportLogs(SysLogDTO sysLog) {
+		return ExcelStream.keyset(SysLog.class, EXPORT_BATCH_SIZE, (last, size) -> {
+			LambdaQueryWrapper<SysLog> wrapper = buildQuery(sysLog);
+			if (last != null) {
+				wrapper.and(w -> w.lt(SysLog::getCreateTime, last.getCreateTime())
+					.or(o -> o.eq(SysLog::getCreateTime, last.getCreateTime()).lt(SysLog::getId, last.getId())));
+			}
+			wrapper.orderByDesc(SysLog::getCreateTime).orderByDesc(SysLog::getId);
+			return baseMapper.selectList(new Page<>(1, size, false), wrapper);
+		});
 	}
 
 	/**
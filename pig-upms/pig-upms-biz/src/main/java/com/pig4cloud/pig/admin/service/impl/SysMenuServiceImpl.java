@@ -19,26 +19,33 @@
 
 package com.pig4cloud.pig.admin.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pig4cloud.pig.admin.api.entity.SysMenu;
 import com.pig4cloud.pig.admin.api.entity.SysRoleMenu;
 import com.pig4cloud.pig.admin.mapper.SysMenuMapper;
 import com.pig4cloud.pig.admin.mapper.SysRoleMenuMapper;
 import com.pig4cloud.pig.admin.service.SysMenuService;
+import com.pig4cloud.pig.admin.service.UserMenuTree;
 import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.constant.CommonConstants;
 import com.pig4cloud.pig.common.core.constant.enums.MenuTypeEnum;
@@ -54,6 +61,7 @@ import cn.hutool.core.util.BooleanUtil;
 import cn.hutool.core.util.StrUtil;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
 
 /**
  * 菜单权限表服务实现类
@@ -67,6 +75,10 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
 
 	private final SysRoleMenuMapper sysRoleMenuMapper;
 
+	private final CacheManager cacheManager;
+
+	private final ObjectMapper objectMapper;
+
 	/**
 	 * 根据角色ID查询菜单列表
 	 * @param roleId 角色ID
@@ -87,7 +99,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
 	 */
 	@Override
 	@Transactional(rollbackFor = Exception.class)
-	@CacheEvict(value = CacheConstants.MENU_DETAILS, allEntries = true)
+	@CacheEvict(value = { CacheConstants.MENU_DETAILS, CacheConstants.MENU_TREE }, allEntries = true)
 	public R removeMenuById(Long id) {
 		// 查询父节点为当前节点的节点
 		List<SysMenu> menuList = this.list(Wrappers.<SysMenu>query().lambda().eq(SysMenu::getParentId, id));
@@ -106,7 +118,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
 	 * @return 更新是否成功
 	 */
 	@Override
-	@CacheEvict(value = CacheConstants.MENU_DETAILS, allEntries = true)
+	@CacheEvict(value = { CacheConstants.MENU_DETAILS, CacheConstants.MENU_TREE }, allEntries = true)
 	public Boolean updateMenuById(SysMenu sysMenu) {
 		return this.updateById(sysMenu);
 	}
@@ -152,13 +164,49 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
 	 * @return 构建好的菜单树形结构列表
 	 */
 	@Override
-	public List<Tree<Long>> filterMenu(Set<SysMenu> all, String type, Long parentId) {
+	public List<Tree<Long>> filterMenu(Collection<SysMenu> all, String type, Long parentId) {
 		List<TreeNode<Long>> collect = all.stream().filter(menuTypePredicate(type)).map(getNodeFunction()).toList();
 
 		Long parent = parentId == null ? CommonConstants.MENU_TREE_ROOT_ID : parentId;
 		return TreeUtil.build(collect, parent);
 	}
 
+	/**
+	 * 查询角色集合的菜单树
+	 * <p>
+	 * 命中缓存时直接返回已序列化的响应体，不再合并菜单、构建树和序列化。 与 {@link CacheConstants#MENU_DETAILS} 同时失效
+	 * @param roleIds 角色ID集合
+	 * @param type 类型
+	 * @param parentId 父节点ID
+	 * @return 已序列化的菜单树
+	 */
+	@Override
+	@SneakyThrows
+	public UserMenuTree getUserMenuTree(Collection<Long> roleIds, String type, Long parentId) {
+		List<Long> sortedRoleIds = roleIds.stream().distinct().sorted().toList();
+		Long parent = parentId == null ? CommonConstants.MENU_TREE_ROOT_ID : parentId;
+		String key = StrUtil.format("{}:{}:{}", CollUtil.join(sortedRoleIds, StrUtil.COMMA),
+				StrUtil.nullToEmpty(type), parent);
+
+		Cache cache = cacheManager.getCache(CacheConstants.MENU_TREE);
+		UserMenuTree menuTree = cache == null ? null : cache.get(key, UserMenuTree.class);
+		if (menuTree != null) {
+			return menuTree;
+		}
+
+		// 按菜单ID去重，不依赖实体 equals/hashCode
+		Map<Long, SysMenu> menus = new LinkedHashMap<>();
+		sortedRoleIds.forEach(roleId -> baseMapper.listMenusByRoleId(roleId)
+			.forEach(menu -> menus.putIfAbsent(menu.getMenuId(), menu)));
+
+		String body = objectMapper.writeValueAsString(R.ok(filterMenu(menus.values(), type, parent)));
+		menuTree = new UserMenuTree(StrUtil.wrap(DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)), "\""), body);
+		if (cache != null) {
+			cache.put(key, menuTree);
+		}
+		return menuTree;
+	}
+
 	/**
 	 * 获取将SysMenu转换为TreeNode<Long>的函数
 	 * @return 转换函数，将SysMenu对象转换为TreeNode<Long>对象
@@ -0,0 +1,143 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.admin.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.pig4cloud.pig.admin.api.dto.PublicDataSnapshot;
+import com.pig4cloud.pig.admin.api.entity.SysDictItem;
+import com.pig4cloud.pig.admin.api.entity.SysPublicParam;
+import com.pig4cloud.pig.admin.api.replica.PublicDataReplica;
+import com.pig4cloud.pig.admin.mapper.SysDictItemMapper;
+import com.pig4cloud.pig.admin.mapper.SysPublicParamMapper;
+import com.pig4cloud.pig.admin.service.SysPublicDataService;
+import com.pig4cloud.pig.common.core.constant.CacheConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 公共参数与字典数据快照服务实现
+ * <p>
+ * 版本号保存在 Redis 中，本节点按版本号缓存最近一次构建的快照，同一版本的多次拉取只查询一次数据库
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SysPublicDataServiceImpl implements SysPublicDataService {
+
+	private final SysPublicParamMapper publicParamMapper;
+
+	private final SysDictItemMapper dictItemMapper;
+
+	private final StringRedisTemplate redisTemplate;
+
+	private volatile PublicDataSnapshot cached;
+
+	/**
+	 * 获取快照
+	 * @param version 调用方本地副本版本号
+	 * @return 快照，版本号未变化时返回null
+	 */
+	@Override
+	public PublicDataSnapshot getSnapshot(long version) {
+		long current = currentVersion();
+		if (version == current) {
+			return null;
+		}
+
+		PublicDataSnapshot snapshot = cached;
+		if (snapshot != null && snapshot.getVersion() == current) {
+			return snapshot;
+		}
+
+		synchronized (this) {
+			snapshot = cached;
+			if (snapshot == null || snapshot.getVersion() != current) {
+				// 先读版本号再查询，查询期间的变更会带来新版本号，调用方下次拉取时修正
+				snapshot = build(current);
+				cached = snapshot;
+			}
+			return snapshot;
+		}
+	}
+
+	/**
+	 * 参数或字典变更后递增版本号并通知各节点，存在事务时在提交后执行，避免其他节点读到未提交数据
+	 */
+	@Override
+	public void publishChange() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					incrementVersion();
+				}
+			});
+		}
+		else {
+			incrementVersion();
+		}
+	}
+
+	private void incrementVersion() {
+		try {
+			Long version = redisTemplate.opsForValue().increment(CacheConstants.PUBLIC_DATA_VERSION);
+			redisTemplate.convertAndSend(PublicDataReplica.CHANNEL, String.valueOf(version));
+		}
+		catch (Exception e) {
+			// 通知失败不影响主流程，各节点在下一个轮询周期同步
+			log.warn("发布公共参数与字典变更通知失败 {}", e.getLocalizedMessage());
+		}
+	}
+
+	private long currentVersion() {
+		String version = redisTemplate.opsForValue().get(CacheConstants.PUBLIC_DATA_VERSION);
+		return version == null ? 0L : Long.parseLong(version);
+	}
+
+	private PublicDataSnapshot build(long version) {
+		Map<String, String> params = new HashMap<>();
+		for (SysPublicParam param : publicParamMapper.selectList(Wrappers.emptyWrapper())) {
+			params.put(param.getPublicKey(), param.getPublicValue());
+		}
+
+		Map<String, List<SysDictItem>> dictItems = new LinkedHashMap<>();
+		for (SysDictItem item : dictItemMapper.selectList(Wrappers.emptyWrapper())) {
+			dictItems.computeIfAbsent(item.getDictType(), k -> new ArrayList<>()).add(item);
+		}
+
+		PublicDataSnapshot snapshot = new PublicDataSnapshot();
+		snapshot.setVersion(version);
+		snapshot.setParams(params);
+		snapshot.setDictItems(dictItems);
+		return snapshot;
+	}
+
+}
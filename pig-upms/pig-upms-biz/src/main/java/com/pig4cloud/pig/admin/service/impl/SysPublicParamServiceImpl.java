@@ -27,6 +27,7 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.admin.api.entity.SysPublicParam;
 import com.pig4cloud.pig.admin.mapper.SysPublicParamMapper;
+import com.pig4cloud.pig.admin.service.SysPublicDataService;
 import com.pig4cloud.pig.admin.service.SysPublicParamService;
 import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.constant.enums.DictTypeEnum;
@@ -48,6 +49,8 @@ import lombok.AllArgsConstructor;
 public class SysPublicParamServiceImpl extends ServiceImpl<SysPublicParamMapper, SysPublicParam>
 		implements SysPublicParamService {
 
+	private final SysPublicDataService sysPublicDataService;
+
 	/**
 	 * 根据公共参数key获取对应的value值
 	 * @param publicKey 公共参数key
@@ -66,6 +69,18 @@ public class SysPublicParamServiceImpl extends ServiceImpl<SysPublicParamMapper,
 		return null;
 	}
 
+	/**
+	 * 新增系统公共参数，并通知各服务本地副本
+	 * @param entity 系统公共参数对象
+	 * @return 是否成功
+	 */
+	@Override
+	public boolean save(SysPublicParam entity) {
+		boolean saved = super.save(entity);
+		sysPublicDataService.publishChange();
+		return saved;
+	}
+
 	/**
 	 * 更新系统公共参数
 	 * @param sysPublicParam 系统公共参数对象
@@ -80,7 +95,9 @@ public class SysPublicParamServiceImpl extends ServiceImpl<SysPublicParamMapper,
 		if (DictTypeEnum.SYSTEM.getType().equals(param.getSystemFlag())) {
 			return R.failed(MsgUtils.getMessage(ErrorCodes.SYS_PARAM_DELETE_SYSTEM));
 		}
-		return R.ok(this.updateById(sysPublicParam));
+		boolean updated = this.updateById(sysPublicParam);
+		sysPublicDataService.publishChange();
+		return R.ok(updated);
 	}
 
 	/**
@@ -97,7 +114,9 @@ public class SysPublicParamServiceImpl extends ServiceImpl<SysPublicParamMapper,
 			.filter(p -> !p.getSystemFlag().equals(DictTypeEnum.SYSTEM.getType()))// 系统内置的跳过不能删除
 			.map(SysPublicParam::getPublicId)
 			.toList();
-		return R.ok(this.removeBatchByIds(idList));
+		boolean removed = this.removeBatchByIds(idList);
+		sysPublicDataService.publishChange();
+		return R.ok(removed);
 	}
 
 	/**
@@ -107,6 +126,7 @@ public class SysPublicParamServiceImpl extends ServiceImpl<SysPublicParamMapper,
 	@Override
 	@CacheEvict(value = CacheConstants.PARAMS_DETAILS, allEntries = true)
 	public R syncParamCache() {
+		sysPublicDataService.publishChange();
 		return R.ok();
 	}
 
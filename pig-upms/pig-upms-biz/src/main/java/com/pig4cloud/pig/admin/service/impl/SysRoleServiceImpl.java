@@ -29,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.admin.api.entity.SysRole;
 import com.pig4cloud.pig.admin.api.entity.SysRoleMenu;
@@ -41,6 +42,7 @@ import com.pig4cloud.pig.common.core.constant.CacheConstants;
 import com.pig4cloud.pig.common.core.exception.ErrorCodes;
 import com.pig4cloud.pig.common.core.util.MsgUtils;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
 import com.pig4cloud.plugin.excel.vo.ErrorMessage;
 
 import cn.hutool.core.bean.BeanUtil;
@@ -57,6 +59,11 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> implements SysRoleService {
 
+	/**
+	 * 导出时每批查询行数
+	 */
+	private static final int EXPORT_BATCH_SIZE = 1000;
+
 	private SysRoleMenuService roleMenuService;
 
 	/**
@@ -147,18 +154,23 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> impl
 	}
 
 	/**
-	 * 查询全部角色列表并转换为Excel视图对象
-	 * @return 角色Excel视图对象列表
+	 * 流式导出角色，按角色ID游标分批查询
+	 * @return 角色流式导出数据源
 	 */
 	@Override
-	public List<RoleExcelVO> listRoles() {
-		List<SysRole> roleList = this.list(Wrappers.emptyWrapper());
-		// 转换成execl 对象输出
-		return roleList.stream().map(role -> {
-			RoleExcelVO roleExcelVO = new RoleExcelVO();
-			BeanUtil.copyProperties(role, roleExcelVO);
-			return roleExcelVO;
-		}).toList();
+	public ExcelStream<RoleExcelVO> exportRoles() {
+		return ExcelStream.keyset(RoleExcelVO.class, EXPORT_BATCH_SIZE, (last, size) -> {
+			List<SysRole> roleList = baseMapper.selectList(new Page<>(1, size, false),
+					Wrappers.<SysRole>lambdaQuery()
+						.gt(last != null, SysRole::getRoleId, last == null ? null : last.getRoleId())
+						.orderByAsc(SysRole::getRoleId));
+			// 转换成execl 对象输出
+			return roleList.stream().map(role -> {
+				RoleExcelVO roleExcelVO = new RoleExcelVO();
+				BeanUtil.copyProperties(role, roleExcelVO);
+				return roleExcelVO;
+			}).toList();
+		});
 	}
 
 	/**
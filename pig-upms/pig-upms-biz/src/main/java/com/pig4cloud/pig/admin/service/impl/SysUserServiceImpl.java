@@ -21,10 +21,15 @@ package com.pig4cloud.pig.admin.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.idev.excel.FastExcel;
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.read.listener.ReadListener;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.pig4cloud.pig.admin.api.dto.RegisterUserDTO;
 import com.pig4cloud.pig.admin.api.dto.UserDTO;
 import com.pig4cloud.pig.admin.api.dto.UserInfo;
@@ -32,6 +37,7 @@ import com.pig4cloud.pig.admin.api.entity.*;
 import com.pig4cloud.pig.admin.api.util.ParamResolver;
 import com.pig4cloud.pig.admin.api.vo.UserExcelVO;
 import com.pig4cloud.pig.admin.api.vo.UserVO;
+import com.pig4cloud.pig.admin.mapper.SysMenuMapper;
 import com.pig4cloud.pig.admin.mapper.SysUserMapper;
 import com.pig4cloud.pig.admin.mapper.SysUserPostMapper;
 import com.pig4cloud.pig.admin.mapper.SysUserRoleMapper;
@@ -41,9 +47,14 @@ import com.pig4cloud.pig.common.core.constant.CommonConstants;
 import com.pig4cloud.pig.common.core.exception.ErrorCodes;
 import com.pig4cloud.pig.common.core.util.MsgUtils;
 import com.pig4cloud.pig.common.core.util.R;
+import com.pig4cloud.pig.common.excel.stream.ExcelStream;
+import com.pig4cloud.pig.common.security.component.PigIntrospectionCache;
 import com.pig4cloud.pig.common.security.util.SecurityUtils;
+import com.pig4cloud.plugin.excel.kit.Validators;
 import com.pig4cloud.plugin.excel.vo.ErrorMessage;
+import jakarta.validation.ConstraintViolation;
 import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.cache.Cache;
@@ -53,11 +64,16 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.validation.BindingResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 系统用户服务实现类
@@ -72,7 +88,17 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 
 	private static final PasswordEncoder ENCODER = new BCryptPasswordEncoder();
 
-	private final SysMenuService sysMenuService;
+	/**
+	 * 用户导入每批行数
+	 */
+	private static final int IMPORT_CHUNK_SIZE = 1000;
+
+	/**
+	 * 导出时每批查询行数
+	 */
+	private static final int EXPORT_BATCH_SIZE = 1000;
+
+	private final SysMenuMapper sysMenuMapper;
 
 	private final SysRoleService sysRoleService;
 
@@ -86,6 +112,8 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 
 	private final CacheManager cacheManager;
 
+	private final TransactionTemplate transactionTemplate;
+
 	/**
 	 * 保存用户信息
 	 * @param userDto 用户数据传输对象
@@ -131,28 +159,27 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 
 	/**
 	 * 查询用户全部信息，包括角色和权限
+	 * <p>
+	 * 用户、部门、角色、岗位关联查询一次返回，权限按角色批量查询，共两次数据库往返
 	 * @param query 用户查询条件
 	 * @return 包含用户角色和权限的用户信息对象
 	 */
 	@Override
 	public R<UserInfo> getUserInfo(UserDTO query) {
-		UserVO dbUser = baseMapper.getUser(query);
+		UserInfo userInfo = baseMapper.getUserInfo(query);
 
-		if (dbUser == null) {
+		if (userInfo == null) {
 			return R.failed(MsgUtils.getMessage(ErrorCodes.SYS_USER_USERINFO_EMPTY, query.getUsername()));
 		}
 
-		UserInfo userInfo = new UserInfo();
-		BeanUtils.copyProperties(dbUser, userInfo);
 		// 设置权限列表（menu.permission）
-		List<String> permissions = dbUser.getRoleList()
-			.stream()
-			.map(SysRole::getRoleId)
-			.flatMap(roleId -> sysMenuService.findMenuByRoleId(roleId).stream())
-			.filter(menu -> StrUtil.isNotEmpty(menu.getPermission()))
-			.map(SysMenu::getPermission)
-			.toList();
-		userInfo.setPermissions(permissions);
+		List<Long> roleIds = CollUtil.emptyIfNull(userInfo.getRoleList()).stream().map(SysRole::getRoleId).toList();
+		if (CollUtil.isNotEmpty(roleIds)) {
+			sysMenuMapper.listPermissionsByRoleIds(roleIds)
+				.stream()
+				.filter(StrUtil::isNotEmpty)
+				.forEach(userInfo.getPermissions()::add);
+		}
 		return R.ok(userInfo);
 	}
 
@@ -191,7 +218,10 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 		List<Long> idList = CollUtil.toList(ids);
 		// 删除 spring cache
 		Cache cache = cacheManager.getCache(CacheConstants.USER_DETAILS);
-		baseMapper.selectByIds(idList).forEach(user -> cache.evictIfPresent(user.getUsername()));
+		baseMapper.selectByIds(idList).forEach(user -> {
+			cache.evictIfPresent(user.getUsername());
+			publishUserEvict(user.getUsername());
+		});
 
 		sysUserRoleMapper.delete(Wrappers.<SysUserRole>lambdaQuery().in(SysUserRole::getUserId, idList));
 		this.removeBatchByIds(idList);
@@ -258,131 +288,204 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 				sysUserPostMapper.insert(userPost);
 			});
 		}
+
+		// 角色、锁定状态可能变化，通知资源服务器清除内省缓存
+		publishUserEvict(userDto.getUsername());
 		return Boolean.TRUE;
 	}
 
 	/**
-	 * 查询用户列表并转换为Excel导出格式
+	 * 流式导出用户，按游标分批查询，部门、角色、岗位名称由关联查询直接拼接
 	 * @param userDTO 用户查询条件
-	 * @return 用户Excel视图对象列表
+	 * @return 用户流式导出数据源
 	 */
 	@Override
-	public List<UserExcelVO> listUsers(UserDTO userDTO) {
-		// 根据数据权限查询全部的用户信息
-		List<UserVO> voList = baseMapper.listUsers(userDTO);
-		// 转换成execl 对象输出
-		return voList.stream().map(userVO -> {
-			UserExcelVO excelVO = new UserExcelVO();
-			BeanUtils.copyProperties(userVO, excelVO);
-			excelVO.setRoleNameList(
-					userVO.getRoleList().stream().map(SysRole::getRoleName).collect(Collectors.joining(StrUtil.COMMA)));
-			excelVO.setPostNameList(
-					userVO.getPostList().stream().map(SysPost::getPostName).collect(Collectors.joining(StrUtil.COMMA)));
-
-			if (Objects.nonNull(userVO.getDept())) {
-				excelVO.setDeptName(userVO.getDept().getName());
-			}
-			return excelVO;
-		}).toList();
+	public ExcelStream<UserExcelVO> exportUsers(UserDTO userDTO) {
+		return ExcelStream.keyset(UserExcelVO.class, EXPORT_BATCH_SIZE,
+				(last, size) -> baseMapper.listUserExcel(new Page<>(1, size, false), userDTO, last));
 	}
 
 	/**
 	 * 导入用户数据
-	 * @param excelVOList Excel数据列表
-	 * @param bindingResult 校验结果
+	 * <p>
+	 * 流式读取 Excel，用户名、部门、角色、岗位预先建立哈希索引，每 {@link #IMPORT_CHUNK_SIZE} 行校验一次并批量写入
+	 * @param file Excel 文件
 	 * @return 导入结果，包含成功或失败信息
 	 */
 	@Override
-	public R importUsers(List<UserExcelVO> excelVOList, BindingResult bindingResult) {
-		// 通用校验获取失败的数据
-		List<ErrorMessage> errorMessageList = (List<ErrorMessage>) bindingResult.getTarget();
-		List<SysDept> deptList = sysDeptService.list();
-		List<SysRole> roleList = sysRoleService.list();
-		List<SysPost> postList = sysPostService.list();
-
-		// 执行数据插入操作 组装 UserDto
-		for (UserExcelVO excel : excelVOList) {
-			// 个性化校验逻辑
-			List<SysUser> userList = this.list();
-
-			Set<String> errorMsg = new HashSet<>();
-			// 校验用户名是否存在
-			if (userList.stream().anyMatch(sysUser -> excel.getUsername().equals(sysUser.getUsername()))) {
+	@SneakyThrows
+	public R importUsers(MultipartFile file) {
+		UserImportIndex index = buildImportIndex();
+		List<ErrorMessage> errorMessageList = new ArrayList<>();
+		List<UserExcelVO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+		int[] progress = new int[2];
+
+		try (InputStream inputStream = file.getInputStream()) {
+			FastExcel.read(inputStream, UserExcelVO.class, new ReadListener<UserExcelVO>() {
+				@Override
+				public void invoke(UserExcelVO excel, AnalysisContext context) {
+					excel.setLineNum(context.readRowHolder().getRowIndex() + 1L);
+					chunk.add(excel);
+					if (chunk.size() >= IMPORT_CHUNK_SIZE) {
+						flushImportChunk(chunk, index, errorMessageList, progress);
+					}
+				}
+
+				@Override
+				public void doAfterAllAnalysed(AnalysisContext context) {
+					flushImportChunk(chunk, index, errorMessageList, progress);
+				}
+			}).sheet().doRead();
+		}
+
+		log.info("用户导入完成，成功 {} 条，失败 {} 条", progress[0], progress[1]);
+		if (CollUtil.isNotEmpty(errorMessageList)) {
+			return R.failed(errorMessageList);
+		}
+		return R.ok();
+	}
+
+	/**
+	 * 构建导入校验索引，整个导入过程只查询一次
+	 * @return 导入校验索引
+	 */
+	private UserImportIndex buildImportIndex() {
+		Set<String> usernames = new HashSet<>(
+				baseMapper.selectObjs(Wrappers.<SysUser>lambdaQuery().select(SysUser::getUsername)));
+		Map<String, Long> deptIndex = sysDeptService.getDeptTreeIndex()
+			.list()
+			.stream()
+			.collect(Collectors.toMap(SysDept::getName, SysDept::getDeptId, (first, second) -> first));
+		Map<String, Long> roleIndex = sysRoleService.list()
+			.stream()
+			.collect(Collectors.toMap(SysRole::getRoleName, SysRole::getRoleId, (first, second) -> first));
+		Map<String, Long> postIndex = sysPostService.list()
+			.stream()
+			.collect(Collectors.toMap(SysPost::getPostName, SysPost::getPostId, (first, second) -> first));
+		return new UserImportIndex(usernames, deptIndex, roleIndex, postIndex);
+	}
+
+	/**
+	 * 校验并写入一批导入数据，每批单独事务
+	 * @param chunk 当前批次
+	 * @param index 导入校验索引
+	 * @param errorMessageList 错误信息
+	 * @param progress 累计成功、失败条数
+	 */
+	private void flushImportChunk(List<UserExcelVO> chunk, UserImportIndex index, List<ErrorMessage> errorMessageList,
+			int[] progress) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+
+		List<SysUser> userList = new ArrayList<>(chunk.size());
+		List<SysUserRole> userRoleList = new ArrayList<>();
+		List<SysUserPost> userPostList = new ArrayList<>();
+		List<UserExcelVO> validList = new ArrayList<>(chunk.size());
+		int errorCount = errorMessageList.size();
+
+		for (UserExcelVO excel : chunk) {
+			Set<String> errorMsg = Validators.validate(excel)
+				.stream()
+				.map(ConstraintViolation::getMessage)
+				.collect(Collectors.toSet());
+			if (CollUtil.isNotEmpty(errorMsg)) {
+				errorMessageList.add(new ErrorMessage(excel.getLineNum(), errorMsg));
+				continue;
+			}
+
+			// 校验用户名是否存在（含本次导入的前序行）
+			if (index.usernames().contains(excel.getUsername())) {
 				errorMsg.add(MsgUtils.getMessage(ErrorCodes.SYS_USER_USERNAME_EXISTING, excel.getUsername()));
 			}
 
-			// 判断输入的部门名称列表是否合法
-			Optional<SysDept> deptOptional = deptList.stream()
-				.filter(dept -> excel.getDeptName().equals(dept.getName()))
-				.findFirst();
-			if (deptOptional.isEmpty()) {
+			// 判断输入的部门名称是否合法
+			Long deptId = index.deptIndex().get(excel.getDeptName());
+			if (deptId == null) {
 				errorMsg.add(MsgUtils.getMessage(ErrorCodes.SYS_DEPT_DEPTNAME_INEXISTENCE, excel.getDeptName()));
 			}
 
 			// 判断输入的角色名称列表是否合法
-			List<String> roleNameList = StrUtil.split(excel.getRoleNameList(), StrUtil.COMMA);
-			List<SysRole> roleCollList = roleList.stream()
-				.filter(role -> roleNameList.stream().anyMatch(name -> role.getRoleName().equals(name)))
-				.toList();
-
-			if (roleCollList.size() != roleNameList.size()) {
+			List<Long> roleIdList = resolveIds(excel.getRoleNameList(), index.roleIndex());
+			if (roleIdList == null) {
 				errorMsg.add(MsgUtils.getMessage(ErrorCodes.SYS_ROLE_ROLENAME_INEXISTENCE, excel.getRoleNameList()));
 			}
 
-			// 判断输入的部门名称列表是否合法
-			List<String> postNameList = StrUtil.split(excel.getPostNameList(), StrUtil.COMMA);
-			List<SysPost> postCollList = postList.stream()
-				.filter(post -> postNameList.stream().anyMatch(name -> post.getPostName().equals(name)))
-				.toList();
-
-			if (postCollList.size() != postNameList.size()) {
+			// 判断输入的岗位名称列表是否合法
+			List<Long> postIdList = resolveIds(excel.getPostNameList(), index.postIndex());
+			if (postIdList == null) {
 				errorMsg.add(MsgUtils.getMessage(ErrorCodes.SYS_POST_POSTNAME_INEXISTENCE, excel.getPostNameList()));
 			}
 
-			// 数据合法情况
-			if (CollUtil.isEmpty(errorMsg)) {
-				insertExcelUser(excel, deptOptional, roleCollList, postCollList);
-			}
-			else {
-				// 数据不合法情况
+			if (CollUtil.isNotEmpty(errorMsg)) {
 				errorMessageList.add(new ErrorMessage(excel.getLineNum(), errorMsg));
+				continue;
 			}
 
+			index.usernames().add(excel.getUsername());
+			SysUser sysUser = new SysUser();
+			sysUser.setUserId(IdWorker.getId());
+			sysUser.setUsername(excel.getUsername());
+			sysUser.setPhone(excel.getPhone());
+			sysUser.setNickname(excel.getNickname());
+			sysUser.setName(excel.getName());
+			sysUser.setEmail(excel.getEmail());
+			sysUser.setDeptId(deptId);
+			sysUser.setDelFlag(CommonConstants.STATUS_NORMAL);
+			sysUser.setCreateBy(excel.getUsername());
+			userList.add(sysUser);
+			validList.add(excel);
+
+			roleIdList.forEach(roleId -> {
+				SysUserRole userRole = new SysUserRole();
+				userRole.setUserId(sysUser.getUserId());
+				userRole.setRoleId(roleId);
+				userRoleList.add(userRole);
+			});
+			postIdList.forEach(postId -> {
+				SysUserPost userPost = new SysUserPost();
+				userPost.setUserId(sysUser.getUserId());
+				userPost.setPostId(postId);
+				userPostList.add(userPost);
+			});
 		}
 
-		if (CollUtil.isNotEmpty(errorMessageList)) {
-			return R.failed(errorMessageList);
+		// 批量导入初始密码为手机号，BCrypt 计算耗时，批内并行编码
+		IntStream.range(0, userList.size())
+			.parallel()
+			.forEach(i -> userList.get(i).setPassword(ENCODER.encode(validList.get(i).getPhone())));
+
+		if (CollUtil.isNotEmpty(userList)) {
+			transactionTemplate.executeWithoutResult(status -> {
+				Db.saveBatch(userList, IMPORT_CHUNK_SIZE);
+				Db.saveBatch(userRoleList, IMPORT_CHUNK_SIZE);
+				Db.saveBatch(userPostList, IMPORT_CHUNK_SIZE);
+			});
 		}
-		return R.ok();
+
+		progress[0] += userList.size();
+		progress[1] += errorMessageList.size() - errorCount;
+		log.info("用户导入进度，本批 {} 条，成功 {} 条，失败 {} 条，累计成功 {} 条，累计失败 {} 条", chunk.size(), userList.size(),
+				errorMessageList.size() - errorCount, progress[0], progress[1]);
+		chunk.clear();
 	}
 
 	/**
-	 * 插入Excel导入的用户信息
-	 * @param excel Excel用户数据对象
-	 * @param deptOptional 部门信息Optional对象
-	 * @param roleCollList 角色列表
-	 * @param postCollList 岗位列表
+	 * 名称列表转换为ID列表
+	 * @param names 逗号分隔的名称
+	 * @param index 名称索引
+	 * @return ID列表，存在无效名称时返回null
 	 */
-	private void insertExcelUser(UserExcelVO excel, Optional<SysDept> deptOptional, List<SysRole> roleCollList,
-			List<SysPost> postCollList) {
-		UserDTO userDTO = new UserDTO();
-		userDTO.setUsername(excel.getUsername());
-		userDTO.setPhone(excel.getPhone());
-		userDTO.setNickname(excel.getNickname());
-		userDTO.setName(excel.getName());
-		userDTO.setEmail(excel.getEmail());
-		// 批量导入初始密码为手机号
-		userDTO.setPassword(userDTO.getPhone());
-		// 根据部门名称查询部门ID
-		userDTO.setDeptId(deptOptional.get().getDeptId());
-		// 插入岗位名称
-		List<Long> postIdList = postCollList.stream().map(SysPost::getPostId).toList();
-		userDTO.setPost(postIdList);
-		// 根据角色名称查询角色ID
-		List<Long> roleIdList = roleCollList.stream().map(SysRole::getRoleId).toList();
-		userDTO.setRole(roleIdList);
-		// 插入用户
-		this.saveUser(userDTO);
+	private List<Long> resolveIds(String names, Map<String, Long> index) {
+		List<Long> idList = new ArrayList<>();
+		for (String name : StrUtil.split(names, StrUtil.COMMA)) {
+			Long id = index.get(name);
+			if (id == null) {
+				return null;
+			}
+			idList.add(id);
+		}
+		return idList;
 	}
 
 	/**
@@ -418,6 +521,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 		if (Objects.nonNull(sysUser)) {
 			sysUser.setLockFlag(CommonConstants.STATUS_LOCK);
 			baseMapper.updateById(sysUser);
+			publishUserEvict(username);
 		}
 		return R.ok();
 	}
@@ -474,4 +578,35 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
 		}
 	}
 
+	/**
+	 * 通知资源服务器清除用户的内省缓存，处于事务中时在提交后发送，避免资源服务器在提交前重新加载到旧数据
+	 * @param username 用户名
+	 */
+	private void publishUserEvict(String username) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					PigIntrospectionCache.publishUserEvict(username);
+				}
+			});
+		}
+		else {
+			PigIntrospectionCache.publishUserEvict(username);
+		}
+	}
+
+	/**
+	 * 用户导入校验索引
+	 *
+	 * @param usernames 已存在的用户名
+	 * @param deptIndex 部门名称索引
+	 * @param roleIndex 角色名称索引
+	 * @param postIndex 岗位名称索引
+	 */
+	private record UserImportIndex(Set<String> usernames, Map<String, Long> deptIndex, Map<String, Long> roleIndex,
+			Map<String, Long> postIndex) {
+
+	}
+
 }
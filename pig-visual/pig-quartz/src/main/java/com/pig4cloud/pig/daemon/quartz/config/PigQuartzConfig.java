@@ -50,7 +50,8 @@ import java.util.Properties;
 @Configuration
 @PropertySource(value = "classpath:quartz-config.yml", factory = YamlPropertySourceFactory.class)
 @ConditionalOnClass({ Scheduler.class, SchedulerFactoryBean.class })
-@EnableConfigurationProperties({ QuartzProperties.class })
+@EnableConfigurationProperties({ QuartzProperties.class, PigQuartzExecutorProperties.class,
+		PigQuartzLogProperties.class })
 public class PigQuartzConfig {
 
 	private final QuartzProperties properties;
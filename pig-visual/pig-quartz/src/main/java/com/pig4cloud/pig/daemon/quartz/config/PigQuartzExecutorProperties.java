@@ -0,0 +1,82 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.daemon.quartz.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 定时任务执行引擎配置，每个任务分组使用独立的有界线程池
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Data
+@ConfigurationProperties(PigQuartzExecutorProperties.PREFIX)
+public class PigQuartzExecutorProperties {
+
+	public static final String PREFIX = "pig.quartz.executor";
+
+	/**
+	 * 默认线程数
+	 */
+	private int threads = 8;
+
+	/**
+	 * 默认等待队列长度，队列满时拒绝执行
+	 */
+	private int queueCapacity = 64;
+
+	/**
+	 * 默认执行超时时间，超时后中断任务，为 0 时不限制，默认不限制以免中断原本可以运行完成的长任务
+	 */
+	private Duration timeout = Duration.ZERO;
+
+	/**
+	 * 按任务分组覆盖的配置，key 为任务分组，未配置的项使用默认值
+	 */
+	private Map<String, Group> groups = new HashMap<>();
+
+	/**
+	 * 任务分组配置
+	 */
+	@Data
+	public static class Group {
+
+		/**
+		 * 线程数
+		 */
+		private Integer threads;
+
+		/**
+		 * 等待队列长度
+		 */
+		private Integer queueCapacity;
+
+		/**
+		 * 执行超时时间
+		 */
+		private Duration timeout;
+
+	}
+
+}
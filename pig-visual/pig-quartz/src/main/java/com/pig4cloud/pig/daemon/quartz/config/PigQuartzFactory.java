@@ -18,24 +18,23 @@
 package com.pig4cloud.pig.daemon.quartz.config;
 
 import org.quartz.DisallowConcurrentExecution;
-import org.quartz.Job;
+import org.quartz.InterruptableJob;
 import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.pig4cloud.pig.daemon.quartz.constants.PigQuartzEnum;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
 
-import lombok.SneakyThrows;
-
 /**
- * 动态任务工厂：用于执行动态任务调度
+ * 动态任务工厂：用于执行动态任务调度，任务执行结束后才返回 Quartz，支持中断
  *
  * @author lengleng
  * @author 郑健楠
  * @date 2025/05/31
  */
 @DisallowConcurrentExecution
-public class PigQuartzFactory implements Job {
+public class PigQuartzFactory implements InterruptableJob {
 
 	/**
 	 * 定时任务调用工厂
@@ -43,17 +42,33 @@ public class PigQuartzFactory implements Job {
 	@Autowired
 	private PigQuartzInvokeFactory pigxQuartzInvokeFactory;
 
+	/**
+	 * 当前触发实例ID，Quartz 每次触发创建新的任务实例
+	 */
+	private volatile String fireInstanceId;
+
 	/**
 	 * 执行定时任务
 	 * @param jobExecutionContext 任务执行上下文
-	 * @throws Exception 执行过程中可能抛出的异常
+	 * @throws JobExecutionException 任务被拒绝、超时或中断
 	 */
 	@Override
-	@SneakyThrows
-	public void execute(JobExecutionContext jobExecutionContext) {
+	public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
 		SysJob sysJob = (SysJob) jobExecutionContext.getMergedJobDataMap()
 			.get(PigQuartzEnum.SCHEDULE_JOB_KEY.getType());
-		pigxQuartzInvokeFactory.init(sysJob, jobExecutionContext.getTrigger());
+		fireInstanceId = jobExecutionContext.getFireInstanceId();
+		pigxQuartzInvokeFactory.init(fireInstanceId, sysJob, jobExecutionContext.getTrigger());
+	}
+
+	/**
+	 * 中断执行中的任务
+	 */
+	@Override
+	public void interrupt() {
+		String current = fireInstanceId;
+		if (current != null) {
+			pigxQuartzInvokeFactory.interrupt(current);
+		}
 	}
 
 }
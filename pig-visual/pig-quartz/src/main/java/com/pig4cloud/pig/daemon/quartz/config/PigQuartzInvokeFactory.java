@@ -18,18 +18,16 @@
 package com.pig4cloud.pig.daemon.quartz.config;
 
 import org.aspectj.lang.annotation.Aspect;
+import org.quartz.JobExecutionException;
 import org.quartz.Trigger;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
-import com.pig4cloud.pig.daemon.quartz.event.SysJobEvent;
 
 import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
 
 /**
- * 定时任务调用工厂类 用于初始化并发布定时任务事件
+ * 定时任务调用工厂类 用于将定时任务交给执行引擎执行
  *
  * @author lengleng
  * @date 2025/05/31
@@ -39,16 +37,25 @@ import lombok.SneakyThrows;
 @AllArgsConstructor
 public class PigQuartzInvokeFactory {
 
-	private final ApplicationEventPublisher publisher;
+	private final PigQuartzJobExecutor jobExecutor;
 
 	/**
-	 * 初始化并发布定时任务事件
+	 * 执行定时任务，任务结束后返回
+	 * @param fireInstanceId 触发实例ID
 	 * @param sysJob 系统任务对象
 	 * @param trigger 任务触发器
+	 * @throws JobExecutionException 任务被拒绝、超时或中断
 	 */
-	@SneakyThrows
-	void init(SysJob sysJob, Trigger trigger) {
-		publisher.publishEvent(new SysJobEvent(sysJob, trigger));
+	void init(String fireInstanceId, SysJob sysJob, Trigger trigger) throws JobExecutionException {
+		jobExecutor.execute(fireInstanceId, sysJob, trigger);
+	}
+
+	/**
+	 * 中断执行中的定时任务
+	 * @param fireInstanceId 触发实例ID
+	 */
+	void interrupt(String fireInstanceId) {
+		jobExecutor.cancel(fireInstanceId);
 	}
 
 }
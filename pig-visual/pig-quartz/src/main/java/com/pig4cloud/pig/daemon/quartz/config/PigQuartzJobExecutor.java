@@ -0,0 +1,216 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.daemon.quartz.config;
+
+import cn.hutool.core.util.StrUtil;
+import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
+import com.pig4cloud.pig.daemon.quartz.util.TaskInvokUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobExecutionException;
+import org.quartz.Trigger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 定时任务执行引擎
+ * <p>
+ * 任务按分组提交到各自的有界线程池，Quartz 工作线程等待任务真正结束后才返回，
+ * {@link org.quartz.DisallowConcurrentExecution} 与错过触发策略因此按实际执行时间生效。 队列满时拒绝并抛出
+ * {@link JobExecutionException}；超时或被 {@link org.quartz.Scheduler#interrupt} 中断时取消任务
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class PigQuartzJobExecutor implements DisposableBean {
+
+	private static final String DEFAULT_GROUP = "DEFAULT";
+
+	private final PigQuartzExecutorProperties properties;
+
+	private final TaskInvokUtil taskInvokUtil;
+
+	@Nullable
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+	/**
+	 * 执行中的任务，key 为触发实例ID
+	 */
+	private final Map<String, Future<?>> running = new ConcurrentHashMap<>();
+
+	public PigQuartzJobExecutor(PigQuartzExecutorProperties properties, TaskInvokUtil taskInvokUtil,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.properties = properties;
+		this.taskInvokUtil = taskInvokUtil;
+		this.meterRegistry = meterRegistry.getIfAvailable();
+	}
+
+	/**
+	 * 执行任务并等待结束
+	 * @param fireInstanceId 触发实例ID
+	 * @param sysJob 定时任务信息
+	 * @param trigger 触发器
+	 * @throws JobExecutionException 任务被拒绝、超时或中断
+	 */
+	public void execute(String fireInstanceId, SysJob sysJob, Trigger trigger) throws JobExecutionException {
+		String group = StrUtil.blankToDefault(sysJob.getJobGroup(), DEFAULT_GROUP);
+		long submitTime = System.nanoTime();
+
+		Future<?> future;
+		try {
+			future = getExecutor(group).submit(() -> {
+				long startTime = System.nanoTime();
+				record("pig.quartz.job.wait", group, startTime - submitTime);
+				try {
+					taskInvokUtil.invokMethod(sysJob, trigger);
+				}
+				finally {
+					record("pig.quartz.job.run", group, System.nanoTime() - startTime);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			count("pig.quartz.job.rejected", group);
+			log.warn("定时任务执行队列已满，任务名称：{}；任务组名：{}", sysJob.getJobName(), group);
+			throw new JobExecutionException("定时任务执行队列已满：" + sysJob.getJobName(), e);
+		}
+
+		running.put(fireInstanceId, future);
+		Duration timeout = getTimeout(group);
+		try {
+			if (timeout.isZero() || timeout.isNegative()) {
+				future.get();
+			}
+			else {
+				future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			}
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			count("pig.quartz.job.timeout", group);
+			log.warn("定时任务执行超时已中断，任务名称：{}；任务组名：{}；超时时间：{}", sysJob.getJobName(), group, timeout);
+			throw new JobExecutionException("定时任务执行超时：" + sysJob.getJobName(), e);
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new JobExecutionException("定时任务执行被中断：" + sysJob.getJobName(), e);
+		}
+		catch (CancellationException e) {
+			throw new JobExecutionException("定时任务已取消：" + sysJob.getJobName(), e);
+		}
+		catch (ExecutionException e) {
+			throw new JobExecutionException(e.getCause());
+		}
+		finally {
+			running.remove(fireInstanceId);
+		}
+	}
+
+	/**
+	 * 取消执行中的任务
+	 * @param fireInstanceId 触发实例ID
+	 * @return 是否找到并取消
+	 */
+	public boolean cancel(String fireInstanceId) {
+		Future<?> future = running.get(fireInstanceId);
+		return future != null && future.cancel(true);
+	}
+
+	@Override
+	public void destroy() {
+		executors.values().forEach(ThreadPoolExecutor::shutdown);
+		for (ThreadPoolExecutor executor : executors.values()) {
+			try {
+				if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+					executor.shutdownNow();
+				}
+			}
+			catch (InterruptedException e) {
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private ThreadPoolExecutor getExecutor(String group) {
+		return executors.computeIfAbsent(group, this::createExecutor);
+	}
+
+	private ThreadPoolExecutor createExecutor(String group) {
+		PigQuartzExecutorProperties.Group config = properties.getGroups().get(group);
+		int threads = config != null && config.getThreads() != null ? config.getThreads() : properties.getThreads();
+		int queueCapacity = config != null && config.getQueueCapacity() != null ? config.getQueueCapacity()
+				: properties.getQueueCapacity();
+
+		AtomicInteger index = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+					Thread thread = new Thread(runnable, "pig-quartz-" + group + "-" + index.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		if (meterRegistry != null) {
+			meterRegistry.gauge("pig.quartz.job.queue", Tags.of("group", group),
+					executor, e -> e.getQueue().size());
+			meterRegistry.gauge("pig.quartz.job.active", Tags.of("group", group),
+					executor, ThreadPoolExecutor::getActiveCount);
+		}
+		return executor;
+	}
+
+	private Duration getTimeout(String group) {
+		PigQuartzExecutorProperties.Group config = properties.getGroups().get(group);
+		return config != null && config.getTimeout() != null ? config.getTimeout() : properties.getTimeout();
+	}
+
+	private void record(String name, String group, long nanos) {
+		if (meterRegistry != null) {
+			Timer.builder(name).tag("group", group).register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void count(String name, String group) {
+		if (meterRegistry != null) {
+			Counter.builder(name).tag("group", group).register(meterRegistry).increment();
+		}
+	}
+
+}
@@ -15,23 +15,43 @@
  * Author: lengleng (wangiegie@gmail.com)
  */
 
-package com.pig4cloud.pig.daemon.quartz.event;
+package com.pig4cloud.pig.daemon.quartz.config;
 
-import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
 
 /**
- * 定时任务日志多线程事件
+ * 定时任务日志写入配置
  *
- * @author frwcloud
  * @author lengleng
- * @date 2025/05/31
+ * @date 2026/10/18
  */
-@Getter
-@AllArgsConstructor
-public class SysJobLogEvent {
+@Data
+@ConfigurationProperties(PigQuartzLogProperties.PREFIX)
+public class PigQuartzLogProperties {
+
+	public static final String PREFIX = "pig.quartz.log";
+
+	/**
+	 * 刷新间隔
+	 */
+	private Duration flushInterval = Duration.ofSeconds(1);
+
+	/**
+	 * 缓冲日志达到该条数时立即刷新
+	 */
+	private int batchSize = 500;
+
+	/**
+	 * 缓冲上限，超过时由提交线程同步刷新
+	 */
+	private int bufferSize = 10000;
 
-	private final SysJobLog sysJobLog;
+	/**
+	 * 是否等待日志落库后任务才结束；关闭时进程异常退出可能丢失最近一个刷新间隔内的日志
+	 */
+	private boolean durable = false;
 
 }
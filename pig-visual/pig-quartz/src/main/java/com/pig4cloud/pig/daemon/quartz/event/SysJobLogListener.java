@@ -1,56 +0,0 @@
-/*
- *    Copyright (c) 2018-2025, lengleng All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions are met:
- *
- * Redistributions of source code must retain the above copyright notice,
- * this list of conditions and the following disclaimer.
- * Redistributions in binary form must reproduce the above copyright
- * notice, this list of conditions and the following disclaimer in the
- * documentation and/or other materials provided with the distribution.
- * Neither the name of the pig4cloud.com developer nor the names of its
- * contributors may be used to endorse or promote products derived from
- * this software without specific prior written permission.
- * Author: lengleng (wangiegie@gmail.com)
- */
-
-package com.pig4cloud.pig.daemon.quartz.event;
-
-import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
-import com.pig4cloud.pig.daemon.quartz.service.SysJobLogService;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.core.annotation.Order;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.stereotype.Service;
-
-/**
- * 系统任务日志监听器：用于异步监听并处理定时任务日志事件
- *
- * @author frwcloud
- * @author lengleng
- * @date 2025/05/31
- */
-@Slf4j
-@Service
-@RequiredArgsConstructor
-public class SysJobLogListener {
-
-	private final SysJobLogService sysJobLogService;
-
-	/**
-	 * 异步保存系统任务日志
-	 * @param event 系统任务日志事件
-	 */
-	@Async
-	@Order
-	@EventListener(SysJobLogEvent.class)
-	public void saveSysJobLog(SysJobLogEvent event) {
-		SysJobLog sysJobLog = event.getSysJobLog();
-		sysJobLogService.save(sysJobLog);
-		log.info("执行定时任务日志");
-	}
-
-}
@@ -20,6 +20,9 @@ package com.pig4cloud.pig.daemon.quartz.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 定时任务执行日志表 Mapper 接口
@@ -30,4 +33,11 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface SysJobLogMapper extends BaseMapper<SysJobLog> {
 
+	/**
+	 * 多行插入任务日志
+	 * @param sysJobLogs 任务日志列表
+	 * @return 插入行数
+	 */
+	int insertBatch(@Param("list") List<SysJobLog> sysJobLogs);
+
 }
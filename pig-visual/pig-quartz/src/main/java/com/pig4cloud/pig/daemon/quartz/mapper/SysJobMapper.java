@@ -20,6 +20,9 @@ package com.pig4cloud.pig.daemon.quartz.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 定时任务调度表 Mapper 接口
@@ -30,4 +33,11 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface SysJobMapper extends BaseMapper<SysJob> {
 
+	/**
+	 * 批量更新任务执行状态及执行时间
+	 * @param sysJobs 任务状态列表，jobId 不可重复
+	 * @return 更新行数
+	 */
+	int updateExecuteStatusBatch(@Param("list") List<SysJob> sysJobs);
+
 }
@@ -20,6 +20,8 @@ package com.pig4cloud.pig.daemon.quartz.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
 
+import java.util.List;
+
 /**
  * 定时任务执行日志服务接口
  *
@@ -28,4 +30,10 @@ import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
  */
 public interface SysJobLogService extends IService<SysJobLog> {
 
+	/**
+	 * 批量保存任务日志，多行 INSERT 分批写入
+	 * @param sysJobLogs 任务日志列表
+	 */
+	void saveLogBatch(List<SysJobLog> sysJobLogs);
+
 }
@@ -20,6 +20,8 @@ package com.pig4cloud.pig.daemon.quartz.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
 
+import java.util.Collection;
+
 /**
  * 定时任务调度服务接口
  *
@@ -28,4 +30,10 @@ import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
  */
 public interface SysJobService extends IService<SysJob> {
 
+	/**
+	 * 批量更新任务执行状态，同一任务只保留一条
+	 * @param sysJobs 任务状态列表
+	 */
+	void updateExecuteStatusBatch(Collection<SysJob> sysJobs);
+
 }
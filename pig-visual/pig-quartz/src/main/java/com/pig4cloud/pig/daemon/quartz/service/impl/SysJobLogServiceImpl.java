@@ -17,8 +17,16 @@
 
 package com.pig4cloud.pig.daemon.quartz.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
 import com.pig4cloud.pig.daemon.quartz.mapper.SysJobLogMapper;
@@ -36,4 +44,28 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class SysJobLogServiceImpl extends ServiceImpl<SysJobLogMapper, SysJobLog> implements SysJobLogService {
 
+	/**
+	 * 单条 INSERT 语句最大行数
+	 */
+	private static final int BATCH_INSERT_SIZE = 500;
+
+	/**
+	 * 批量保存任务日志，多行 INSERT 分批写入
+	 * @param sysJobLogs 任务日志列表
+	 */
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public void saveLogBatch(List<SysJobLog> sysJobLogs) {
+		if (CollUtil.isEmpty(sysJobLogs)) {
+			return;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		sysJobLogs.forEach(sysJobLog -> {
+			sysJobLog.setJobLogId(IdWorker.getId());
+			sysJobLog.setCreateTime(ObjectUtil.defaultIfNull(sysJobLog.getCreateTime(), now));
+		});
+		ListUtil.partition(sysJobLogs, BATCH_INSERT_SIZE).forEach(baseMapper::insertBatch);
+	}
+
 }
@@ -17,8 +17,16 @@
 
 package com.pig4cloud.pig.daemon.quartz.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
 import com.pig4cloud.pig.daemon.quartz.mapper.SysJobMapper;
@@ -36,4 +44,25 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class SysJobServiceImpl extends ServiceImpl<SysJobMapper, SysJob> implements SysJobService {
 
+	/**
+	 * 单条 UPDATE 语句最大任务数
+	 */
+	private static final int BATCH_UPDATE_SIZE = 200;
+
+	/**
+	 * 批量更新任务执行状态，每批一条 {@code UPDATE ... CASE} 语句
+	 * @param sysJobs 任务状态列表
+	 */
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public void updateExecuteStatusBatch(Collection<SysJob> sysJobs) {
+		if (CollUtil.isEmpty(sysJobs)) {
+			return;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		sysJobs.forEach(sysJob -> sysJob.setUpdateTime(ObjectUtil.defaultIfNull(sysJob.getUpdateTime(), now)));
+		ListUtil.partition(new ArrayList<>(sysJobs), BATCH_UPDATE_SIZE).forEach(baseMapper::updateExecuteStatusBatch);
+	}
+
 }
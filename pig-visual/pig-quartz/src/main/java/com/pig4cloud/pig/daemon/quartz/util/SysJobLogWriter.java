@@ -0,0 +1,224 @@
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+
+package com.pig4cloud.pig.daemon.quartz.util;
+
+import com.pig4cloud.pig.daemon.quartz.config.PigQuartzLogProperties;
+import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
+import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
+import com.pig4cloud.pig.daemon.quartz.service.SysJobLogService;
+import com.pig4cloud.pig.daemon.quartz.service.SysJobService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 定时任务日志批量写入器
+ * <p>
+ * 任务日志与执行状态先进入内存缓冲，由后台线程按间隔或条数刷新：日志合并为多行 INSERT，执行状态按 jobId
+ * 只保留最新一条，合并为一条 {@code UPDATE ... CASE}。 开启 {@link PigQuartzLogProperties#isDurable()}
+ * 时提交方等待所在批次落库，并发提交的日志仍在同一批次中写入
+ *
+ * @author lengleng
+ * @date 2026/10/18
+ */
+@Slf4j
+@Component
+public class SysJobLogWriter implements Runnable, InitializingBean, DisposableBean {
+
+	private final SysJobLogService sysJobLogService;
+
+	private final SysJobService sysJobService;
+
+	private final PigQuartzLogProperties properties;
+
+	@Nullable
+	private final Counter droppedCounter;
+
+	@Nullable
+	private final Timer flushTimer;
+
+	/**
+	 * 保护缓冲区的锁
+	 */
+	private final Object bufferLock = new Object();
+
+	/**
+	 * 保证批次按提交顺序落库，后写入的状态覆盖先写入的
+	 */
+	private final Object flushLock = new Object();
+
+	private List<SysJobLog> logs = new ArrayList<>();
+
+	private Map<Long, SysJob> states = new LinkedHashMap<>();
+
+	private CompletableFuture<Void> flushed = new CompletableFuture<>();
+
+	private volatile boolean running = true;
+
+	private final Thread worker;
+
+	public SysJobLogWriter(SysJobLogService sysJobLogService, SysJobService sysJobService,
+			PigQuartzLogProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.sysJobLogService = sysJobLogService;
+		this.sysJobService = sysJobService;
+		this.properties = properties;
+
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry != null) {
+			Gauge.builder("pig.quartz.log.buffer", this, SysJobLogWriter::bufferSize)
+				.description("定时任务日志缓冲条数")
+				.register(registry);
+			this.droppedCounter = Counter.builder("pig.quartz.log.dropped")
+				.description("定时任务日志写入失败条数")
+				.register(registry);
+			this.flushTimer = Timer.builder("pig.quartz.log.flush").description("定时任务日志批量写入耗时").register(registry);
+		}
+		else {
+			this.droppedCounter = null;
+			this.flushTimer = null;
+		}
+
+		this.worker = new Thread(this, "pig-quartz-log-flusher");
+		this.worker.setDaemon(true);
+	}
+
+	/**
+	 * 写入任务日志及执行状态
+	 * @param sysJobLog 任务日志
+	 * @param state 任务执行状态，需包含 jobId
+	 */
+	public void write(SysJobLog sysJobLog, SysJob state) {
+		CompletableFuture<Void> batch;
+		int size;
+		synchronized (bufferLock) {
+			logs.add(sysJobLog);
+			states.put(state.getJobId(), state);
+			batch = flushed;
+			size = logs.size();
+		}
+
+		if (!running || size >= properties.getBufferSize()) {
+			// 后台线程已停止或来不及刷新时由提交方同步写入
+			flush();
+		}
+		else if (properties.isDurable() || size >= properties.getBatchSize()) {
+			LockSupport.unpark(worker);
+		}
+
+		if (properties.isDurable()) {
+			try {
+				batch.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException e) {
+				log.warn("定时任务日志写入失败，任务名称：{} {}", sysJobLog.getJobName(), e.getCause().getLocalizedMessage());
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		long intervalNanos = properties.getFlushInterval().toNanos();
+		while (running) {
+			LockSupport.parkNanos(this, intervalNanos);
+			flush();
+		}
+		// 停机前写入剩余日志
+		flush();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		worker.start();
+	}
+
+	@Override
+	public void destroy() {
+		running = false;
+		LockSupport.unpark(worker);
+		try {
+			worker.join(properties.getFlushInterval().toMillis() * 2 + TimeUnit.SECONDS.toMillis(5));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void flush() {
+		synchronized (flushLock) {
+			List<SysJobLog> batchLogs;
+			Map<Long, SysJob> batchStates;
+			CompletableFuture<Void> batch;
+			synchronized (bufferLock) {
+				if (logs.isEmpty() && states.isEmpty()) {
+					return;
+				}
+				batchLogs = logs;
+				batchStates = states;
+				batch = flushed;
+				logs = new ArrayList<>();
+				states = new LinkedHashMap<>();
+				flushed = new CompletableFuture<>();
+			}
+
+			long start = System.nanoTime();
+			try {
+				sysJobLogService.saveLogBatch(batchLogs);
+				sysJobService.updateExecuteStatusBatch(batchStates.values());
+				batch.complete(null);
+			}
+			catch (Exception e) {
+				log.error("定时任务日志批量写入失败 size={} {}", batchLogs.size(), e.getLocalizedMessage());
+				if (droppedCounter != null) {
+					droppedCounter.increment(batchLogs.size());
+				}
+				batch.completeExceptionally(e);
+			}
+			finally {
+				if (flushTimer != null) {
+					flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			}
+		}
+	}
+
+	private int bufferSize() {
+		synchronized (bufferLock) {
+			return logs.size();
+		}
+	}
+
+}
@@ -21,14 +21,11 @@ import cn.hutool.core.util.StrUtil;
 import com.pig4cloud.pig.daemon.quartz.constants.PigQuartzEnum;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJob;
 import com.pig4cloud.pig.daemon.quartz.entity.SysJobLog;
-import com.pig4cloud.pig.daemon.quartz.event.SysJobLogEvent;
-import com.pig4cloud.pig.daemon.quartz.service.SysJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.CronTrigger;
 import org.quartz.Trigger;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
@@ -45,9 +42,7 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class TaskInvokUtil {
 
-	private final ApplicationEventPublisher publisher;
-
-	private final SysJobService sysJobService;
+	private final SysJobLogWriter sysJobLogWriter;
 
 	/**
 	 * 执行定时任务方法
@@ -113,8 +108,8 @@ public class TaskInvokUtil {
 			endTime = System.currentTimeMillis();
 			sysJobLog.setExecuteTime(String.valueOf(endTime - startTime));
 
-			publisher.publishEvent(new SysJobLogEvent(sysJobLog));
-			sysJobService.updateById(updateSysjob);
+			// 日志与状态批量写入
+			sysJobLogWriter.write(sysJobLog, updateSysjob);
 		}
 	}
 